@@ -0,0 +1,33 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import solutions.bellatrix.core.configuration.ConfigurationService;
+import solutions.bellatrix.web.configuration.WebSettings;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigurationServiceBenchmark {
+    @Benchmark
+    public WebSettings getWebSettings() {
+        return ConfigurationService.get(WebSettings.class);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.benchmarks;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.openjdk.jmh.annotations.*;
+import solutions.bellatrix.core.assertions.EntitiesAsserter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntitiesAsserterBenchmark {
+    @Getter
+    @AllArgsConstructor
+    public static class Person {
+        private String firstName;
+        private String lastName;
+        private String email;
+        private Integer age;
+        private Boolean active;
+    }
+
+    private final List<Person> expected = new ArrayList<>();
+    private final List<Person> actual = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < 100; i++) {
+            expected.add(new Person("First" + i, "Last" + i, "person" + i + "@example.com", 20 + i % 50, i % 2 == 0));
+            actual.add(new Person("First" + i, "Last" + i, "person" + i + "@example.com", 20 + i % 50, i % 2 == 0));
+        }
+    }
+
+    @Benchmark
+    public boolean areEqual() {
+        boolean result = true;
+        for (int i = 0; i < expected.size(); i++) {
+            result &= EntitiesAsserter.areEqual(expected.get(i), actual.get(i));
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public void assertAreEqual() {
+        for (int i = 0; i < expected.size(); i++) {
+            EntitiesAsserter.assertAreEqual(expected.get(i), actual.get(i), "active");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.benchmarks;
+
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+
+import java.nio.file.Files;
+
+@UtilityClass
+public class Fixtures {
+    public static String tableHtml(int rowsCount, int columnsCount) {
+        var html = new StringBuilder("<table id=\"benchmarkTable\"><thead><tr>");
+        for (int column = 0; column < columnsCount; column++) {
+            html.append("<th>Column ").append(column).append("</th>");
+        }
+
+        html.append("</tr></thead><tbody>");
+        for (int row = 0; row < rowsCount; row++) {
+            html.append("<tr>");
+            for (int column = 0; column < columnsCount; column++) {
+                html.append("<td>Cell ").append(row).append('-').append(column).append("</td>");
+            }
+
+            html.append("</tr>");
+        }
+
+        return html.append("</tbody></table>").toString();
+    }
+
+    @SneakyThrows
+    public static String writePage(String body) {
+        var file = Files.createTempFile("bellatrix-benchmark", ".html");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, "<!DOCTYPE html><html><head><title>Benchmark</title></head><body>" + body + "</body></html>");
+        return file.toUri().toString();
+    }
+}
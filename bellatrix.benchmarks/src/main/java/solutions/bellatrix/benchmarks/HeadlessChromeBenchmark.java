@@ -0,0 +1,87 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openqa.selenium.WebElement;
+import solutions.bellatrix.web.components.Div;
+import solutions.bellatrix.web.components.advanced.table.Table;
+import solutions.bellatrix.web.infrastructure.Browser;
+import solutions.bellatrix.web.infrastructure.BrowserConfiguration;
+import solutions.bellatrix.web.infrastructure.DriverService;
+import solutions.bellatrix.web.infrastructure.Lifecycle;
+import solutions.bellatrix.web.services.ComponentCreateService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the component and table paths against a real headless Chrome session and a static local page,
+ * so driver round trips are included in the numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeadlessChromeBenchmark {
+    private static final int ROWS_COUNT = 50;
+    private static final int COLUMNS_COUNT = 6;
+
+    private ComponentCreateService componentCreateService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var url = Fixtures.writePage("<div id=\"target\">Target</div>" + Fixtures.tableHtml(ROWS_COUNT, COLUMNS_COUNT));
+        DriverService.start(new BrowserConfiguration(Browser.CHROME_HEADLESS, Lifecycle.REUSE_IF_STARTED));
+        DriverService.getWrappedDriver().navigate().to(url);
+        componentCreateService = new ComponentCreateService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DriverService.close();
+    }
+
+    @Benchmark
+    public WebElement findElement() {
+        return componentCreateService.byId(Div.class, "target").findElement();
+    }
+
+    @Benchmark
+    public int readCellsOneByOne() {
+        var table = componentCreateService.byId(Table.class, "benchmarkTable");
+        int length = 0;
+        for (int row = 0; row < ROWS_COUNT; row++) {
+            for (int column = 0; column < COLUMNS_COUNT; column++) {
+                length += table.getCell(column, row).getText().length();
+            }
+        }
+
+        return length;
+    }
+
+    @Benchmark
+    public int readCellsFromSnapshot() {
+        var snapshot = componentCreateService.byId(Table.class, "benchmarkTable").useSnapshot().getSnapshot();
+        int length = 0;
+        for (int row = 0; row < ROWS_COUNT; row++) {
+            for (int column = 0; column < COLUMNS_COUNT; column++) {
+                length += snapshot.getCell(row, column).getText().length();
+            }
+        }
+
+        return length;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import solutions.bellatrix.benchmarks.fakes.FakeWebDriver;
+import solutions.bellatrix.core.utilities.InstanceFactory;
+import solutions.bellatrix.web.components.Div;
+import solutions.bellatrix.web.infrastructure.DriverService;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstanceFactoryBenchmark {
+    public static class Pojo {
+        public Pojo() {
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        DriverService.setWrappedDriver(new FakeWebDriver(1));
+    }
+
+    @Benchmark
+    public Pojo createPojo() {
+        return InstanceFactory.create(Pojo.class);
+    }
+
+    @Benchmark
+    public Div createComponent() {
+        return InstanceFactory.create(Div.class);
+    }
+}
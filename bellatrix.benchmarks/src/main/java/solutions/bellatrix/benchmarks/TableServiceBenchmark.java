@@ -0,0 +1,55 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.benchmarks;
+
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.*;
+import solutions.bellatrix.web.components.advanced.services.TableService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableServiceBenchmark {
+    @Param({"50", "500"})
+    public int rowsCount;
+
+    private String html;
+
+    @Setup
+    public void setUp() {
+        html = Fixtures.tableHtml(rowsCount, 6);
+    }
+
+    @Benchmark
+    public List<Element> getCells() {
+        return new TableService(html).getCells();
+    }
+
+    @Benchmark
+    public int getRowCellsForEveryRow() {
+        var tableService = new TableService(html);
+        int cellsCount = 0;
+        for (int i = 0; i < tableService.getRows().size(); i++) {
+            cellsCount += tableService.getRowCells(i).size();
+        }
+
+        return cellsCount;
+    }
+}
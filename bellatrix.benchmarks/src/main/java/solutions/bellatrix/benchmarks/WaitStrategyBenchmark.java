@@ -0,0 +1,48 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openqa.selenium.By;
+import solutions.bellatrix.benchmarks.fakes.FakeWebDriver;
+import solutions.bellatrix.web.waitstrategies.ToBeVisibleWaitStrategy;
+import solutions.bellatrix.web.waitstrategies.ToExistWaitStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WaitStrategyBenchmark {
+    private FakeWebDriver driver;
+    private final By by = By.id("x");
+
+    @Setup
+    public void setUp() {
+        driver = new FakeWebDriver(1);
+    }
+
+    @Benchmark
+    public void toExist() {
+        new ToExistWaitStrategy(1, 0).waitUntil(driver, by);
+    }
+
+    @Benchmark
+    public void toBeVisible() {
+        new ToBeVisibleWaitStrategy(1, 0).waitUntil(driver, by);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openqa.selenium.WebElement;
+import solutions.bellatrix.benchmarks.fakes.FakeWebDriver;
+import solutions.bellatrix.web.components.Div;
+import solutions.bellatrix.web.infrastructure.DriverService;
+import solutions.bellatrix.web.services.ComponentCreateService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the framework overhead of locating a component: instance creation, wait strategies
+ * and event broadcasting, against a driver that answers instantly.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebComponentBenchmark {
+    private ComponentCreateService componentCreateService;
+
+    @Setup
+    public void setUp() {
+        DriverService.setWrappedDriver(new FakeWebDriver(1));
+        componentCreateService = new ComponentCreateService();
+    }
+
+    @Benchmark
+    public Div createById() {
+        return componentCreateService.byId(Div.class, "x");
+    }
+
+    @Benchmark
+    public WebElement findElement() {
+        return componentCreateService.byId(Div.class, "x").findElement();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.benchmarks.fakes;
+
+import org.openqa.selenium.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-process {@link WebDriver} stand-in. Every locator resolves to the configured number of {@link FakeWebElement}s
+ * and scripts return a fixed value, so framework hot paths can be benchmarked without a browser.
+ */
+public class FakeWebDriver implements WebDriver, JavascriptExecutor {
+    private final List<WebElement> elements;
+    private Object scriptResult = "";
+
+    public FakeWebDriver(int elementsPerLocator) {
+        elements = new ArrayList<>(elementsPerLocator);
+        for (int i = 0; i < elementsPerLocator; i++) {
+            elements.add(new FakeWebElement(this, "div", "Item " + i, Map.of("id", "item" + i, "class", "item", "innerHTML", "Item " + i)));
+        }
+    }
+
+    public void setScriptResult(Object scriptResult) {
+        this.scriptResult = scriptResult;
+    }
+
+    @Override
+    public void get(String url) {
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return "about:blank";
+    }
+
+    @Override
+    public String getTitle() {
+        return "";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return elements;
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        if (elements.isEmpty()) {
+            throw new NoSuchElementException(by.toString());
+        }
+
+        return elements.get(0);
+    }
+
+    @Override
+    public String getPageSource() {
+        return "";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Set.of("fake");
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "fake";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException("Switching is not supported by the fake driver.");
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException("Navigation is not supported by the fake driver.");
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException("Options are not supported by the fake driver.");
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        return scriptResult;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return scriptResult;
+    }
+}
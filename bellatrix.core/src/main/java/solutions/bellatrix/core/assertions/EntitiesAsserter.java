@@ -14,88 +14,61 @@ package solutions.bellatrix.core.assertions;
 
 import org.junit.jupiter.api.Assertions;
 
-import java.lang.reflect.Method;
-import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 public class EntitiesAsserter {
     public static <TEntity> Boolean areEqual(TEntity expectedObject, TEntity realObject, DateTimeDeltaType deltaType, int deltaQuantity, String... propertiesNotToCompare) {
-        List<Exception> failedAssertions = assertAreEqualsInternal(expectedObject, realObject, deltaType, deltaQuantity, propertiesNotToCompare);
-        return failedAssertions.size() <= 1;
+        return findMismatches(expectedObject, realObject, deltaType, deltaQuantity, Set.of(), EntityComparisonPlan.toKeys(Arrays.asList(propertiesNotToCompare))).isEmpty();
     }
+
     public static <TEntity> Boolean areEqual(TEntity expectedObject, TEntity realObject, String... propertiesNotToCompare) {
         return areEqual(expectedObject, realObject, DateTimeDeltaType.MILLISECONDS, 300, propertiesNotToCompare);
     }
 
+    /**
+     * Compares only the properties in {@code propertiesToCompare} (all of them when it is empty), minus the ones in {@code propertiesNotToCompare}.
+     */
+    public static <TEntity> Boolean areEqual(TEntity expectedObject, TEntity realObject, Set<String> propertiesToCompare, Set<String> propertiesNotToCompare) {
+        return findMismatches(expectedObject, realObject, DateTimeDeltaType.MILLISECONDS, 300,
+                EntityComparisonPlan.toKeys(propertiesToCompare), EntityComparisonPlan.toKeys(propertiesNotToCompare)).isEmpty();
+    }
+
     public static <TEntity> void assertAreEqual(TEntity expectedObject, TEntity realObject, DateTimeDeltaType deltaType, int deltaQuantity, String... propertiesNotToCompare) {
-        List<Exception> failedAssertions = assertAreEqualsInternal(expectedObject, realObject, deltaType, deltaQuantity, propertiesNotToCompare);
-        if (failedAssertions.size() > 1) {
-            StringBuilder allFailedAssertions = new StringBuilder();
-            allFailedAssertions.append("\nExceptions are:\n");
-            for (var exception : failedAssertions) {
-                allFailedAssertions.append(exception.toString() + "\n");
-            }
-            Assertions.fail(allFailedAssertions.toString());
-        }
+        failOnMismatches(findMismatches(expectedObject, realObject, deltaType, deltaQuantity, Set.of(), EntityComparisonPlan.toKeys(Arrays.asList(propertiesNotToCompare))));
     }
 
     public static <TEntity> void assertAreEqual(TEntity expectedObject, TEntity realObject, String... propertiesNotToCompare) {
         assertAreEqual(expectedObject, realObject, DateTimeDeltaType.MILLISECONDS, 300, propertiesNotToCompare);
     }
 
-    private static <TEntity> List<Exception> assertAreEqualsInternal(TEntity expectedObject, TEntity realObject, DateTimeDeltaType deltaType, int deltaQuantity, String[] propertiesNotToCompare) {
-        List<Exception> failedAssertions = new ArrayList<>();
-        List<String> propertiesNotToCompareList = Arrays.stream(propertiesNotToCompare).toList();
-        var properties = Arrays.stream(realObject.getClass().getMethods()).toList()
-                .stream().filter(s -> s.getName().startsWith("get")).toList();
+    /**
+     * Compares only the properties in {@code propertiesToCompare} (all of them when it is empty), minus the ones in {@code propertiesNotToCompare},
+     * and fails once with every mismatch found.
+     */
+    public static <TEntity> void assertAreEqual(TEntity expectedObject, TEntity realObject, DateTimeDeltaType deltaType, int deltaQuantity, Set<String> propertiesToCompare, Set<String> propertiesNotToCompare) {
+        failOnMismatches(findMismatches(expectedObject, realObject, deltaType, deltaQuantity,
+                EntityComparisonPlan.toKeys(propertiesToCompare), EntityComparisonPlan.toKeys(propertiesNotToCompare)));
+    }
+
+    public static <TEntity> void assertAreEqual(TEntity expectedObject, TEntity realObject, Set<String> propertiesToCompare, Set<String> propertiesNotToCompare) {
+        assertAreEqual(expectedObject, realObject, DateTimeDeltaType.MILLISECONDS, 300, propertiesToCompare, propertiesNotToCompare);
+    }
 
-        for (var currentRealProperty : properties) {
-            String currentRealPropertyName = currentRealProperty.getName().replaceFirst("get", "");
-            if (propertiesNotToCompareList.stream().filter(p -> p.equalsIgnoreCase(currentRealPropertyName)).count() == 0) {
-                Method currentExpectedProperty = null;
-                try {
-                    currentExpectedProperty = expectedObject.getClass().getMethod(currentRealProperty.getName());
-                } catch (NoSuchMethodException e) {
-                    System.out.println(String.format("Property %s not found.", currentRealProperty));
-//                    failedAssertions.add(e);
-                }
+    private static <TEntity> List<String> findMismatches(TEntity expectedObject, TEntity realObject, DateTimeDeltaType deltaType, int deltaQuantity, Set<String> propertiesToCompare, Set<String> propertiesNotToCompare) {
+        return EntityComparisonPlan.of(expectedObject.getClass(), realObject.getClass())
+                .findMismatches(expectedObject, realObject, deltaType, deltaQuantity, propertiesToCompare, propertiesNotToCompare);
+    }
 
-                var exceptionMessage = "The property " + currentRealProperty.getName() + " of class " + realObject.getClass().getSimpleName() + " was not as expected.";
+    private static void failOnMismatches(List<String> mismatches) {
+        if (mismatches.isEmpty()) return;
 
-                try {
-                    if (currentRealProperty.getReturnType() == LocalDateTime.class) {
-                    assert currentExpectedProperty != null;
-                        LocalDateTimeAssert.areEqual(
-                                (LocalDateTime)currentExpectedProperty.invoke(expectedObject),
-                                (LocalDateTime)currentRealProperty.invoke(realObject),
-                                deltaType, deltaQuantity, exceptionMessage);
-                    } else if (currentRealProperty.getReturnType() == OffsetDateTime.class) {
-                        assert currentExpectedProperty != null;
-                        LocalDateTimeAssert.areEqual(
-                                ((OffsetDateTime)currentExpectedProperty.invoke(expectedObject)).toLocalDateTime(),
-                                ((OffsetDateTime)currentRealProperty.invoke(realObject)).toLocalDateTime(),
-                                deltaType, deltaQuantity, exceptionMessage);
-                    } else {
-                        Assertions.assertEquals(
-                                currentExpectedProperty != null ? currentExpectedProperty.invoke(expectedObject) : null,
-                                currentRealProperty.invoke(realObject),
-                                exceptionMessage);
-                    }
-                }
-                catch (NoSuchMethodException nsm){
-                    //ignore this case
-                }
-                catch (NullPointerException nsmex){
-                    //ignore this case
-                }
-                catch (Exception ex) {
-                    failedAssertions.add(ex);
-                }
-            }
+        StringBuilder allFailedAssertions = new StringBuilder();
+        allFailedAssertions.append("\nMismatches are:\n");
+        for (var mismatch : mismatches) {
+            allFailedAssertions.append(mismatch).append("\n");
         }
-        return failedAssertions;
+        Assertions.fail(allFailedAssertions.toString());
     }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package solutions.bellatrix.core.assertions;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The getters compared between an expected and an actual type, discovered once per type pair
+ * and bound as {@link MethodHandle}s, so comparing many rows only pays for the reads.
+ */
+class EntityComparisonPlan {
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final ClassValue<Map<Class<?>, EntityComparisonPlan>> PLANS = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, EntityComparisonPlan> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final List<Property> properties;
+
+    private EntityComparisonPlan(Class<?> expectedType, Class<?> actualType) {
+        var discoveredProperties = new ArrayList<Property>();
+        for (var actualGetter : actualType.getMethods()) {
+            if (!isGetter(actualGetter)) continue;
+
+            Method expectedGetter;
+            try {
+                expectedGetter = expectedType == actualType ? actualGetter : expectedType.getMethod(actualGetter.getName());
+            } catch (NoSuchMethodException e) {
+                expectedGetter = null;
+            }
+
+            discoveredProperties.add(new Property(
+                    actualGetter.getName().replaceFirst("get", "").toLowerCase(Locale.ROOT),
+                    actualGetter.getName(),
+                    actualType.getSimpleName(),
+                    PropertyKind.of(actualGetter.getReturnType()),
+                    expectedGetter == null ? null : bind(expectedGetter),
+                    bind(actualGetter)));
+        }
+
+        properties = List.copyOf(discoveredProperties);
+    }
+
+    static EntityComparisonPlan of(Class<?> expectedType, Class<?> actualType) {
+        return PLANS.get(actualType).computeIfAbsent(expectedType, type -> new EntityComparisonPlan(type, actualType));
+    }
+
+    /**
+     * Compares every planned property in a single pass and returns one message per mismatch.
+     * Names in both sets are matched case-insensitively against the getter name without its "get" prefix;
+     * an empty include set compares all properties.
+     */
+    List<String> findMismatches(Object expectedObject, Object actualObject, DateTimeDeltaType deltaType, int deltaQuantity,
+                                Set<String> propertiesToCompare, Set<String> propertiesNotToCompare) {
+        var mismatches = new ArrayList<String>();
+        for (var property : properties) {
+            if (!propertiesToCompare.isEmpty() && !propertiesToCompare.contains(property.key())) continue;
+            if (propertiesNotToCompare.contains(property.key())) continue;
+
+            property.compare(expectedObject, actualObject, deltaType, deltaQuantity, mismatches);
+        }
+
+        return mismatches;
+    }
+
+    static Set<String> toKeys(Collection<String> propertyNames) {
+        if (propertyNames == null || propertyNames.isEmpty()) return Set.of();
+
+        var keys = new HashSet<String>(propertyNames.size() * 2);
+        for (var propertyName : propertyNames) {
+            if (propertyName != null) keys.add(propertyName.toLowerCase(Locale.ROOT));
+        }
+
+        return keys;
+    }
+
+    private static boolean isGetter(Method method) {
+        return method.getName().startsWith("get")
+                && method.getParameterCount() == 0
+                && method.getReturnType() != void.class
+                && method.getDeclaringClass() != Object.class;
+    }
+
+    private static Accessor bind(Method getter) {
+        try {
+            getter.trySetAccessible();
+            var handle = MethodHandles.lookup().unreflect(getter);
+            if (Modifier.isStatic(getter.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+
+            var accessor = handle.asType(ACCESSOR_TYPE);
+            return target -> (Object)accessor.invokeExact(target);
+        } catch (IllegalAccessException e) {
+            return getter::invoke;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Accessor {
+        Object get(Object target) throws Throwable;
+    }
+
+    private enum PropertyKind {
+        VALUE,
+        LOCAL_DATE_TIME,
+        OFFSET_DATE_TIME;
+
+        static PropertyKind of(Class<?> returnType) {
+            if (returnType == LocalDateTime.class) return LOCAL_DATE_TIME;
+            if (returnType == OffsetDateTime.class) return OFFSET_DATE_TIME;
+            return VALUE;
+        }
+    }
+
+    private record Property(String key, String getterName, String ownerName, PropertyKind kind, Accessor expectedAccessor, Accessor actualAccessor) {
+        void compare(Object expectedObject, Object actualObject, DateTimeDeltaType deltaType, int deltaQuantity, List<String> mismatches) {
+            var message = "The property " + getterName + " of class " + ownerName + " was not as expected.";
+            Object expectedValue;
+            Object actualValue;
+            try {
+                expectedValue = expectedAccessor == null ? null : expectedAccessor.get(expectedObject);
+                actualValue = actualAccessor.get(actualObject);
+            } catch (Throwable e) {
+                mismatches.add(String.format("%s Reading it failed with %s", message, e));
+                return;
+            }
+
+            if (kind == PropertyKind.VALUE) {
+                if (!Objects.equals(expectedValue, actualValue)) {
+                    mismatches.add(String.format("%s ==> expected: <%s> but was: <%s>", message, expectedValue, actualValue));
+                }
+
+                return;
+            }
+
+            // Date-times missing on either side are skipped, as they always have been.
+            if (expectedValue == null || actualValue == null) return;
+
+            try {
+                LocalDateTimeAssert.areEqual(toLocalDateTime(expectedValue), toLocalDateTime(actualValue), deltaType, deltaQuantity, message);
+            } catch (Exception e) {
+                mismatches.add(e.getMessage());
+            }
+        }
+
+        private static LocalDateTime toLocalDateTime(Object value) {
+            return value instanceof OffsetDateTime offsetDateTime ? offsetDateTime.toLocalDateTime() : (LocalDateTime)value;
+        }
+    }
+}
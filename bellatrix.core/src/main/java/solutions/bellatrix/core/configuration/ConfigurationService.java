@@ -13,8 +13,6 @@
 
 package solutions.bellatrix.core.configuration;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonParser;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 import org.apache.commons.io.IOUtils;
@@ -28,23 +26,72 @@ import java.util.Properties;
 
 @UtilityClass
 public final class ConfigurationService {
-    private static String environment;
+    private static final Object SNAPSHOT_LOCK = new Object();
+    private static volatile String environment;
+    private static volatile ConfigurationSnapshot snapshot;
 
     public static String getEnvironment() {
         return environment;
     }
 
+    /**
+     * Returns a new instance of the settings section, mapped from the cached settings of the current environment.
+     * @throws IllegalStateException if the section is missing or can't be mapped
+     */
     public static <T> T get(Class<T> configSection) {
-        T mappedObject = (T)new Object();
+        return getSnapshot().get(configSection);
+    }
+
+    /**
+     * Returns the settings of the current environment, reading and parsing the settings file only the first time.
+     * When no environment is configured, an empty snapshot is cached, so the lookup isn't repeated on every call.
+     */
+    public static ConfigurationSnapshot getSnapshot() {
+        var currentSnapshot = snapshot;
+        if (currentSnapshot != null) {
+            return currentSnapshot;
+        }
+
+        synchronized (SNAPSHOT_LOCK) {
+            if (snapshot == null) {
+                var currentEnvironment = resolveEnvironment();
+                if (currentEnvironment == null) {
+                    snapshot = new ConfigurationSnapshot(null, null);
+                } else {
+                    String fileName = String.format("testFrameworkSettings.%s.json", currentEnvironment);
+                    snapshot = new ConfigurationSnapshot(currentEnvironment, getFileAsString(fileName));
+                }
+            }
+
+            return snapshot;
+        }
+    }
+
+    /**
+     * Drops the cached settings so that the next {@link #get(Class)} reads the settings file again.
+     * Use it in tests that switch the environment or replace the settings file at runtime.
+     */
+    public static void invalidate() {
+        synchronized (SNAPSHOT_LOCK) {
+            snapshot = null;
+            environment = null;
+        }
+    }
+
+    private static String resolveEnvironment() {
         if (environment == null) {
             String environmentOverride = System.getProperty("environment");
             if (environmentOverride == null) {
                 InputStream input = ConfigurationService.class.getResourceAsStream("/application.properties");
+                if (input == null) {
+                    return null;
+                }
+
                 var p = new Properties();
                 try {
                     p.load(input);
                 } catch (IOException e) {
-                    return mappedObject;
+                    return null;
                 }
 
                 environment = p.getProperty("environment");
@@ -53,21 +100,7 @@ public final class ConfigurationService {
             }
         }
 
-        String fileName = String.format("testFrameworkSettings.%s.json", environment);
-        String jsonFileContent = getFileAsString(fileName);
-        String sectionName = getSectionName(configSection);
-
-        var jsonObject = JsonParser.parseString(jsonFileContent).getAsJsonObject().get(sectionName).toString();
-
-        var gson = new Gson();
-
-        try {
-            mappedObject = gson.fromJson(jsonObject, configSection);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        return mappedObject;
+        return environment;
     }
 
     public static String getSectionName(Class<?> configSection) {
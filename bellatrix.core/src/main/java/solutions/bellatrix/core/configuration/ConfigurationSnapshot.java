@@ -0,0 +1,107 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.configuration;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import lombok.Getter;
+import solutions.bellatrix.core.utilities.Log;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Parsed once per environment view of testFrameworkSettings.&lt;env&gt;.json.<br>
+ * Sections are kept as JSON trees, so the file is never read or parsed again. Every request maps its section
+ * to a new instance of the settings class, so callers can't change the settings seen by everyone else.
+ */
+public final class ConfigurationSnapshot {
+    private static final Gson GSON = new Gson();
+
+    @Getter private final String environment;
+    private final Map<String, JsonElement> sections;
+
+    ConfigurationSnapshot(String environment, String jsonFileContent) {
+        this.environment = environment;
+
+        var parsedSections = new HashMap<String, JsonElement>();
+        if (jsonFileContent != null && !jsonFileContent.isBlank()) {
+            for (var entry : JsonParser.parseString(jsonFileContent).getAsJsonObject().entrySet()) {
+                parsedSections.put(entry.getKey(), entry.getValue().deepCopy());
+            }
+        }
+
+        this.sections = Collections.unmodifiableMap(parsedSections);
+    }
+
+    public boolean hasSection(Class<?> configSection) {
+        return sections.containsKey(ConfigurationService.getSectionName(configSection));
+    }
+
+    /**
+     * Returns every distinct match of the pattern found in the string values of all sections.
+     */
+    public Set<String> findValues(Pattern pattern) {
+        var matches = new LinkedHashSet<String>();
+        for (var section : sections.values()) {
+            collectMatches(section, pattern, matches);
+        }
+
+        return matches;
+    }
+
+    /**
+     * @throws IllegalStateException if the section is missing or can't be mapped to the settings class
+     */
+    public <T> T get(Class<T> configSection) {
+        var sectionName = ConfigurationService.getSectionName(configSection);
+        var sectionJson = sections.get(sectionName);
+        if (sectionJson == null) {
+            throw new IllegalStateException(environment == null ?
+                    String.format("Section '%s' can't be read because no environment is configured in application.properties or the 'environment' system property.", sectionName) :
+                    String.format("Section '%s' is missing in testFrameworkSettings.%s.json.", sectionName, environment));
+        }
+
+        try {
+            return GSON.fromJson(sectionJson, configSection);
+        } catch (JsonParseException e) {
+            var message = String.format("Section '%s' in testFrameworkSettings.%s.json can't be mapped to %s: %s", sectionName, environment, configSection.getSimpleName(), e.getMessage());
+            Log.error(message);
+            throw new IllegalStateException(message, e);
+        }
+    }
+
+    private static void collectMatches(JsonElement element, Pattern pattern, Set<String> matches) {
+        if (element.isJsonObject()) {
+            for (var entry : element.getAsJsonObject().entrySet()) {
+                collectMatches(entry.getValue(), pattern, matches);
+            }
+        } else if (element.isJsonArray()) {
+            for (var item : element.getAsJsonArray()) {
+                collectMatches(item, pattern, matches);
+            }
+        } else if (element.isJsonPrimitive() && element.getAsJsonPrimitive().isString()) {
+            var matcher = pattern.matcher(element.getAsString());
+            while (matcher.find()) {
+                matches.add(matcher.group());
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for taking a screenshot or starting and stopping a video recording.
+ */
+@Name("solutions.bellatrix.Capture")
+@Label("Screenshot/Video Capture")
+@Category({"BELLATRIX", "Plugins"})
+@Description("Taking a screenshot or starting and stopping a video recording")
+@StackTrace(false)
+public final class CaptureEvent extends Event {
+    public static final String SCREENSHOT = "screenshot";
+    public static final String VIDEO_START = "video start";
+    public static final String VIDEO_STOP = "video stop";
+
+    @Label("Kind") private String kind;
+    @Label("Path") private String path;
+    @Label("Successful") private boolean isSuccessful;
+
+    public void complete(String kind, String path, boolean isSuccessful) {
+        end();
+        if (!shouldCommit()) return;
+
+        this.kind = kind;
+        this.path = path;
+        this.isSuccessful = isSuccessful;
+        commit();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for locating a component, including its wait strategies.
+ * Create it and call {@link #begin()} before the lookup, then {@link #complete(String, Object, boolean)} once it is done.
+ * The locator is only converted to text when the event is recorded.
+ */
+@Name("solutions.bellatrix.ComponentFind")
+@Label("Component Find")
+@Category({"BELLATRIX", "Components"})
+@Description("Locating a component on the page, including its wait strategies")
+@StackTrace(false)
+public final class ComponentFindEvent extends Event {
+    @Label("Component") private String component;
+    @Label("Locator") private String locator;
+    @Label("Found") private boolean isFound;
+
+    public void complete(String component, Object locator, boolean isFound) {
+        end();
+        if (!shouldCommit()) return;
+
+        this.component = component;
+        this.locator = String.valueOf(locator);
+        this.isFound = isFound;
+        commit();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for starting or closing a browser session.
+ */
+@Name("solutions.bellatrix.DriverLifecycle")
+@Label("Driver Lifecycle")
+@Category({"BELLATRIX", "Browser"})
+@Description("Starting or closing a browser session")
+@StackTrace(false)
+public final class DriverLifecycleEvent extends Event {
+    public static final String START = "start";
+    public static final String CLOSE = "close";
+
+    @Label("Operation") private String operation;
+    @Label("Browser") private String browser;
+    @Label("Execution Type") private String executionType;
+    @Label("Pooled") @Description("Whether the session is managed by the session pool instead of being created or quit") private boolean isPooled;
+
+    public void complete(String operation, Object browser, String executionType, boolean isPooled) {
+        end();
+        if (!shouldCommit()) return;
+
+        this.operation = operation;
+        this.browser = String.valueOf(browser);
+        this.executionType = executionType;
+        this.isPooled = isPooled;
+        commit();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for a script executed in the browser. Scripts longer than 512 characters are truncated.
+ */
+@Name("solutions.bellatrix.JavaScriptExecution")
+@Label("JavaScript Execution")
+@Category({"BELLATRIX", "Browser"})
+@Description("Executing JavaScript in the browser")
+@StackTrace(false)
+public final class JavaScriptExecutionEvent extends Event {
+    private static final int MAX_SCRIPT_LENGTH = 512;
+
+    @Label("Script") private String script;
+    @Label("Component") private String component;
+    @Label("Successful") private boolean isSuccessful;
+
+    public void complete(String script, Object component, boolean isSuccessful) {
+        end();
+        if (!shouldCommit()) return;
+
+        this.script = script == null || script.length() <= MAX_SCRIPT_LENGTH ? script : script.substring(0, MAX_SCRIPT_LENGTH);
+        this.component = component == null ? null : String.valueOf(component);
+        this.isSuccessful = isSuccessful;
+        commit();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for a single plugin hook invocation.
+ */
+@Name("solutions.bellatrix.PluginHook")
+@Label("Plugin Hook")
+@Category({"BELLATRIX", "Plugins"})
+@Description("Executing a plugin hook")
+@StackTrace(false)
+public final class PluginHookEvent extends Event {
+    @Label("Plugin") private String plugin;
+    @Label("Hook") private String hook;
+    @Label("Concurrent") private boolean isConcurrent;
+    @Label("Failed") private boolean isFailed;
+
+    public void complete(String plugin, Object hook, boolean isConcurrent, boolean isFailed) {
+        end();
+        if (!shouldCommit()) return;
+
+        this.plugin = plugin;
+        this.hook = String.valueOf(hook);
+        this.isConcurrent = isConcurrent;
+        this.isFailed = isFailed;
+        commit();
+    }
+}
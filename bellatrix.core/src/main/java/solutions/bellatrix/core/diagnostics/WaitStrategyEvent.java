@@ -0,0 +1,47 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for one wait strategy evaluated against a component.
+ */
+@Name("solutions.bellatrix.WaitStrategy")
+@Label("Wait Strategy")
+@Category({"BELLATRIX", "Components"})
+@Description("Waiting for a component to satisfy a wait strategy")
+@StackTrace(false)
+public final class WaitStrategyEvent extends Event {
+    @Label("Strategy") private String strategy;
+    @Label("Component") private String component;
+    @Label("Locator") private String locator;
+    @Label("Satisfied") private boolean isSatisfied;
+
+    public void complete(String strategy, String component, Object locator, boolean isSatisfied) {
+        end();
+        if (!shouldCommit()) return;
+
+        this.strategy = strategy;
+        this.component = component;
+        this.locator = String.valueOf(locator);
+        this.isSatisfied = isSatisfied;
+        commit();
+    }
+}
@@ -2,12 +2,16 @@ package solutions.bellatrix.core.integrations.azure;
 
 import java.util.function.Supplier;
 
+/**
+ * Resolves Azure secrets through the shared, TTL-bounded cache of {@link solutions.bellatrix.core.utilities.SecretsResolver},
+ * so the configured {@link solutions.bellatrix.core.utilities.secrets.SecretsProvider} is called once per secret for the whole run.
+ */
 public class SecretsResolver {
     public static String getSecret(Supplier<String> getConfigValue) {
         String configValue = getConfigValue.get();
 
         if (configValue.startsWith("env_")) {
-            return System.getenv(configValue.replace("env_", ""));
+            return solutions.bellatrix.core.utilities.SecretsResolver.resolve(configValue.replace("env_", ""));
         }
 
         return configValue;
@@ -15,7 +19,7 @@ public class SecretsResolver {
 
     public static String getSecret(String name) {
 
-        String environmentalVariable = System.getenv(name);
+        String environmentalVariable = solutions.bellatrix.core.utilities.SecretsResolver.resolve(name);
 
         if (environmentalVariable == null || environmentalVariable.isEmpty()) {
             throw new IllegalArgumentException("You need to initialize an environmental variable or key vault secret first.");
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.plugins;
+
+import java.util.function.Supplier;
+
+/**
+ * A slot in the current {@link TestContext}, used like a {@link ThreadLocal}.
+ * Test-scoped values are cleared when the test ends, the others live as long as the context.
+ */
+public final class ContextValue<T> {
+    private final Supplier<? extends T> initialValue;
+    private final boolean isTestScoped;
+
+    public ContextValue() {
+        this(null, false);
+    }
+
+    private ContextValue(Supplier<? extends T> initialValue, boolean isTestScoped) {
+        this.initialValue = initialValue;
+        this.isTestScoped = isTestScoped;
+    }
+
+    public static <T> ContextValue<T> withInitial(Supplier<? extends T> initialValue) {
+        return new ContextValue<>(initialValue, false);
+    }
+
+    public static <T> ContextValue<T> testScoped() {
+        return new ContextValue<>(null, true);
+    }
+
+    public static <T> ContextValue<T> testScoped(Supplier<? extends T> initialValue) {
+        return new ContextValue<>(initialValue, true);
+    }
+
+    public T get() {
+        return TestContext.current().get(this);
+    }
+
+    public void set(T value) {
+        TestContext.current().set(this, value);
+    }
+
+    public void remove() {
+        TestContext.current().remove(this);
+    }
+
+    boolean isTestScoped() {
+        return isTestScoped;
+    }
+
+    boolean hasInitialValue() {
+        return initialValue != null;
+    }
+
+    T initialValue() {
+        return initialValue.get();
+    }
+}
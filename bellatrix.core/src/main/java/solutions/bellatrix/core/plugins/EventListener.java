@@ -13,24 +13,146 @@
 
 package solutions.bellatrix.core.plugins;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+/**
+ * Thread-safe registry of event subscribers. Broadcasts iterate over an immutable snapshot of the subscribers,
+ * so listeners can be added and removed from any thread while events are being fired.
+ * Listeners added with {@link #addAsyncListener(Consumer)} are invoked on a shared bounded executor; events broadcast
+ * from the same thread reach such a listener in the order they were broadcast.
+ */
+@SuppressWarnings("unchecked")
 public class EventListener<TArgs> {
-    private final Set<Consumer<TArgs>> listeners = new HashSet<>();
+    private static final Consumer<?>[] NO_LISTENERS = new Consumer<?>[0];
+    private static final ExecutorService ASYNC_EXECUTOR = createAsyncExecutor();
+
+    private volatile Consumer<TArgs>[] listeners = (Consumer<TArgs>[])NO_LISTENERS;
+
+    public synchronized void addListener(Consumer<TArgs> listener) {
+        if (indexOf(listener) >= 0) return;
 
-    public void addListener(Consumer<TArgs> listener) {
-        listeners.add(listener);
+        var updatedListeners = Arrays.copyOf(listeners, listeners.length + 1);
+        updatedListeners[listeners.length] = listener;
+        listeners = updatedListeners;
     }
 
-    public void removeListener(Consumer<TArgs> listener) {
-        listeners.remove(listener);
+    /**
+     * Subscribes a listener that is invoked off the broadcasting thread. Remove it by passing the same
+     * consumer to {@link #removeListener(Consumer)}.
+     */
+    public void addAsyncListener(Consumer<TArgs> listener) {
+        addListener(new AsyncListener<>(listener));
+    }
+
+    public synchronized void removeListener(Consumer<TArgs> listener) {
+        int index = indexOf(listener);
+        if (index < 0) return;
+
+        var updatedListeners = (Consumer<TArgs>[])new Consumer<?>[listeners.length - 1];
+        System.arraycopy(listeners, 0, updatedListeners, 0, index);
+        System.arraycopy(listeners, index + 1, updatedListeners, index, listeners.length - index - 1);
+        listeners = updatedListeners;
+    }
+
+    public boolean hasListeners() {
+        return listeners.length > 0;
     }
 
     public void broadcast(TArgs args) {
-        if (listeners.size() > 0) {
-            listeners.forEach(x -> x.accept(args));
+        for (var listener : listeners) {
+            listener.accept(args);
+        }
+    }
+
+    /**
+     * Creates the event arguments only if there is at least one subscriber.
+     */
+    public void broadcast(Supplier<TArgs> argsFactory) {
+        var currentListeners = listeners;
+        if (currentListeners.length == 0) return;
+
+        var args = argsFactory.get();
+        for (var listener : currentListeners) {
+            listener.accept(args);
+        }
+    }
+
+    private int indexOf(Consumer<TArgs> listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            var current = listeners[i];
+            if (current.equals(listener) || (current instanceof AsyncListener<TArgs> asyncListener && asyncListener.delegate.equals(listener))) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static ExecutorService createAsyncExecutor() {
+        var threadsCount = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        var threadNumber = new AtomicInteger();
+        var executor = new ThreadPoolExecutor(threadsCount, threadsCount, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1024), runnable -> {
+            var thread = new Thread(runnable, "bellatrix-event-dispatcher-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Runs the wrapped listener on the shared executor, one event at a time per broadcasting thread.
+     */
+    private static class AsyncListener<TArgs> implements Consumer<TArgs> {
+        private final Consumer<TArgs> delegate;
+        // held by the broadcasting thread, so a queue goes away together with the thread that published into it
+        private final ThreadLocal<SerialQueue> queuePerPublisher = ThreadLocal.withInitial(SerialQueue::new);
+
+        AsyncListener(Consumer<TArgs> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void accept(TArgs args) {
+            queuePerPublisher.get().submit(TestContext.current().wrap(() -> delegate.accept(args)));
+        }
+    }
+
+    private static class SerialQueue {
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean isScheduled = new AtomicBoolean();
+
+        void submit(Runnable task) {
+            tasks.add(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (isScheduled.compareAndSet(false, true)) {
+                ASYNC_EXECUTOR.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+
+            isScheduled.set(false);
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
         }
     }
 }
@@ -15,12 +15,40 @@ package solutions.bellatrix.core.plugins;
 
 import java.io.IOException;
 import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Set;
 
 public abstract class Plugin {
     public Plugin() {
         PluginExecutionEngine.addPlugin(this);
     }
 
+    /**
+     * Plugins whose hooks must complete before the hooks of this plugin start.
+     * Plugins without a declared relation keep their registration order.
+     */
+    public Set<Class<? extends Plugin>> runsAfter() {
+        return Set.of();
+    }
+
+    /**
+     * Whether the hook may run on a worker thread, in parallel with the hooks of other plugins of the same level.
+     * The worker sees the test's {@link ContextValue}s, including the current driver, but not plain {@link ThreadLocal}s.
+     * Hooks that drive the browser or another non thread-safe resource, which other hooks of the level may use or close at the same time,
+     * must return false, as must hooks whose work may not be interrupted, since a concurrent hook that outlasts its timeout is cancelled.
+     */
+    public boolean isConcurrent(PluginHook hook) {
+        return false;
+    }
+
+    /**
+     * Maximum time the engine waits for a concurrent hook before abandoning it.
+     * Returns null to use the pluginSettings default.
+     */
+    public Duration getHookTimeout(PluginHook hook) {
+        return null;
+    }
+
     public void preBeforeClass(Class type) {
     }
 
@@ -13,64 +13,68 @@
 
 package solutions.bellatrix.core.plugins;
 
+import lombok.SneakyThrows;
+import solutions.bellatrix.core.configuration.ConfigurationService;
+import solutions.bellatrix.core.diagnostics.PluginHookEvent;
+import solutions.bellatrix.core.tracing.Tracer;
+import solutions.bellatrix.core.utilities.Log;
+
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Runs plugin hooks level by level. A plugin lands one level after the deepest plugin listed in its
+ * {@link Plugin#runsAfter()}; plugins without relations share the first level and keep their registration order.
+ * Inside a level, hooks marked {@link Plugin#isConcurrent(PluginHook)} run on worker threads with a timeout,
+ * while all other hooks run on the calling thread, one after another, exactly as before.
+ */
 public final class PluginExecutionEngine {
+    public static final EventListener<PluginHookEventArgs> HOOK_EXECUTED = new EventListener<>();
     private final static LinkedHashSet<Plugin> PLUGINS;
+    private static volatile List<List<Plugin>> executionLevels;
+    private static volatile Duration defaultHookTimeout;
 
     static {
         PLUGINS = new LinkedHashSet<>();
     }
 
     public static void addPlugin(Plugin plugin) {
-        PLUGINS.add(plugin);
+        synchronized (PLUGINS) {
+            if (PLUGINS.add(plugin)) executionLevels = null;
+        }
     }
 
     public static void removePlugin(Plugin plugin) {
-        PLUGINS.remove(plugin);
+        synchronized (PLUGINS) {
+            if (PLUGINS.remove(plugin)) executionLevels = null;
+        }
     }
 
     public static void preBeforeClass(Class type) {
-        for (var currentObserver : PLUGINS) {
-            if (currentObserver != null)
-                currentObserver.preBeforeClass(type);
-        }
+        executeUnchecked(PluginHook.PRE_BEFORE_CLASS, plugin -> plugin.preBeforeClass(type));
     }
 
     public static void postBeforeClass(Class type) {
-        for (var currentObserver : PLUGINS) {
-            if (currentObserver != null)
-                currentObserver.postBeforeClass(type);
-        }
+        executeUnchecked(PluginHook.POST_BEFORE_CLASS, plugin -> plugin.postBeforeClass(type));
     }
 
     public static void beforeClassFailed(Exception e) {
-        for (var currentObserver : PLUGINS) {
-            if (currentObserver != null)
-                currentObserver.beforeClassFailed(e);
-        }
+        executeUnchecked(PluginHook.BEFORE_CLASS_FAILED, plugin -> plugin.beforeClassFailed(e));
     }
 
     public static void preBeforeTest(TestResult result, Method memberInfo) throws Exception {
-        for (var currentObserver : PLUGINS) {
-            if (currentObserver != null)
-                currentObserver.preBeforeTest(result, memberInfo);
-        }
+        execute(PluginHook.PRE_BEFORE_TEST, plugin -> plugin.preBeforeTest(result, memberInfo));
     }
 
     public static void postBeforeTest(TestResult result, Method memberInfo) {
-        for (var currentObserver : PLUGINS) {
-            if (currentObserver != null)
-                currentObserver.postBeforeTest(result, memberInfo);
-        }
+        executeUnchecked(PluginHook.POST_BEFORE_TEST, plugin -> plugin.postBeforeTest(result, memberInfo));
     }
 
     public static void beforeTestFailed(Exception e) throws Exception {
-        for (var currentObserver : PLUGINS) {
-            if (currentObserver != null)
-                currentObserver.beforeTestFailed(e);
-        }
+        execute(PluginHook.BEFORE_TEST_FAILED, plugin -> plugin.beforeTestFailed(e));
     }
 
     /**
@@ -79,17 +83,11 @@ public final class PluginExecutionEngine {
      */
     @Deprecated
     public static void preAfterTest(TestResult result, Method memberInfo) throws Exception {
-        for (var currentObserver : PLUGINS) {
-            if (currentObserver != null)
-                currentObserver.preAfterTest(result, memberInfo);
-        }
+        execute(PluginHook.PRE_AFTER_TEST, plugin -> plugin.preAfterTest(result, memberInfo));
     }
 
     public static void preAfterTest(TestResult result, TimeRecord timeRecord, Method memberInfo) throws Exception {
-        for (var currentObserver : PLUGINS) {
-            if (currentObserver != null)
-                currentObserver.preAfterTest(result, timeRecord, memberInfo);
-        }
+        execute(PluginHook.PRE_AFTER_TEST, plugin -> plugin.preAfterTest(result, timeRecord, memberInfo));
     }
 
     /**
@@ -98,44 +96,236 @@ public final class PluginExecutionEngine {
      */
     @Deprecated
     public static void postAfterTest(TestResult result, Method memberInfo, Throwable failedTestException) {
-        for (var currentObserver : PLUGINS) {
-            if (currentObserver != null)
-                currentObserver.postAfterTest(result, memberInfo, failedTestException);
-        }
+        executeUnchecked(PluginHook.POST_AFTER_TEST, plugin -> plugin.postAfterTest(result, memberInfo, failedTestException));
     }
 
     public static void postAfterTest(TestResult result, TimeRecord timeRecord, Method memberInfo, Throwable failedTestException) {
-        for (var currentObserver : PLUGINS) {
-            if (currentObserver != null)
-                currentObserver.postAfterTest(result, timeRecord, memberInfo, failedTestException);
-        }
+        executeUnchecked(PluginHook.POST_AFTER_TEST, plugin -> plugin.postAfterTest(result, timeRecord, memberInfo, failedTestException));
     }
 
     public static void afterTestFailed(Exception e) {
-        for (var currentObserver : PLUGINS) {
-            if (currentObserver != null)
-                currentObserver.afterTestFailed(e);
-        }
+        executeUnchecked(PluginHook.AFTER_TEST_FAILED, plugin -> plugin.afterTestFailed(e));
     }
 
     public static void preAfterClass(Class type) {
-        for (var currentObserver : PLUGINS) {
-            if (currentObserver != null)
-                currentObserver.preAfterClass(type);
-        }
+        executeUnchecked(PluginHook.PRE_AFTER_CLASS, plugin -> plugin.preAfterClass(type));
     }
 
     public static void postAfterClass(Class type) {
-        for (var currentObserver : PLUGINS) {
-            if (currentObserver != null)
-                currentObserver.postAfterClass(type);
-        }
+        executeUnchecked(PluginHook.POST_AFTER_CLASS, plugin -> plugin.postAfterClass(type));
     }
 
     public static void afterClassFailed(Exception e) {
-        for (var currentObserver : PLUGINS) {
-            if (currentObserver != null)
-                currentObserver.afterClassFailed(e);
+        executeUnchecked(PluginHook.AFTER_CLASS_FAILED, plugin -> plugin.afterClassFailed(e));
+    }
+
+    @SneakyThrows
+    private static void executeUnchecked(PluginHook hook, HookInvocation invocation) {
+        execute(hook, invocation);
+    }
+
+    private static void execute(PluginHook hook, HookInvocation invocation) throws Exception {
+        for (var level : getExecutionLevels()) {
+            executeLevel(hook, level, invocation);
+        }
+    }
+
+    private static void executeLevel(PluginHook hook, List<Plugin> level, HookInvocation invocation) throws Exception {
+        var serialPlugins = new ArrayList<Plugin>(level.size());
+        var pendingHooks = new ArrayList<PendingHook>();
+        for (var plugin : level) {
+            if (plugin.isConcurrent(hook)) {
+                pendingHooks.add(submit(hook, plugin, invocation));
+            } else {
+                serialPlugins.add(plugin);
+            }
         }
+
+        Throwable failure = null;
+        for (var plugin : serialPlugins) {
+            try {
+                invoke(hook, plugin, false, invocation);
+            } catch (Exception | Error e) {
+                failure = e;
+                break;
+            }
+        }
+
+        for (var pendingHook : pendingHooks) {
+            var hookFailure = pendingHook.await();
+            if (failure == null) failure = hookFailure;
+        }
+
+        if (failure instanceof Exception exception) throw exception;
+        if (failure instanceof Error error) throw error;
+        if (failure != null) throw new ExecutionException(failure);
+    }
+
+    private static PendingHook submit(PluginHook hook, Plugin plugin, HookInvocation invocation) {
+        var timeout = getHookTimeout(hook, plugin);
+        var deadline = timeout.isZero() || timeout.isNegative() ? Long.MAX_VALUE : System.nanoTime() + timeout.toNanos();
+        var future = HookExecutor.INSTANCE.submit(TestContext.current().wrap(() -> {
+            invoke(hook, plugin, true, invocation);
+            return null;
+        }));
+
+        return new PendingHook(hook, plugin, future, deadline, timeout);
+    }
+
+    private static void invoke(PluginHook hook, Plugin plugin, boolean isConcurrent, HookInvocation invocation) throws Exception {
+        var span = Tracer.startSpan(plugin.getClass().getSimpleName() + "." + hook, "plugin");
+        var event = new PluginHookEvent();
+        event.begin();
+        var startTime = System.nanoTime();
+        Throwable failure = null;
+        try {
+            invocation.invoke(plugin);
+        } catch (Exception | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (failure != null) span.arg("error", failure);
+            span.close();
+            event.complete(plugin.getClass().getSimpleName(), hook, isConcurrent, failure != null);
+
+            var duration = Duration.ofNanos(System.nanoTime() - startTime);
+            report(plugin, hook, duration, isConcurrent, false, failure);
+
+            if (!isConcurrent) {
+                var timeout = getHookTimeout(hook, plugin);
+                if (!timeout.isZero() && !timeout.isNegative() && duration.compareTo(timeout) > 0) {
+                    Log.error("Plugin %s took %d ms in %s, more than its %d ms timeout. Mark the hook concurrent to have the timeout enforced.",
+                            plugin.getClass().getSimpleName(), duration.toMillis(), hook, timeout.toMillis());
+                }
+            }
+        }
+    }
+
+    private static void report(Plugin plugin, PluginHook hook, Duration duration, boolean isConcurrent, boolean isTimedOut, Throwable failure) {
+        Log.debug(() -> String.format("Plugin %s completed %s in %d ms%s.",
+                plugin.getClass().getSimpleName(), hook, duration.toMillis(), isConcurrent ? " on a worker thread" : ""));
+        HOOK_EXECUTED.broadcast(() -> new PluginHookEventArgs(plugin, hook, duration, isConcurrent, isTimedOut, failure));
+    }
+
+    private static Duration getHookTimeout(PluginHook hook, Plugin plugin) {
+        var timeout = plugin.getHookTimeout(hook);
+        return timeout != null ? timeout : getDefaultHookTimeout();
+    }
+
+    private static Duration getDefaultHookTimeout() {
+        var timeout = defaultHookTimeout;
+        if (timeout == null) {
+            PluginSettings settings;
+            try {
+                settings = ConfigurationService.get(PluginSettings.class);
+            } catch (RuntimeException e) {
+                settings = null;
+            }
+
+            timeout = Duration.ofSeconds((settings != null ? settings : new PluginSettings()).getHookTimeoutSeconds());
+            defaultHookTimeout = timeout;
+        }
+
+        return timeout;
+    }
+
+    private static List<List<Plugin>> getExecutionLevels() {
+        var levels = executionLevels;
+        if (levels != null) return levels;
+
+        synchronized (PLUGINS) {
+            if (executionLevels == null) {
+                executionLevels = buildExecutionLevels(PLUGINS.stream().filter(Objects::nonNull).toList());
+            }
+
+            return executionLevels;
+        }
+    }
+
+    private static List<List<Plugin>> buildExecutionLevels(List<Plugin> plugins) {
+        var depths = new HashMap<Plugin, Integer>();
+        for (var plugin : plugins) {
+            computeDepth(plugin, plugins, depths, new HashSet<>());
+        }
+
+        var levels = new ArrayList<List<Plugin>>();
+        for (var plugin : plugins) {
+            int depth = depths.get(plugin);
+            while (levels.size() <= depth) levels.add(new ArrayList<>());
+            levels.get(depth).add(plugin);
+        }
+
+        return levels.stream().filter(level -> !level.isEmpty()).map(List::copyOf).toList();
+    }
+
+    private static int computeDepth(Plugin plugin, List<Plugin> plugins, Map<Plugin, Integer> depths, Set<Plugin> visiting) {
+        var knownDepth = depths.get(plugin);
+        if (knownDepth != null) return knownDepth;
+
+        var predecessorTypes = plugin.runsAfter();
+        if (predecessorTypes == null || predecessorTypes.isEmpty()) {
+            depths.put(plugin, 0);
+            return 0;
+        }
+
+        visiting.add(plugin);
+        var depth = 0;
+        for (var candidate : plugins) {
+            if (candidate == plugin || predecessorTypes.stream().noneMatch(type -> type.isInstance(candidate))) continue;
+
+            if (visiting.contains(candidate)) {
+                Log.error("Plugins %s and %s declare a cyclic order. The relation is ignored.",
+                        plugin.getClass().getSimpleName(), candidate.getClass().getSimpleName());
+                continue;
+            }
+
+            depth = Math.max(depth, computeDepth(candidate, plugins, depths, visiting) + 1);
+        }
+        visiting.remove(plugin);
+
+        depths.put(plugin, depth);
+        return depth;
+    }
+
+    @FunctionalInterface
+    private interface HookInvocation {
+        void invoke(Plugin plugin) throws Exception;
+    }
+
+    private record PendingHook(PluginHook hook, Plugin plugin, Future<?> future, long deadline, Duration timeout) {
+        Throwable await() {
+            try {
+                if (deadline == Long.MAX_VALUE) {
+                    future.get();
+                } else {
+                    future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                }
+
+                return null;
+            } catch (ExecutionException e) {
+                return e.getCause();
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                Log.error("Plugin %s did not complete %s within %d ms and was abandoned.",
+                        plugin.getClass().getSimpleName(), hook, timeout.toMillis());
+                report(plugin, hook, timeout, true, true, null);
+                return null;
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                return e;
+            }
+        }
+    }
+
+    private static final class HookExecutor {
+        private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+        // Unbounded on purpose: an abandoned hook that ignores interruption must not starve the hooks of later tests.
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            var thread = new Thread(runnable, "bellatrix-plugin-hook-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 }
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.plugins;
+
+public enum PluginHook {
+    PRE_BEFORE_CLASS,
+    POST_BEFORE_CLASS,
+    BEFORE_CLASS_FAILED,
+    PRE_BEFORE_TEST,
+    POST_BEFORE_TEST,
+    BEFORE_TEST_FAILED,
+    PRE_AFTER_TEST,
+    POST_AFTER_TEST,
+    AFTER_TEST_FAILED,
+    PRE_AFTER_CLASS,
+    POST_AFTER_CLASS,
+    AFTER_CLASS_FAILED
+}
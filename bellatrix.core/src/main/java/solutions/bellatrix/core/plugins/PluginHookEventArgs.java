@@ -0,0 +1,36 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.plugins;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+public class PluginHookEventArgs {
+    @Getter private final Plugin plugin;
+    @Getter private final PluginHook hook;
+    @Getter private final Duration duration;
+    @Getter private final boolean isConcurrent;
+    @Getter private final boolean isTimedOut;
+    @Getter private final Throwable exception;
+
+    public PluginHookEventArgs(Plugin plugin, PluginHook hook, Duration duration, boolean isConcurrent, boolean isTimedOut, Throwable exception) {
+        this.plugin = plugin;
+        this.hook = hook;
+        this.duration = duration;
+        this.isConcurrent = isConcurrent;
+        this.isTimedOut = isTimedOut;
+        this.exception = exception;
+    }
+}
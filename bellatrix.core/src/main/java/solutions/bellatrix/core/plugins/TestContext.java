@@ -0,0 +1,132 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.plugins;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Holds the state of one test execution: the driver, browser configuration, proxy, cached singletons, the current test result and so on.
+ * The state lives in {@link ContextValue}s, which read and write the context bound to the current thread.
+ * <br>
+ * Every thread starts with its own context, which keeps the previous thread-local behaviour.
+ * Runners that multiplex tests over shared or virtual threads create a context per test, {@link #bind()} it around the work and {@link #close()} it afterwards.
+ * Framework-internal async work is handed the caller's context through {@link #wrap(Runnable)}.
+ */
+public final class TestContext implements AutoCloseable {
+    private static final ThreadLocal<TestContext> CURRENT = ThreadLocal.withInitial(TestContext::new);
+
+    private final String id = UUID.randomUUID().toString();
+    private final Map<ContextValue<?>, Object> values = new ConcurrentHashMap<>();
+
+    private TestContext() {
+    }
+
+    public static TestContext current() {
+        return CURRENT.get();
+    }
+
+    public static TestContext create() {
+        return new TestContext();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Makes this context current on the calling thread until the returned scope is closed.
+     */
+    public Scope bind() {
+        var previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> CURRENT.set(previous);
+    }
+
+    public Runnable wrap(Runnable action) {
+        return () -> {
+            try (var ignored = bind()) {
+                action.run();
+            }
+        };
+    }
+
+    public <T> Callable<T> wrap(Callable<T> action) {
+        return () -> {
+            try (var ignored = bind()) {
+                return action.call();
+            }
+        };
+    }
+
+    public Executor wrap(Executor executor) {
+        return command -> executor.execute(wrap(command));
+    }
+
+    /**
+     * Clears the values scoped to a single test, such as the test result and its time record. Called by the base test classes when a test finishes.
+     */
+    public void endTest() {
+        values.keySet().removeIf(ContextValue::isTestScoped);
+    }
+
+    /**
+     * Clears every value of the context.
+     */
+    @Override
+    public void close() {
+        values.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T get(ContextValue<T> key) {
+        var value = (T)values.get(key);
+        if (value == null && key.hasInitialValue()) {
+            value = key.initialValue();
+            if (value != null) {
+                var existing = (T)values.putIfAbsent(key, value);
+                if (existing != null) value = existing;
+            }
+        }
+
+        return value;
+    }
+
+    <T> void set(ContextValue<T> key, T value) {
+        if (value == null) {
+            values.remove(key);
+        } else {
+            values.put(key, value);
+        }
+    }
+
+    void remove(ContextValue<?> key) {
+        values.remove(key);
+    }
+
+    @Override
+    public String toString() {
+        return "TestContext[" + id + "]";
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
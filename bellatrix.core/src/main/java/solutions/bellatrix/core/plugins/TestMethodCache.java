@@ -0,0 +1,76 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.plugins;
+
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * The public methods of a test class, indexed once per class by name and by signature,
+ * so resolving the {@link Method} handed to plugins does not scan {@link Class#getMethods()} for every test.
+ */
+public final class TestMethodCache {
+    private static final ClassValue<TestClassMethods> METHODS = new ClassValue<>() {
+        @Override
+        protected TestClassMethods computeValue(Class<?> type) {
+            return new TestClassMethods(type);
+        }
+    };
+
+    private TestMethodCache() {
+    }
+
+    /**
+     * Returns the first public method with the given name, in {@link Class#getMethods()} order.
+     */
+    public static Method getMethod(Class<?> testClass, String name) throws NoSuchMethodException {
+        var method = METHODS.get(testClass).methodsByName.get(name);
+        if (method == null) {
+            throw new NoSuchMethodException(testClass.getName() + "." + name);
+        }
+
+        return method;
+    }
+
+    /**
+     * Returns the public method with the given name and parameter types, like {@link Class#getMethod(String, Class[])}.
+     */
+    public static Method getMethod(Class<?> testClass, String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+        var methods = METHODS.get(testClass);
+        var method = methods.methodsBySignature.get(new Signature(name, List.of(parameterTypes)));
+        if (method == null) {
+            // Covariant overrides and other corner cases keep the reflective lookup.
+            method = testClass.getMethod(name, parameterTypes);
+        }
+
+        return method;
+    }
+
+    private record Signature(String name, List<Class<?>> parameterTypes) {
+    }
+
+    private static class TestClassMethods {
+        private final Map<String, Method> methodsByName = new HashMap<>();
+        private final Map<Signature, Method> methodsBySignature = new HashMap<>();
+
+        TestClassMethods(Class<?> testClass) {
+            for (var method : testClass.getMethods()) {
+                if (method.isBridge()) continue;
+
+                methodsByName.putIfAbsent(method.getName(), method);
+                methodsBySignature.putIfAbsent(new Signature(method.getName(), List.of(method.getParameterTypes())), method);
+            }
+        }
+    }
+}
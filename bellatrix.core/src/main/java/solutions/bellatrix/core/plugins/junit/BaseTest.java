@@ -15,24 +15,28 @@ package solutions.bellatrix.core.plugins.junit;
 
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import solutions.bellatrix.core.plugins.ContextValue;
 import solutions.bellatrix.core.plugins.PluginExecutionEngine;
+import solutions.bellatrix.core.plugins.TestMethodCache;
 import solutions.bellatrix.core.plugins.TestResult;
 import solutions.bellatrix.core.plugins.TimeRecord;
 import solutions.bellatrix.core.plugins.UsesPlugins;
+import solutions.bellatrix.core.tracing.Tracer;
+import solutions.bellatrix.core.utilities.SecretsResolver;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 @ExtendWith(TestResultWatcher.class)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @ExtendWith(TestDurationWatcher.class)
 public class BaseTest extends UsesPlugins {
-    static final ThreadLocal<TestResult> CURRENT_TEST_RESULT = new ThreadLocal<>();
-    static final ThreadLocal<TimeRecord> CURRENT_TEST_TIME_RECORD = ThreadLocal.withInitial(TimeRecord::new);
-    private static final ThreadLocal<Boolean> CONFIGURATION_EXECUTED = new ThreadLocal<>();
-    private static final List<String> ALREADY_EXECUTED_BEFORE_CLASSES = Collections.synchronizedList(new ArrayList<>());
+    static final ContextValue<TestResult> CURRENT_TEST_RESULT = ContextValue.testScoped();
+    static final ContextValue<TimeRecord> CURRENT_TEST_TIME_RECORD = ContextValue.testScoped(TimeRecord::new);
+    private static final ContextValue<Boolean> CONFIGURATION_EXECUTED = new ContextValue<>();
+    private static final Map<String, FutureTask<Void>> ALREADY_EXECUTED_BEFORE_CLASSES = new ConcurrentHashMap<>();
     private TestInfo testInfo;
 
     public BaseTest() {
@@ -53,15 +57,21 @@ public class BaseTest extends UsesPlugins {
         try {
             assert testInfo.getTestClass().isPresent();
             this.testInfo = testInfo;
+            Tracer.startTest(testInfo.getTestClass().get().getSimpleName() + "." + testInfo.getTestMethod().get().getName());
             var currentTestClassName = testInfo.getTestClass().get().getName();
-            if (!ALREADY_EXECUTED_BEFORE_CLASSES.contains(currentTestClassName)) {
-                beforeClassCore();
-                ALREADY_EXECUTED_BEFORE_CLASSES.add(testInfo.getTestClass().get().getName());
+            var beforeClass = new FutureTask<Void>(this::beforeClassCore, null);
+            var alreadyStartedBeforeClass = ALREADY_EXECUTED_BEFORE_CLASSES.putIfAbsent(currentTestClassName, beforeClass);
+            if (alreadyStartedBeforeClass == null) {
+                beforeClass.run();
+                awaitBeforeClass(beforeClass);
+            } else {
+                // Tests of the same class running in parallel wait for the single before-class run to finish.
+                awaitBeforeClass(alreadyStartedBeforeClass);
             }
 
             var testClass = this.getClass();
             assert testInfo.getTestMethod().isPresent();
-            var methodInfo = Arrays.stream(testClass.getMethods()).filter(m -> m.getName() == testInfo.getTestMethod().get().getName()).findFirst().get();
+            var methodInfo = TestMethodCache.getMethod(testClass, testInfo.getTestMethod().get().getName());
             PluginExecutionEngine.preBeforeTest(CURRENT_TEST_RESULT.get(), methodInfo);
             beforeEach();
             PluginExecutionEngine.postBeforeTest(CURRENT_TEST_RESULT.get(), methodInfo);
@@ -76,6 +86,7 @@ public class BaseTest extends UsesPlugins {
         try {
             if (!CONFIGURATION_EXECUTED.get()) {
                 configure();
+                SecretsResolver.prefetch();
                 CONFIGURATION_EXECUTED.set(true);
             }
             var testClass = this.getClass();
@@ -93,7 +104,7 @@ public class BaseTest extends UsesPlugins {
         try {
             var testClass = this.getClass();
             assert testInfo.getTestMethod().isPresent();
-            var methodInfo = testClass.getMethod(testInfo.getTestMethod().get().getName(), testInfo.getTestMethod().get().getParameterTypes());
+            var methodInfo = TestMethodCache.getMethod(testClass, testInfo.getTestMethod().get().getName(), testInfo.getTestMethod().get().getParameterTypes());
             PluginExecutionEngine.preAfterTest(CURRENT_TEST_RESULT.get(), methodInfo); // DEPRECATED, LEFT FOR COMPATIBILITY
             PluginExecutionEngine.preAfterTest(CURRENT_TEST_RESULT.get(), CURRENT_TEST_TIME_RECORD.get(), methodInfo);
             afterEach();
@@ -119,6 +130,25 @@ public class BaseTest extends UsesPlugins {
         }
     }
 
+    /**
+     * Rethrows whatever the before-class run threw, as if it had been invoked directly, instead of letting the FutureTask swallow it.
+     */
+    private static void awaitBeforeClass(FutureTask<Void> beforeClass) throws Exception {
+        try {
+            beforeClass.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
+
     protected String getTestName() {
         return this.testInfo.getTestMethod().get().getName();
     }
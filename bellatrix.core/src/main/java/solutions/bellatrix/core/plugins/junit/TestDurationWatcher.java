@@ -15,15 +15,20 @@ package solutions.bellatrix.core.plugins.junit;
 import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
 import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import solutions.bellatrix.core.tracing.Tracer;
 
 public class TestDurationWatcher implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+    private static final String TEST_BODY_SPAN = "test body";
+
     @Override
     public void beforeTestExecution(ExtensionContext context) {
         BaseTest.CURRENT_TEST_TIME_RECORD.get().setStartTime(System.currentTimeMillis());
+        Tracer.begin(TEST_BODY_SPAN, "test");
     }
 
     @Override
     public void afterTestExecution(ExtensionContext context) {
+        Tracer.end(TEST_BODY_SPAN);
         BaseTest.CURRENT_TEST_TIME_RECORD.get().setEndTime(System.currentTimeMillis());
     }
 }
@@ -15,7 +15,9 @@ package solutions.bellatrix.core.plugins.junit;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.TestWatcher;
 import solutions.bellatrix.core.plugins.PluginExecutionEngine;
+import solutions.bellatrix.core.plugins.TestContext;
 import solutions.bellatrix.core.plugins.TestResult;
+import solutions.bellatrix.core.tracing.Tracer;
 
 import java.util.Optional;
 
@@ -30,6 +32,9 @@ public class TestResultWatcher implements TestWatcher {
             PluginExecutionEngine.postAfterTest(BaseTest.CURRENT_TEST_RESULT.get(), BaseTest.CURRENT_TEST_TIME_RECORD.get(), extensionContext.getTestMethod().get(), throwable);
         } catch (Exception e) {
             PluginExecutionEngine.afterTestFailed(e);
+        } finally {
+            Tracer.endTest(BaseTest.CURRENT_TEST_RESULT.get());
+            TestContext.current().endTest();
         }
     }
 
@@ -43,6 +48,9 @@ public class TestResultWatcher implements TestWatcher {
             PluginExecutionEngine.postAfterTest(BaseTest.CURRENT_TEST_RESULT.get(), BaseTest.CURRENT_TEST_TIME_RECORD.get(), extensionContext.getTestMethod().get(), null);
         } catch (Exception e) {
             PluginExecutionEngine.afterTestFailed(e);
+        } finally {
+            Tracer.endTest(BaseTest.CURRENT_TEST_RESULT.get());
+            TestContext.current().endTest();
         }
     }
 
@@ -56,6 +64,9 @@ public class TestResultWatcher implements TestWatcher {
             PluginExecutionEngine.postAfterTest(BaseTest.CURRENT_TEST_RESULT.get(), BaseTest.CURRENT_TEST_TIME_RECORD.get(), extensionContext.getTestMethod().get(), throwable);
         } catch (Exception e) {
             PluginExecutionEngine.afterTestFailed(e);
+        } finally {
+            Tracer.endTest(BaseTest.CURRENT_TEST_RESULT.get());
+            TestContext.current().endTest();
         }
     }
 
@@ -69,6 +80,9 @@ public class TestResultWatcher implements TestWatcher {
             PluginExecutionEngine.postAfterTest(BaseTest.CURRENT_TEST_RESULT.get(), BaseTest.CURRENT_TEST_TIME_RECORD.get(), extensionContext.getTestMethod().get(), null);
         } catch (Exception e) {
             PluginExecutionEngine.afterTestFailed(e);
+        } finally {
+            Tracer.endTest(BaseTest.CURRENT_TEST_RESULT.get());
+            TestContext.current().endTest();
         }
     }
 }
\ No newline at end of file
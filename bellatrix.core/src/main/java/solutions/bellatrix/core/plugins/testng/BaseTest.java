@@ -15,21 +15,22 @@ package solutions.bellatrix.core.plugins.testng;
 
 import org.testng.ITestResult;
 import org.testng.annotations.*;
+import solutions.bellatrix.core.plugins.ContextValue;
 import solutions.bellatrix.core.plugins.PluginExecutionEngine;
+import solutions.bellatrix.core.plugins.TestContext;
+import solutions.bellatrix.core.plugins.TestMethodCache;
 import solutions.bellatrix.core.plugins.TestResult;
 import solutions.bellatrix.core.plugins.TimeRecord;
 import solutions.bellatrix.core.plugins.UsesPlugins;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import solutions.bellatrix.core.tracing.Tracer;
+import solutions.bellatrix.core.utilities.SecretsResolver;
 
 @Listeners(TestResultListener.class)
 public class BaseTest extends UsesPlugins {
-    static final ThreadLocal<TestResult> CURRENT_TEST_RESULT = new ThreadLocal<>();
-    static final ThreadLocal<TimeRecord> CURRENT_TEST_TIME_RECORD = ThreadLocal.withInitial(TimeRecord::new);
-    private static final ThreadLocal<Boolean> CONFIGURATION_EXECUTED = new ThreadLocal<>();
-    private static final List<String> ALREADY_EXECUTED_BEFORE_CLASSES = Collections.synchronizedList(new ArrayList<>());
+    static final ContextValue<TestResult> CURRENT_TEST_RESULT = ContextValue.testScoped();
+    static final ContextValue<TimeRecord> CURRENT_TEST_TIME_RECORD = ContextValue.testScoped(TimeRecord::new);
+    private static final String TEST_BODY_SPAN = "test body";
+    private static final ContextValue<Boolean> CONFIGURATION_EXECUTED = new ContextValue<>();
 
     public BaseTest() {
 //        try {
@@ -49,6 +50,7 @@ public class BaseTest extends UsesPlugins {
         try {
             if (!CONFIGURATION_EXECUTED.get()) {
                 configure();
+                SecretsResolver.prefetch();
                 CONFIGURATION_EXECUTED.set(true);
             }
             var testClass = this.getClass();
@@ -63,27 +65,25 @@ public class BaseTest extends UsesPlugins {
     @BeforeMethod
     public void beforeMethodCore(ITestResult result) throws Exception {
         try {
-//            var currentTestClassName = this.getClass().getName();
-//            if (!ALREADY_EXECUTED_BEFORE_CLASSES.contains(currentTestClassName)) {
-//                beforeClassCore();
-//                ALREADY_EXECUTED_BEFORE_CLASSES.add(currentTestClassName);
-//            }
-
-            var methodInfo = this.getClass().getMethod(result.getMethod().getMethodName());
+            Tracer.startTest(this.getClass().getSimpleName() + "." + result.getMethod().getMethodName());
+            var methodInfo = TestMethodCache.getMethod(this.getClass(), result.getMethod().getMethodName());
             PluginExecutionEngine.preBeforeTest(CURRENT_TEST_RESULT.get(), methodInfo);
             beforeEach();
             PluginExecutionEngine.postBeforeTest(CURRENT_TEST_RESULT.get(), methodInfo);
         } catch (Exception e) {
             e.printStackTrace();
             PluginExecutionEngine.beforeTestFailed(e);
+        } finally {
+            Tracer.begin(TEST_BODY_SPAN, "test");
         }
     }
 
     @AfterMethod
     public void afterMethodCore(ITestResult result) {
+        Tracer.end(TEST_BODY_SPAN);
         try {
             var testClass = this.getClass();
-            var methodInfo = testClass.getMethod(result.getMethod().getMethodName());
+            var methodInfo = TestMethodCache.getMethod(testClass, result.getMethod().getMethodName());
             PluginExecutionEngine.preAfterTest(CURRENT_TEST_RESULT.get(), methodInfo); // DEPRECATED, LEFT FOR COMPATIBILITY
             PluginExecutionEngine.preAfterTest(CURRENT_TEST_RESULT.get(), CURRENT_TEST_TIME_RECORD.get(), methodInfo);
             afterEach();
@@ -92,6 +92,9 @@ public class BaseTest extends UsesPlugins {
 
         } catch (Exception e) {
             PluginExecutionEngine.afterTestFailed(e);
+        } finally {
+            Tracer.endTest(CURRENT_TEST_RESULT.get());
+            TestContext.current().endTest();
         }
     }
 
@@ -107,21 +110,6 @@ public class BaseTest extends UsesPlugins {
         }
     }
 
-//    public void beforeClassCore() {
-//        try {
-//            if (!CONFIGURATION_EXECUTED.get()) {
-//                configure();
-//                CONFIGURATION_EXECUTED.set(true);
-//            }
-//            var testClass = this.getClass();
-//            PluginExecutionEngine.preBeforeClass(testClass);
-//            beforeAll();
-//            PluginExecutionEngine.postBeforeClass(testClass);
-//        } catch (Exception e) {
-//            PluginExecutionEngine.beforeClassFailed(e);
-//        }
-//    }
-
     protected void configure() {
     }
 
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.tracing;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A timed section of a test, such as a plugin hook, a component action or a driver command.
+ * Closing the span ends it; spans opened inside it on the same thread become its children.
+ */
+public class Span implements AutoCloseable {
+    static final Span NOOP = new Span(null, "", "");
+
+    private final Trace trace;
+    @Getter private final String name;
+    @Getter private final String category;
+    @Getter private final long threadId;
+    @Getter private final String threadName;
+    @Getter private final long startNanos;
+    @Getter private volatile long endNanos;
+    @Getter private volatile boolean isAbandoned;
+    private final Map<String, String> args = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    Span(Trace trace, String name, String category) {
+        this.trace = trace;
+        this.name = name;
+        this.category = category;
+        this.threadId = Thread.currentThread().threadId();
+        this.threadName = Thread.currentThread().getName();
+        this.startNanos = System.nanoTime();
+    }
+
+    public boolean isRecording() {
+        return trace != null;
+    }
+
+    public Span arg(String key, Object value) {
+        if (trace != null) {
+            args.put(key, String.valueOf(value));
+        }
+
+        return this;
+    }
+
+    public Map<String, String> getArgs() {
+        synchronized (args) {
+            return Map.copyOf(args);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (trace != null) {
+            trace.end(this);
+        }
+    }
+
+    boolean finish(long nanos, boolean isAbandoned) {
+        synchronized (this) {
+            if (endNanos != 0) return false;
+
+            this.isAbandoned = isAbandoned;
+            endNanos = Math.max(nanos, startNanos + 1);
+            return true;
+        }
+    }
+}
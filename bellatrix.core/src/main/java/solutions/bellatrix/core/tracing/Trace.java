@@ -0,0 +1,110 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.tracing;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * The spans of one test. Every thread keeps its own stack of open spans, so hooks running on worker threads nest independently.
+ */
+class Trace {
+    @Getter private final String testName;
+    @Getter private final Instant startInstant = Instant.now();
+    @Getter private final long startNanos = System.nanoTime();
+    private final Map<Long, Deque<Span>> openSpans = new ConcurrentHashMap<>();
+    private final List<Span> finishedSpans = Collections.synchronizedList(new ArrayList<>());
+    private final Span root;
+
+    Trace(String testName) {
+        this.testName = testName;
+        this.root = begin(testName, "test");
+    }
+
+    long getStartEpochMicros() {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, startInstant);
+    }
+
+    Span begin(String name, String category) {
+        var span = new Span(this, name, category);
+        openSpans.computeIfAbsent(span.getThreadId(), id -> new ConcurrentLinkedDeque<>()).push(span);
+        return span;
+    }
+
+    void end(Span span) {
+        var now = System.nanoTime();
+        var stack = openSpans.get(span.getThreadId());
+        if (stack != null && stack.contains(span)) {
+            // Spans left open inside this one, e.g. because an action threw before its completion event, end with it.
+            Span top;
+            while ((top = stack.poll()) != null && top != span) {
+                abandon(top, now);
+            }
+        }
+
+        if (span.finish(now, false)) {
+            finishedSpans.add(span);
+        }
+    }
+
+    void endByName(String name) {
+        var stack = openSpans.get(Thread.currentThread().threadId());
+        if (stack == null) return;
+
+        for (var span : stack) {
+            if (span != root && span.getName().equals(name)) {
+                end(span);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Ends every span still open and returns all spans, the test span first.
+     */
+    List<Span> finish(String outcome) {
+        var now = System.nanoTime();
+        for (var stack : openSpans.values()) {
+            Span span;
+            while ((span = stack.poll()) != null) {
+                if (span != root) abandon(span, now);
+            }
+        }
+
+        root.arg("outcome", outcome);
+        root.finish(now, false);
+
+        synchronized (finishedSpans) {
+            var spans = new ArrayList<Span>(finishedSpans.size() + 1);
+            spans.add(root);
+            spans.addAll(finishedSpans);
+            return spans;
+        }
+    }
+
+    private void abandon(Span span, long nanos) {
+        if (span.finish(nanos, true)) {
+            finishedSpans.add(span);
+        }
+    }
+}
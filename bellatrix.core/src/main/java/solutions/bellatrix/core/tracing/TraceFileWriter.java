@@ -0,0 +1,82 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.tracing;
+
+import com.google.gson.GsonBuilder;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes a finished trace as Trace Event format JSON, one complete ("X") event per span.
+ */
+@UtilityClass
+class TraceFileWriter {
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    static Path write(Trace trace, List<Span> spans, String outputDirectory) throws IOException {
+        var directory = Path.of(outputDirectory);
+        Files.createDirectories(directory);
+
+        var pid = ProcessHandle.current().pid();
+        var origin = trace.getStartEpochMicros();
+        var events = new ArrayList<Map<String, Object>>(spans.size() + 8);
+        var namedThreads = new LinkedHashMap<Long, String>();
+        for (var span : spans) {
+            namedThreads.putIfAbsent(span.getThreadId(), span.getThreadName());
+
+            var event = new LinkedHashMap<String, Object>();
+            event.put("name", span.getName());
+            event.put("cat", span.getCategory());
+            event.put("ph", "X");
+            event.put("ts", origin + TimeUnit.NANOSECONDS.toMicros(span.getStartNanos() - trace.getStartNanos()));
+            event.put("dur", Math.max(1, TimeUnit.NANOSECONDS.toMicros(span.getEndNanos() - span.getStartNanos())));
+            event.put("pid", pid);
+            event.put("tid", span.getThreadId());
+
+            var args = new LinkedHashMap<String, Object>(span.getArgs());
+            if (span.isAbandoned()) args.put("abandoned", true);
+            if (!args.isEmpty()) event.put("args", args);
+            events.add(event);
+        }
+
+        namedThreads.forEach((tid, threadName) -> events.add(Map.of(
+                "name", "thread_name", "ph", "M", "pid", pid, "tid", tid, "args", Map.of("name", threadName))));
+
+        var document = new LinkedHashMap<String, Object>();
+        document.put("traceEvents", events);
+        document.put("displayTimeUnit", "ms");
+        document.put("otherData", Map.of("test", trace.getTestName()));
+
+        var fileName = String.format("%s-%s.json", sanitize(trace.getTestName()), FILE_TIMESTAMP.format(trace.getStartInstant()));
+        var file = directory.resolve(fileName);
+        Files.writeString(file, new GsonBuilder().disableHtmlEscaping().create().toJson(document), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static String sanitize(String testName) {
+        var name = testName.replaceAll("[^A-Za-z0-9._-]", "_");
+        return name.length() > 150 ? name.substring(0, 150) : name;
+    }
+}
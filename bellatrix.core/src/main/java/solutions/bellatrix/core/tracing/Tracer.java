@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.tracing;
+
+import lombok.experimental.UtilityClass;
+import solutions.bellatrix.core.configuration.ConfigurationService;
+import solutions.bellatrix.core.plugins.ContextValue;
+import solutions.bellatrix.core.plugins.EventListener;
+import solutions.bellatrix.core.plugins.TestResult;
+import solutions.bellatrix.core.utilities.Log;
+
+import java.util.function.Function;
+
+/**
+ * Records a hierarchical trace of every test: the test itself, plugin hooks, page and component actions and driver commands.
+ * Spans nest by the thread they run on and, when the test ends, the trace is written to the configured output directory
+ * in the Trace Event format, which can be opened in chrome://tracing or ui.perfetto.dev.
+ * Tracing is off unless {@code tracingSettings.isEnabled} is set; while it is off every call here is a cheap no-op.
+ */
+@UtilityClass
+public class Tracer {
+    private static final ContextValue<Trace> CURRENT_TRACE = ContextValue.testScoped();
+    private static volatile TracingSettings settings;
+
+    public static boolean isEnabled() {
+        return getSettings().isEnabled();
+    }
+
+    public static TracingSettings getSettings() {
+        var current = settings;
+        if (current == null) {
+            try {
+                current = ConfigurationService.get(TracingSettings.class);
+            } catch (RuntimeException e) {
+                current = null;
+            }
+
+            if (current == null) current = new TracingSettings();
+            settings = current;
+        }
+
+        return current;
+    }
+
+    public static void startTest(String testName) {
+        if (!isEnabled()) return;
+
+        CURRENT_TRACE.set(new Trace(testName));
+    }
+
+    public static void endTest(TestResult result) {
+        var trace = CURRENT_TRACE.get();
+        if (trace == null) return;
+
+        CURRENT_TRACE.remove();
+        var spans = trace.finish(result != null ? result.name() : "UNKNOWN");
+        try {
+            var file = TraceFileWriter.write(trace, spans, getSettings().getOutputDirectory());
+            Log.debug(() -> String.format("Trace of %s written to %s.", trace.getTestName(), file));
+        } catch (Exception e) {
+            Log.error("Failed to write the trace of %s: %s", trace.getTestName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Opens a span under the innermost open span of the current thread. Use it in try-with-resources.
+     * Returns an inert span when tracing is disabled or no test is running.
+     */
+    public static Span startSpan(String name, String category) {
+        var trace = CURRENT_TRACE.get();
+        if (trace == null) return Span.NOOP;
+
+        return trace.begin(name, category);
+    }
+
+    /**
+     * Opens a span that is ended later by {@link #end(String)}, for actions reported as a pair of events.
+     */
+    public static void begin(String name, String category) {
+        var trace = CURRENT_TRACE.get();
+        if (trace != null) {
+            trace.begin(name, category);
+        }
+    }
+
+    public static void end(String name) {
+        var trace = CURRENT_TRACE.get();
+        if (trace != null) {
+            trace.endByName(name);
+        }
+    }
+
+    /**
+     * Turns a before/after event pair into spans. Nothing is bound while tracing is disabled, so the events keep reporting no listeners.
+     */
+    public static <TArgs> void traceBetween(EventListener<TArgs> begin, EventListener<TArgs> end, String category, Function<TArgs, String> name) {
+        if (!isEnabled()) return;
+
+        begin.addListener(args -> begin(name.apply(args), category));
+        end.addListener(args -> end(name.apply(args)));
+    }
+}
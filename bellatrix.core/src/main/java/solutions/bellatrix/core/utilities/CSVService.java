@@ -14,13 +14,26 @@ package solutions.bellatrix.core.utilities;
 
 import com.opencsv.CSVReader;
 import com.opencsv.CSVReaderBuilder;
+import com.opencsv.bean.CsvBindByName;
 import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import com.opencsv.exceptions.CsvValidationException;
 import org.testng.Assert;
+import solutions.bellatrix.core.utilities.parsing.TypeParser;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class CSVService {
     public static void validateData(String localFile, List<String[]> expectedColumns) throws Exception {
@@ -46,4 +59,204 @@ public class CSVService {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads the data rows one at a time, skipping the header. Close the stream, or consume it fully
+     * inside a try-with-resources block, to release the file.
+     */
+    public static Stream<String[]> streamLines(String filePath) {
+        var rows = RowIterator.open(filePath);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(rows::close);
+    }
+
+    /**
+     * Lazily maps each data row to a new instance of {@code type}, matching header columns to fields
+     * by {@link CsvBindByName#column()} or, case-insensitively, by field name. Values are converted through {@link TypeParser}.
+     * Suitable as a JUnit {@code @MethodSource}, which closes the stream once the tests are done.
+     */
+    public static <T> Stream<T> stream(String filePath, Class<T> type) {
+        var rows = RowIterator.open(filePath);
+        var binding = RowBinding.of(type).forHeader(rows.getHeader());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(binding::bind)
+                .onClose(rows::close);
+    }
+
+    /**
+     * Lazily maps each data row to a new instance of {@code type}, wrapped for a TestNG {@code @DataProvider}.
+     * The file is closed once the last row has been read.
+     */
+    public static <T> Iterator<Object[]> dataProvider(String filePath, Class<T> type) {
+        var rows = RowIterator.open(filePath);
+        var binding = RowBinding.of(type).forHeader(rows.getHeader());
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                return new Object[] { binding.bind(rows.next()) };
+            }
+        };
+    }
+
+    private static class RowIterator implements Iterator<String[]>, Closeable {
+        private final CSVReader csvReader;
+        private final String[] header;
+        private String[] nextRow;
+        private boolean isClosed;
+
+        private RowIterator(CSVReader csvReader) {
+            this.csvReader = csvReader;
+            this.header = readNext();
+            this.nextRow = header == null ? null : readNext();
+            if (nextRow == null) close();
+        }
+
+        static RowIterator open(String filePath) {
+            try {
+                return new RowIterator(new CSVReaderBuilder(Files.newBufferedReader(Path.of(filePath)))
+                        .withFieldAsNull(CSVReaderNullFieldIndicator.EMPTY_SEPARATORS)
+                        .build());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        String[] getHeader() {
+            return header == null ? new String[0] : header;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextRow != null;
+        }
+
+        @Override
+        public String[] next() {
+            if (nextRow == null) throw new NoSuchElementException();
+
+            var row = nextRow;
+            nextRow = readNext();
+            if (nextRow == null) close();
+            return row;
+        }
+
+        @Override
+        public void close() {
+            if (isClosed) return;
+
+            isClosed = true;
+            nextRow = null;
+            try {
+                csvReader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private String[] readNext() {
+            try {
+                return csvReader.readNext();
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            } catch (CsvValidationException e) {
+                close();
+                throw new IllegalStateException(String.format("Invalid CSV line %d.", csvReader.getLinesRead()), e);
+            }
+        }
+    }
+
+    /**
+     * The writable fields of a type, resolved once per type and bound as setter {@link MethodHandle}s.
+     */
+    private static class RowBinding<T> {
+        private static final ClassValue<RowBinding<?>> BINDINGS = new ClassValue<>() {
+            @Override
+            protected RowBinding<?> computeValue(Class<?> type) {
+                return new RowBinding<>(type);
+            }
+        };
+
+        private final Class<T> type;
+        private final Map<String, ColumnSetter> settersByColumn = new HashMap<>();
+
+        private RowBinding(Class<T> type) {
+            this.type = type;
+            for (Class<?> currentType = type; currentType != null && currentType != Object.class; currentType = currentType.getSuperclass()) {
+                for (var field : currentType.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers()) || field.isSynthetic()) continue;
+
+                    var setter = ColumnSetter.of(field);
+                    if (setter == null) continue;
+
+                    var annotation = field.getAnnotation(CsvBindByName.class);
+                    var column = annotation != null && !annotation.column().isBlank() ? annotation.column() : field.getName();
+                    settersByColumn.putIfAbsent(column.trim().toLowerCase(Locale.ROOT), setter);
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> RowBinding<T> of(Class<T> type) {
+            return (RowBinding<T>)BINDINGS.get(type);
+        }
+
+        BoundHeader<T> forHeader(String[] header) {
+            var setters = new ColumnSetter[header.length];
+            for (int i = 0; i < header.length; i++) {
+                setters[i] = header[i] == null ? null : settersByColumn.get(header[i].trim().toLowerCase(Locale.ROOT));
+            }
+
+            return new BoundHeader<>(type, setters);
+        }
+    }
+
+    private record BoundHeader<T>(Class<T> type, ColumnSetter[] setters) {
+        T bind(String[] row) {
+            T instance;
+            try {
+                instance = ConstructorCache.newInstance(type);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(String.format("%s needs a public no-argument constructor to be read from CSV.", type.getName()), e);
+            }
+
+            var columns = Math.min(row.length, setters.length);
+            for (int i = 0; i < columns; i++) {
+                if (setters[i] != null && row[i] != null) {
+                    setters[i].set(instance, row[i]);
+                }
+            }
+
+            return instance;
+        }
+    }
+
+    private record ColumnSetter(Field field, Class<?> valueType, MethodHandle setter) {
+        private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+        static ColumnSetter of(Field field) {
+            if (!field.trySetAccessible()) return null;
+
+            try {
+                var setter = MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+                return new ColumnSetter(field, MethodType.methodType(field.getType()).wrap().returnType(), setter);
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+
+        void set(Object instance, String value) {
+            try {
+                setter.invokeExact(instance, (Object)TypeParser.parse(value, valueType));
+            } catch (Throwable e) {
+                throw new IllegalArgumentException(String.format("Cannot set %s.%s from CSV value '%s'.",
+                        field.getDeclaringClass().getSimpleName(), field.getName(), value), e);
+            }
+        }
+    }
+}
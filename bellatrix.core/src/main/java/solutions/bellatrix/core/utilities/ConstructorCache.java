@@ -0,0 +1,143 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.utilities;
+
+import lombok.experimental.UtilityClass;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the public constructor matching a set of arguments once per class and argument types,
+ * and invokes it through a pre-bound {@link MethodHandle} instead of reflective lookups on every call.<br>
+ * When several overloads accept the arguments, the most specific one is chosen, as the compiler would.
+ */
+@UtilityClass
+public class ConstructorCache {
+    private static final MethodType GENERIC_FACTORY_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final ClassValue<ClassConstructors> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected ClassConstructors computeValue(Class<?> type) {
+            return new ClassConstructors(type);
+        }
+    };
+
+    /**
+     * @throws IllegalArgumentException if no public constructor accepts the arguments
+     * @throws InstantiationException if the class is abstract
+     * @throws IllegalAccessException if the constructor can't be accessed
+     * @throws InvocationTargetException if the constructor throws a checked exception; unchecked ones are rethrown as they are
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T newInstance(Class<T> classOf, Object... args) throws ReflectiveOperationException {
+        var arguments = args == null ? new Object[0] : args;
+        var factory = CONSTRUCTORS.get(classOf).factoryFor(arguments);
+        try {
+            return (T)factory.invokeExact(arguments);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private static class ClassConstructors {
+        private final Class<?> type;
+        private final List<Constructor<?>> constructors;
+        private final Map<List<Class<?>>, MethodHandle> factories = new ConcurrentHashMap<>();
+
+        ClassConstructors(Class<?> type) {
+            this.type = type;
+            this.constructors = Arrays.asList(type.getConstructors());
+        }
+
+        MethodHandle factoryFor(Object[] args) throws InstantiationException, IllegalAccessException {
+            var argumentTypes = new ArrayList<Class<?>>(args.length);
+            for (var arg : args) {
+                argumentTypes.add(arg == null ? null : arg.getClass());
+            }
+
+            var factory = factories.get(argumentTypes);
+            if (factory == null) {
+                factory = resolve(argumentTypes);
+                factories.putIfAbsent(argumentTypes, factory);
+            }
+
+            return factory;
+        }
+
+        private MethodHandle resolve(List<Class<?>> argumentTypes) throws InstantiationException, IllegalAccessException {
+            if (Modifier.isAbstract(type.getModifiers())) {
+                throw new InstantiationException(type.getName());
+            }
+
+            Constructor<?> constructor = null;
+            for (var candidate : constructors) {
+                if (isMatch(candidate, argumentTypes) && (constructor == null || isMoreSpecific(candidate, constructor))) {
+                    constructor = candidate;
+                }
+            }
+
+            if (constructor == null) {
+                throw new IllegalArgumentException(String.format("No public constructor of %s accepts arguments %s.", type.getName(), argumentTypes));
+            }
+
+            constructor.trySetAccessible();
+            return MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(GENERIC_FACTORY_TYPE);
+        }
+
+        private static boolean isMatch(Constructor<?> constructor, List<Class<?>> argumentTypes) {
+            var parameterTypes = constructor.getParameterTypes();
+            if (parameterTypes.length != argumentTypes.size()) return false;
+
+            for (int i = 0; i < parameterTypes.length; i++) {
+                var argumentType = argumentTypes.get(i);
+                if (argumentType == null) {
+                    if (parameterTypes[i].isPrimitive()) return false;
+                } else if (!wrap(parameterTypes[i]).isAssignableFrom(argumentType)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private static boolean isMoreSpecific(Constructor<?> constructor, Constructor<?> other) {
+            var parameterTypes = constructor.getParameterTypes();
+            var otherParameterTypes = other.getParameterTypes();
+            for (int i = 0; i < parameterTypes.length; i++) {
+                if (!wrap(otherParameterTypes[i]).isAssignableFrom(wrap(parameterTypes[i]))) {
+                    return false;
+                }
+            }
+
+            return !Arrays.equals(parameterTypes, otherParameterTypes);
+        }
+
+        private static Class<?> wrap(Class<?> type) {
+            return MethodType.methodType(type).wrap().returnType();
+        }
+    }
+}
@@ -15,44 +15,353 @@ package solutions.bellatrix.core.utilities;
 
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
+import solutions.bellatrix.core.configuration.ConfigurationService;
 
-import java.io.FileOutputStream;
-import java.net.URL;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Downloads files once and shares them between threads and JVMs.<br>
+ * A download is written next to its target as a .part file and moved into place only when complete and verified.
+ * A file lock serializes concurrent JVMs, interrupted downloads resume from where they stopped, and servers that
+ * accept byte ranges are downloaded over several connections. When {@code downloadSettings.mirrorDirectory} holds a
+ * file with the same name, it is copied from there instead.
+ */
 @UtilityClass
 public class FileDownloader {
+    private static final Map<Path, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+    private static volatile HttpClient httpClient;
+    private static volatile DownloadSettings settings;
+
     @SneakyThrows
     public static void download(String url, String fullFilePath) {
-        var file = Paths.get(fullFilePath).toFile();
-        if (file.exists())
-            return;
-
-        var urlStream = new URL(url).openStream();
-        var readableByteChannel = Channels.newChannel(urlStream);
-        var fileOutputStream = new FileOutputStream(file);
-        fileOutputStream.getChannel().transferFrom(readableByteChannel, 0, Long.MAX_VALUE);
-        urlStream.close();
-        fileOutputStream.close();
+        fetch(url, Paths.get(fullFilePath), null);
     }
 
     @SneakyThrows
     public static String downloadToUsersFolder(String url) {
-        var fileName = Arrays.stream(url.split("/")).reduce((first, second) -> second).orElse(null);
-        var userHomeDir = System.getProperty("user.home");
-        var file = Paths.get(userHomeDir, fileName).toFile();
-        if (file.exists())
-            return file.getPath();
-
-        var urlStream = new URL(url).openStream();
-        var readableByteChannel = Channels.newChannel(urlStream);
-        var fileOutputStream = new FileOutputStream(file);
-        fileOutputStream.getChannel().transferFrom(readableByteChannel, 0, Long.MAX_VALUE);
-        urlStream.close();
-        fileOutputStream.close();
-
-        return file.getPath();
+        var file = Paths.get(System.getProperty("user.home"), getFileName(url));
+        fetch(url, file, null);
+        return file.toString();
+    }
+
+    /**
+     * Downloads the file into the local artifact cache, unless it is already there, and returns its path.
+     */
+    public static String downloadToCache(String url) {
+        return downloadToCache(url, null);
+    }
+
+    /**
+     * Downloads the file into the local artifact cache and verifies its SHA-256 checksum.
+     * Cache entries are keyed by URL and checksum, so a changed checksum never reuses a stale file.
+     */
+    @SneakyThrows
+    public static String downloadToCache(String url, String sha256) {
+        var key = toHex(MessageDigest.getInstance("SHA-256").digest((url + "#" + (sha256 == null ? "" : sha256.toLowerCase(Locale.ROOT))).getBytes(StandardCharsets.UTF_8)));
+        var cacheDirectory = Paths.get(PathNormalizer.normalizePath(getSettings().getCacheDirectory()));
+        var file = cacheDirectory.resolve(key.substring(0, 16)).resolve(getFileName(url));
+        fetch(url, file, sha256);
+        return file.toString();
+    }
+
+    private static void fetch(String url, Path target, String sha256) throws IOException, InterruptedException {
+        if (isComplete(target, sha256)) return;
+
+        target = target.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+
+        // Threads of this JVM wait on the in-process lock; other JVMs wait on the file lock.
+        var processLock = LOCKS.computeIfAbsent(target, path -> new ReentrantLock());
+        processLock.lock();
+        try (var lockChannel = FileChannel.open(target.resolveSibling(target.getFileName() + ".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             var ignored = lockChannel.lock()) {
+            if (isComplete(target, sha256)) return;
+
+            var partFile = target.resolveSibling(target.getFileName() + ".part");
+            if (!copyFromMirror(url, partFile)) {
+                downloadTo(URI.create(url), partFile);
+            }
+
+            if (sha256 != null && !sha256.equalsIgnoreCase(checksum(partFile))) {
+                Files.deleteIfExists(partFile);
+                throw new IllegalStateException(String.format("The checksum of %s doesn't match the expected %s.", url, sha256));
+            }
+
+            try {
+                Files.move(partFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(partFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            processLock.unlock();
+        }
+    }
+
+    private static boolean isComplete(Path target, String sha256) throws IOException {
+        if (!Files.isRegularFile(target)) return false;
+        return sha256 == null || sha256.equalsIgnoreCase(checksum(target));
+    }
+
+    private static boolean copyFromMirror(String url, Path partFile) throws IOException {
+        var mirrorDirectory = getSettings().getMirrorDirectory();
+        if (mirrorDirectory == null || mirrorDirectory.isBlank()) return false;
+
+        var mirroredFile = Paths.get(PathNormalizer.normalizePath(mirrorDirectory), getFileName(url));
+        if (!Files.isRegularFile(mirroredFile)) return false;
+
+        DebugInformation.debugInfo("Copying %s from the mirror %s", getFileName(url), mirroredFile);
+        Files.copy(mirroredFile, partFile, StandardCopyOption.REPLACE_EXISTING);
+        return true;
+    }
+
+    private static void downloadTo(URI uri, Path partFile) throws IOException, InterruptedException {
+        // Probe with a one byte range instead of HEAD, which presigned release URLs often reject.
+        var probe = getHttpClient().send(HttpRequest.newBuilder(uri).header("Range", "bytes=0-0").build(), HttpResponse.BodyHandlers.ofInputStream());
+        probe.body().close();
+        var acceptsRanges = probe.statusCode() == 206;
+        var length = acceptsRanges
+                ? probe.headers().firstValue("Content-Range").map(FileDownloader::parseTotalLength).orElse(-1L)
+                : probe.headers().firstValueAsLong("Content-Length").orElse(-1);
+
+        // Bytes left by an earlier run are only kept if they belong to the same version of the file.
+        var validator = acceptsRanges ? getValidator(probe) : null;
+        var validatorFile = partFile.resolveSibling(partFile.getFileName() + ".validator");
+        var previousValidator = Files.exists(validatorFile) ? Files.readString(validatorFile, StandardCharsets.UTF_8) : null;
+        if (validator == null || !validator.equals(previousValidator)) {
+            deletePartials(partFile);
+            if (validator != null) Files.writeString(validatorFile, validator, StandardCharsets.UTF_8);
+        }
+
+        var parts = acceptsRanges && length > 0 ? (int)Math.min(getSettings().getParallelConnections(), length / Math.max(1, getSettings().getMinimumPartSizeBytes())) : 1;
+        var isRangeHonoured = parts > 1
+                ? downloadInParts(uri, partFile, length, parts, validator)
+                : downloadRange(uri, partFile, 0, length > 0 ? length - 1 : -1, acceptsRanges, validator);
+
+        if (!isRangeHonoured) {
+            // The file changed since the probe, so the server sent all of it instead of the requested range.
+            if (parts > 1) {
+                deletePartials(partFile);
+                downloadRange(uri, partFile, 0, -1, false, null);
+            }
+        } else if (length > 0 && Files.size(partFile) != length) {
+            var downloaded = Files.size(partFile);
+            deletePartials(partFile);
+            throw new IOException(String.format("Downloaded %d of %d bytes from %s.", downloaded, length, uri));
+        }
+
+        Files.deleteIfExists(validatorFile);
+    }
+
+    /**
+     * Returns the strong ETag or, without one, the Last-Modified date of the response, suitable for If-Range.
+     */
+    private static String getValidator(HttpResponse<?> response) {
+        var eTag = response.headers().firstValue("ETag").filter(value -> !value.startsWith("W/"));
+        return eTag.or(() -> response.headers().firstValue("Last-Modified")).orElse(null);
+    }
+
+    /**
+     * Deletes the .part file together with its chunk and validator files.
+     */
+    private static void deletePartials(Path partFile) throws IOException {
+        Files.deleteIfExists(partFile);
+        var prefix = partFile.getFileName() + ".";
+        try (var siblings = Files.newDirectoryStream(partFile.getParent(), sibling -> sibling.getFileName().toString().startsWith(prefix))) {
+            for (var sibling : siblings) {
+                Files.deleteIfExists(sibling);
+            }
+        }
+    }
+
+    /**
+     * @return false if a server replied to one of the ranges with the whole file
+     */
+    private static boolean downloadInParts(URI uri, Path partFile, long length, int parts, String validator) throws IOException {
+        var partSize = (length + parts - 1) / parts;
+        var chunkFiles = new ArrayList<Path>(parts);
+        var downloads = new ArrayList<CompletableFuture<Boolean>>(parts);
+        for (int i = 0; i < parts; i++) {
+            var chunkFile = partFile.resolveSibling(String.format("%s.%d-of-%d", partFile.getFileName(), i, parts));
+            var from = i * partSize;
+            var to = Math.min(length, from + partSize) - 1;
+            chunkFiles.add(chunkFile);
+            downloads.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return downloadRange(uri, chunkFile, from, to, true, validator);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(e);
+                }
+            }, DownloadExecutor.INSTANCE));
+        }
+
+        try {
+            CompletableFuture.allOf(downloads.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException uncheckedIOException) throw uncheckedIOException.getCause();
+            throw new IOException(String.format("Downloading %s failed.", uri), e.getCause());
+        }
+
+        if (!downloads.stream().allMatch(CompletableFuture::join)) {
+            return false;
+        }
+
+        try (var output = FileChannel.open(partFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (var chunkFile : chunkFiles) {
+                try (var input = FileChannel.open(chunkFile, StandardOpenOption.READ)) {
+                    var size = input.size();
+                    var position = 0L;
+                    while (position < size) {
+                        position += input.transferTo(position, size - position, output);
+                    }
+                }
+            }
+        }
+
+        for (var chunkFile : chunkFiles) {
+            Files.deleteIfExists(chunkFile);
+        }
+
+        return true;
+    }
+
+    /**
+     * Downloads the inclusive byte range into the file, continuing after the bytes it already holds.
+     * A negative end means the rest of the file. The range is only honoured while the file still matches the validator,
+     * otherwise the server sends the whole file, which then replaces the contents of the file.
+     * @return false if the server sent the whole file instead of the requested range
+     */
+    private static boolean downloadRange(URI uri, Path file, long from, long to, boolean acceptsRanges, String validator) throws IOException, InterruptedException {
+        var existing = acceptsRanges && Files.exists(file) ? Files.size(file) : 0;
+        if (to >= 0 && from + existing > to) return true;
+
+        var request = HttpRequest.newBuilder(uri);
+        if (acceptsRanges) {
+            request.header("Range", String.format("bytes=%d-%s", from + existing, to >= 0 ? String.valueOf(to) : ""));
+            if (validator != null) request.header("If-Range", validator);
+        }
+
+        var response = getHttpClient().send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200 && response.statusCode() != 206) {
+                throw new IOException(String.format("Downloading %s failed with HTTP %d.", uri, response.statusCode()));
+            }
+
+            // A server that ignores the range sends the whole file, so start over.
+            var isResumed = response.statusCode() == 206 && existing > 0;
+            var options = isResumed
+                    ? new StandardOpenOption[] { StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND }
+                    : new StandardOpenOption[] { StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING };
+            try (var output = FileChannel.open(file, options)) {
+                output.transferFrom(Channels.newChannel(body), output.size(), Long.MAX_VALUE);
+            }
+
+            return !acceptsRanges || response.statusCode() == 206;
+        }
+    }
+
+    private static long parseTotalLength(String contentRange) {
+        var total = contentRange.substring(contentRange.lastIndexOf('/') + 1).trim();
+        return total.equals("*") ? -1 : Long.parseLong(total);
+    }
+
+    private static String checksum(Path file) throws IOException {
+        try (var input = Files.newInputStream(file)) {
+            var digest = MessageDigest.getInstance("SHA-256");
+            var buffer = new byte[64 * 1024];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+
+            return toHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    private static String getFileName(String url) {
+        var path = URI.create(url).getPath();
+        return Arrays.stream(path.split("/")).filter(s -> !s.isEmpty()).reduce((first, second) -> second).orElse("download");
+    }
+
+    private static HttpClient getHttpClient() {
+        var client = httpClient;
+        if (client == null) {
+            synchronized (FileDownloader.class) {
+                client = httpClient;
+                if (client == null) {
+                    client = HttpClient.newBuilder()
+                            .followRedirects(HttpClient.Redirect.NORMAL)
+                            .connectTimeout(Duration.ofSeconds(getSettings().getConnectTimeoutSeconds()))
+                            .build();
+                    httpClient = client;
+                }
+            }
+        }
+
+        return client;
+    }
+
+    private static DownloadSettings getSettings() {
+        var current = settings;
+        if (current == null) {
+            try {
+                current = ConfigurationService.get(DownloadSettings.class);
+            } catch (RuntimeException e) {
+                current = null;
+            }
+
+            if (current == null) current = new DownloadSettings();
+            settings = current;
+        }
+
+        return current;
+    }
+
+    private static final class DownloadExecutor {
+        private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            var thread = new Thread(runnable, "bellatrix-download-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 }
@@ -13,7 +13,6 @@
 
 package solutions.bellatrix.core.utilities;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.ParameterizedType;
 
 @SuppressWarnings("unchecked")
@@ -21,8 +20,8 @@ public final class InstanceFactory {
     public static <T> T create(Class<T> classOf) {
         T obj = null;
         try {
-            obj = (T)classOf.getConstructors()[0].newInstance();
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            obj = ConstructorCache.newInstance(classOf);
+        } catch (ReflectiveOperationException e) {
             e.printStackTrace();
         }
         return obj;
@@ -31,8 +30,8 @@ public final class InstanceFactory {
     public static <T> T create(Class<T> classOf, Object... args) {
         T obj = null;
         try {
-            obj = (T)classOf.getConstructors()[0].newInstance(args);
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            obj = ConstructorCache.newInstance(classOf, args);
+        } catch (ReflectiveOperationException e) {
             e.printStackTrace();
         }
         return obj;
@@ -14,30 +14,76 @@ package solutions.bellatrix.core.utilities;
 
 import solutions.bellatrix.core.plugins.EventListener;
 
+import java.util.function.Supplier;
+
 public class Log {
     public final static EventListener<LoggerActionEventArgs> LOGGED_ENTRY = new EventListener<>();
     public final static EventListener<LoggerActionEventArgs> LOGGED_INFO = new EventListener<>();
     public final static EventListener<LoggerActionEventArgs> LOGGED_ERROR = new EventListener<>();
 
+    public static boolean isEnabled(LogLevel level) {
+        return LogWriter.getInstance().isEnabled(level);
+    }
+
+    public static void debug(String format, Object... args) {
+        log(LogLevel.DEBUG, format, args);
+    }
+
+    public static void debug(Supplier<String> messageSupplier) {
+        log(LogLevel.DEBUG, messageSupplier);
+    }
+
     public static void info(String format, Object... args) {
-        String info = format;
-        if (args != null && args.length > 0) {
-            info = String.format(format, args);
-        }
+        log(LogLevel.INFO, format, args);
+    }
 
-        LOGGED_ENTRY.broadcast(new LoggerActionEventArgs(info));
-        LOGGED_INFO.broadcast(new LoggerActionEventArgs(info));
-        System.out.println(info);
+    public static void info(Supplier<String> messageSupplier) {
+        log(LogLevel.INFO, messageSupplier);
     }
 
     public static void error(String format, Object... args) {
-        String error = format;
+        log(LogLevel.ERROR, format, args);
+    }
+
+    public static void error(Supplier<String> messageSupplier) {
+        log(LogLevel.ERROR, messageSupplier);
+    }
+
+    /**
+     * Blocks until every entry logged so far has been written out.
+     */
+    public static void flush() {
+        LogWriter.getInstance().flush();
+    }
+
+    private static void log(LogLevel level, String format, Object... args) {
+        var writer = LogWriter.getInstance();
+        if (!writer.isEnabled(level)) return;
+
+        String entry = format;
         if (args != null && args.length > 0) {
-            error = String.format(format, args);
+            entry = String.format(format, args);
+        }
+
+        publish(writer, level, entry);
+    }
+
+    private static void log(LogLevel level, Supplier<String> messageSupplier) {
+        var writer = LogWriter.getInstance();
+        if (!writer.isEnabled(level)) return;
+
+        publish(writer, level, messageSupplier.get());
+    }
+
+    private static void publish(LogWriter writer, LogLevel level, String entry) {
+        var eventArgs = new LoggerActionEventArgs(entry);
+        LOGGED_ENTRY.broadcast(eventArgs);
+        if (level == LogLevel.ERROR) {
+            LOGGED_ERROR.broadcast(eventArgs);
+        } else {
+            LOGGED_INFO.broadcast(eventArgs);
         }
 
-        LOGGED_ENTRY.broadcast(new LoggerActionEventArgs(error));
-        LOGGED_ERROR.broadcast(new LoggerActionEventArgs(error));
-        System.err.println(error);
+        writer.write(level, entry);
     }
 }
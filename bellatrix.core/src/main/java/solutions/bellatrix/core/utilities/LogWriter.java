@@ -0,0 +1,335 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.utilities;
+
+import solutions.bellatrix.core.configuration.ConfigurationService;
+import solutions.bellatrix.core.configuration.ConfigurationSnapshot;
+import solutions.bellatrix.core.utilities.configuration.LogSettings;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes log records to the console and, optionally, to a rolling file. Records are handed to a single writer thread
+ * through a bounded lock-free queue, which writes them in batches so that test threads never contend on the console.
+ * When the queue is full, the caller waits for room, so records are neither dropped nor written out of order.<br>
+ * The writer is rebuilt from the new settings once {@link ConfigurationService#invalidate()} drops the settings it was created from.
+ */
+class LogWriter {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long FULL_QUEUE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static volatile LogWriter instance;
+    private static boolean isLoadingSettings;
+    private static LogWriter bootstrapInstance;
+
+    private final ConfigurationSnapshot source;
+    private final LogLevel level;
+    private final boolean isAsynchronous;
+    private final int queueCapacity;
+    private final RollingFile rollingFile;
+    private final ConcurrentLinkedQueue<LogRecord> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedRecords = new AtomicInteger();
+    private final Object writeLock = new Object();
+    private volatile boolean isRunning = true;
+    private Thread writerThread;
+    private final Thread shutdownHook = new Thread(this::shutdown, "bellatrix-log-writer-shutdown");
+
+    private LogWriter(LogSettings settings, ConfigurationSnapshot source) {
+        this.source = source;
+        level = LogLevel.fromText(settings.getLevel());
+        isAsynchronous = !Boolean.FALSE.equals(settings.getAsynchronous());
+        queueCapacity = Math.max(1, settings.getQueueCapacity());
+        rollingFile = settings.getFilePath() == null || settings.getFilePath().isBlank() ? null :
+                new RollingFile(Paths.get(settings.getFilePath()), settings.getMaxFileSizeBytes(), settings.getMaxFiles());
+
+        if (isAsynchronous) {
+            writerThread = new Thread(this::run, "bellatrix-log-writer");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        }
+
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    static LogWriter getInstance() {
+        var current = instance;
+        var snapshot = currentSnapshot();
+        if (current != null && current.source == snapshot) {
+            return current;
+        }
+
+        synchronized (LogWriter.class) {
+            if (isLoadingSettings) {
+                // reading the log settings failed and is being reported, before any configured writer exists
+                return getBootstrapInstance();
+            }
+
+            if (instance == null || instance.source != snapshot) {
+                isLoadingSettings = true;
+                try {
+                    var previous = instance;
+                    instance = new LogWriter(loadSettings(snapshot), snapshot);
+                    if (previous != null) {
+                        previous.close();
+                    }
+                } finally {
+                    isLoadingSettings = false;
+                }
+            }
+
+            return instance;
+        }
+    }
+
+    private static ConfigurationSnapshot currentSnapshot() {
+        try {
+            return ConfigurationService.getSnapshot();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static LogWriter getBootstrapInstance() {
+        if (bootstrapInstance == null) {
+            var settings = new LogSettings();
+            settings.setAsynchronous(false);
+            bootstrapInstance = new LogWriter(settings, null);
+        }
+
+        return bootstrapInstance;
+    }
+
+    private static LogSettings loadSettings(ConfigurationSnapshot snapshot) {
+        if (snapshot == null) {
+            return new LogSettings();
+        }
+
+        try {
+            return snapshot.get(LogSettings.class);
+        } catch (RuntimeException e) {
+            return new LogSettings();
+        }
+    }
+
+    boolean isEnabled(LogLevel recordLevel) {
+        return level != LogLevel.OFF && recordLevel.ordinal() >= level.ordinal();
+    }
+
+    void write(LogLevel recordLevel, String message) {
+        var record = new LogRecord(recordLevel, message);
+        if (!isAsynchronous || !isRunning) {
+            writeBatch(new LogRecord[] {record}, 1);
+            return;
+        }
+
+        // writing around a full queue would put the record ahead of older ones, so wait for the writer thread to catch up
+        while (queuedRecords.incrementAndGet() > queueCapacity) {
+            queuedRecords.decrementAndGet();
+            if (!isRunning || !writerThread.isAlive()) {
+                writeBatch(new LogRecord[] {record}, 1);
+                return;
+            }
+
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(FULL_QUEUE_PARK_NANOS);
+        }
+
+        queue.add(record);
+        if (isRunning) {
+            LockSupport.unpark(writerThread);
+        } else {
+            // the writer stopped while the record was being queued, so nobody else will write it
+            drain();
+        }
+    }
+
+    /**
+     * Blocks until every queued record has been written.
+     */
+    void flush() {
+        while (queuedRecords.get() > 0 && writerThread != null && writerThread.isAlive()) {
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+
+        drain();
+    }
+
+    private void run() {
+        while (isRunning) {
+            if (!drain()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private boolean drain() {
+        var batch = new LogRecord[256];
+        boolean hasWritten = false;
+        while (true) {
+            int count = 0;
+            LogRecord record;
+            while (count < batch.length && (record = queue.poll()) != null) {
+                batch[count++] = record;
+            }
+
+            if (count == 0) return hasWritten;
+
+            writeBatch(batch, count);
+            queuedRecords.addAndGet(-count);
+            hasWritten = true;
+        }
+    }
+
+    private void writeBatch(LogRecord[] records, int count) {
+        var out = new StringBuilder();
+        var err = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            var target = records[i].level() == LogLevel.ERROR ? err : out;
+            target.append(records[i].message()).append(System.lineSeparator());
+        }
+
+        synchronized (writeLock) {
+            if (!out.isEmpty()) {
+                System.out.print(out);
+                System.out.flush();
+            }
+
+            if (!err.isEmpty()) {
+                System.err.print(err);
+                System.err.flush();
+            }
+
+            if (rollingFile != null) {
+                for (int i = 0; i < count; i++) {
+                    rollingFile.append(records[i]);
+                }
+
+                rollingFile.flush();
+            }
+        }
+    }
+
+    private void close() {
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // the JVM is already shutting down and the hook will run anyway
+            return;
+        }
+
+        shutdown();
+    }
+
+    private void shutdown() {
+        isRunning = false;
+        if (writerThread != null) {
+            LockSupport.unpark(writerThread);
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        drain();
+        if (rollingFile != null) {
+            synchronized (writeLock) {
+                rollingFile.close();
+            }
+        }
+    }
+
+    private record LogRecord(LogLevel level, String message) {
+    }
+
+    private static class RollingFile {
+        private final Path path;
+        private final long maxFileSizeBytes;
+        private final int maxFiles;
+        private OutputStream writer;
+        private long size;
+
+        RollingFile(Path path, long maxFileSizeBytes, int maxFiles) {
+            this.path = path;
+            this.maxFileSizeBytes = maxFileSizeBytes;
+            this.maxFiles = Math.max(1, maxFiles);
+        }
+
+        void append(LogRecord record) {
+            try {
+                var line = String.format("%s [%s] %s%n", Instant.now(), record.level(), record.message()).getBytes(StandardCharsets.UTF_8);
+                if (writer == null || (size > 0 && size + line.length > maxFileSizeBytes)) {
+                    roll();
+                }
+
+                writer.write(line);
+                size += line.length;
+            } catch (IOException e) {
+                System.err.println("Could not write to log file " + path + ": " + e.getMessage());
+            }
+        }
+
+        void flush() {
+            try {
+                if (writer != null) writer.flush();
+            } catch (IOException e) {
+                System.err.println("Could not flush log file " + path + ": " + e.getMessage());
+            }
+        }
+
+        void close() {
+            try {
+                if (writer != null) writer.close();
+            } catch (IOException e) {
+                System.err.println("Could not close log file " + path + ": " + e.getMessage());
+            }
+        }
+
+        private void roll() throws IOException {
+            if (writer != null) {
+                writer.close();
+                for (int i = maxFiles - 1; i >= 1; i--) {
+                    var source = i == 1 ? path : rolledPath(i - 1);
+                    if (Files.exists(source)) {
+                        Files.move(source, rolledPath(i), StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+            }
+
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+
+            writer = new BufferedOutputStream(Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+            size = Files.size(path);
+        }
+
+        private Path rolledPath(int index) {
+            return path.resolveSibling(path.getFileName() + "." + index);
+        }
+    }
+}
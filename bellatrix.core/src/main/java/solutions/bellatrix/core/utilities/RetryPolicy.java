@@ -0,0 +1,203 @@
+/*
+ * Copyright 2024 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package solutions.bellatrix.core.utilities;
+
+import solutions.bellatrix.core.plugins.TestContext;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Retries an action until it succeeds, the timeout elapses or the attempts run out.
+ * Time is measured with {@link System#nanoTime()}, so wall-clock adjustments do not shorten or stretch waits.
+ * Delays grow by the backoff multiplier up to the maximum interval, optionally spread by jitter.
+ * <br>
+ * The blocking variants park the calling thread between attempts; the async variants hold no thread while waiting
+ * and run every attempt in the caller's {@link TestContext}.
+ */
+public class RetryPolicy {
+    private long timeoutNanos = Long.MAX_VALUE;
+    private int maxAttempts = Integer.MAX_VALUE;
+    private long intervalNanos = TimeUnit.MILLISECONDS.toNanos(500);
+    private long maxIntervalNanos = intervalNanos;
+    private double multiplier = 1;
+    private double jitter;
+    private boolean shouldThrowException = true;
+    private List<Class<? extends Throwable>> exceptionsToIgnore = List.of();
+
+    public static RetryPolicy withTimeout(Duration timeout) {
+        var policy = new RetryPolicy();
+        policy.timeoutNanos = timeout.toNanos();
+        return policy;
+    }
+
+    public static RetryPolicy withMaxAttempts(int maxAttempts) {
+        var policy = new RetryPolicy();
+        policy.maxAttempts = Math.max(1, maxAttempts);
+        return policy;
+    }
+
+    public RetryPolicy pollingEvery(Duration interval) {
+        intervalNanos = Math.max(0, interval.toNanos());
+        maxIntervalNanos = Math.max(maxIntervalNanos, intervalNanos);
+        return this;
+    }
+
+    /**
+     * Multiplies the delay by {@code multiplier} after every failed attempt, never exceeding {@code maxInterval}.
+     */
+    public RetryPolicy backoff(double multiplier, Duration maxInterval) {
+        this.multiplier = Math.max(1, multiplier);
+        this.maxIntervalNanos = Math.max(intervalNanos, maxInterval.toNanos());
+        return this;
+    }
+
+    /**
+     * Randomizes every delay by up to {@code ratio} of its length in either direction, so parallel waits do not poll in lockstep.
+     */
+    public RetryPolicy jitter(double ratio) {
+        jitter = Math.min(1, Math.max(0, ratio));
+        return this;
+    }
+
+    @SafeVarargs
+    public final RetryPolicy ignoring(Class<? extends Throwable>... exceptionsToIgnore) {
+        this.exceptionsToIgnore = Arrays.asList(exceptionsToIgnore);
+        return this;
+    }
+
+    /**
+     * Whether an exception that is not ignored stops the retries and is rethrown. When false, it is retried like an ignored one.
+     */
+    public RetryPolicy shouldThrowException(boolean shouldThrowException) {
+        this.shouldThrowException = shouldThrowException;
+        return this;
+    }
+
+    public boolean run(Runnable action) {
+        return until(() -> {
+            action.run();
+            return true;
+        });
+    }
+
+    public boolean until(BooleanSupplier condition) {
+        var start = System.nanoTime();
+        for (int attempt = 1; ; attempt++) {
+            if (attempt(condition)) return true;
+
+            var delay = nextDelay(attempt, start);
+            if (delay < 0) return false;
+
+            park(delay);
+        }
+    }
+
+    public CompletableFuture<Boolean> runAsync(Runnable action) {
+        return untilAsync(() -> {
+            action.run();
+            return true;
+        });
+    }
+
+    public CompletableFuture<Boolean> untilAsync(BooleanSupplier condition) {
+        var result = new CompletableFuture<Boolean>();
+        var executor = TestContext.current().wrap(AsyncExecutor.INSTANCE);
+        scheduleAttempt(condition, 1, System.nanoTime(), result, executor, executor);
+        return result;
+    }
+
+    private void scheduleAttempt(BooleanSupplier condition, int attempt, long start, CompletableFuture<Boolean> result, Executor executor, Executor contextExecutor) {
+        executor.execute(() -> {
+            if (result.isDone()) return;
+
+            try {
+                if (attempt(condition)) {
+                    result.complete(true);
+                    return;
+                }
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+                return;
+            }
+
+            var delay = nextDelay(attempt, start);
+            if (delay < 0) {
+                result.complete(false);
+            } else {
+                scheduleAttempt(condition, attempt + 1, start, result, CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, contextExecutor), contextExecutor);
+            }
+        });
+    }
+
+    private boolean attempt(BooleanSupplier condition) {
+        try {
+            return condition.getAsBoolean();
+        } catch (Exception e) {
+            var isIgnored = exceptionsToIgnore.stream().anyMatch(exception -> exception.isInstance(e));
+            if (!isIgnored && shouldThrowException) {
+                throw new RuntimeException(e);
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * The delay before the next attempt, cut short at the deadline so the last attempt happens right on it, or -1 when no attempts are left.
+     */
+    private long nextDelay(int attempt, long start) {
+        if (attempt >= maxAttempts) return -1;
+
+        var remaining = timeoutNanos == Long.MAX_VALUE ? Long.MAX_VALUE : timeoutNanos - (System.nanoTime() - start);
+        if (remaining <= 0) return -1;
+
+        var delay = Math.min(intervalNanos * Math.pow(multiplier, attempt - 1), maxIntervalNanos);
+        if (jitter > 0) {
+            delay += delay * jitter * (ThreadLocalRandom.current().nextDouble() * 2 - 1);
+        }
+
+        return Math.min((long)Math.max(0, delay), remaining);
+    }
+
+    private static void park(long nanos) {
+        var deadline = System.nanoTime() + nanos;
+        for (var remaining = nanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.currentThread().isInterrupted()) {
+                throw new RuntimeException(new InterruptedException());
+            }
+        }
+    }
+
+    private static final class AsyncExecutor {
+        private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            var thread = new Thread(runnable, "bellatrix-retry-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -12,33 +12,157 @@
  */
 package solutions.bellatrix.core.utilities;
 
-import java.util.HashMap;
+import solutions.bellatrix.core.configuration.ConfigurationService;
+import solutions.bellatrix.core.utilities.secrets.EnvironmentSecretsProvider;
+import solutions.bellatrix.core.utilities.secrets.SecretsProvider;
+import solutions.bellatrix.core.utilities.secrets.SecretsSettings;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
+/**
+ * Resolves {env_name} placeholders from the configuration through a pluggable {@link SecretsProvider}.<br>
+ * Resolved values are shared by all threads and expire after {@code secretsSettings.cacheTtlSeconds}.
+ * Concurrent lookups of the same secret wait for a single provider call.
+ */
 public class SecretsResolver {
-    private static final ThreadLocal<HashMap<String, String>> CACHED_SECRETS;
-
-    static {
-        CACHED_SECRETS = ThreadLocal.withInitial(HashMap::new);
-        CACHED_SECRETS.set(new HashMap<>());
-    }
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{env_[^{}]+}");
+    private static final Map<String, CachedSecret> CACHED_SECRETS = new ConcurrentHashMap<>();
+    private static volatile SecretsProvider provider = new EnvironmentSecretsProvider();
+    private static volatile SecretsSettings settings;
 
     public static String getSecret(Supplier<String> getConfigValue) {
         return getSecret(getConfigValue.get());
     }
 
     public static String getSecret(String configValue) {
-        if (CACHED_SECRETS.get().containsKey(configValue)) {
-            return CACHED_SECRETS.get().get(configValue);
-        }
-
         if (configValue.contains("env_")) {
-            var envName = configValue.replace("{env_", "").replace("}", "").toLowerCase();
-            String environmentalVariable = System.getenv(envName);
-            CACHED_SECRETS.get().put(configValue, environmentalVariable);
-            return environmentalVariable;
+            return resolve(toSecretName(configValue));
         } else {
             return configValue;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the secret with the given name from the cache, asking the provider only when it is missing or expired.
+     */
+    public static String resolve(String secretName) {
+        try {
+            return getOrLoad(secretName, null).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw e;
+        }
+    }
+
+    /**
+     * Resolves every placeholder found in the loaded configuration in parallel, so tests don't pay for the lookups.
+     * Secrets that are already cached are skipped; failures are left for the first real lookup to report.
+     */
+    public static CompletableFuture<Void> prefetch() {
+        var snapshot = ConfigurationService.getSnapshot();
+        if (!getSettings().isShouldPrefetch()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        var lookups = new ArrayList<CompletableFuture<String>>();
+        for (var placeholder : snapshot.findValues(PLACEHOLDER)) {
+            lookups.add(getOrLoad(toSecretName(placeholder), PrefetchExecutor.INSTANCE).exceptionally(e -> null));
+        }
+
+        return CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new));
+    }
+
+    public static void setProvider(SecretsProvider secretsProvider) {
+        provider = secretsProvider;
+        invalidate();
+    }
+
+    public static void invalidate() {
+        CACHED_SECRETS.clear();
+    }
+
+    private static CompletableFuture<String> getOrLoad(String secretName, Executor executor) {
+        while (true) {
+            var now = System.nanoTime();
+            var cached = CACHED_SECRETS.get(secretName);
+            if (cached != null && !cached.isExpired(now)) {
+                return cached.value();
+            }
+
+            var loading = new CachedSecret(new CompletableFuture<>(), now + getTtlNanos());
+            var isOwner = cached == null ? CACHED_SECRETS.putIfAbsent(secretName, loading) == null : CACHED_SECRETS.replace(secretName, cached, loading);
+            if (isOwner) {
+                if (executor == null) {
+                    load(secretName, loading);
+                } else {
+                    executor.execute(() -> load(secretName, loading));
+                }
+
+                return loading.value();
+            }
+        }
+    }
+
+    private static void load(String secretName, CachedSecret loading) {
+        try {
+            loading.value().complete(provider.getSecret(secretName));
+        } catch (RuntimeException e) {
+            // Failed lookups are not cached, the next call asks the provider again.
+            CACHED_SECRETS.remove(secretName, loading);
+            loading.value().completeExceptionally(e);
+        }
+    }
+
+    private static String toSecretName(String configValue) {
+        return configValue.replace("{env_", "").replace("}", "").toLowerCase();
+    }
+
+    private static long getTtlNanos() {
+        var ttlSeconds = getSettings().getCacheTtlSeconds();
+        return ttlSeconds > 0 ? TimeUnit.SECONDS.toNanos(ttlSeconds) : Long.MAX_VALUE / 2;
+    }
+
+    private static SecretsSettings getSettings() {
+        var current = settings;
+        if (current == null) {
+            try {
+                current = ConfigurationService.get(SecretsSettings.class);
+            } catch (RuntimeException e) {
+                current = null;
+            }
+
+            if (current == null) current = new SecretsSettings();
+            settings = current;
+        }
+
+        return current;
+    }
+
+    private record CachedSecret(CompletableFuture<String> value, long expiresAt) {
+        boolean isExpired(long now) {
+            // A lookup still in flight is never replaced, callers wait for it instead.
+            return value.isDone() && now - expiresAt > 0;
+        }
+    }
+
+    private static final class PrefetchExecutor {
+        private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+        private static final ExecutorService INSTANCE = Executors.newFixedThreadPool(Math.max(1, getSettings().getPrefetchThreads()), runnable -> {
+            var thread = new Thread(runnable, "bellatrix-secrets-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -13,29 +13,30 @@
 
 package solutions.bellatrix.core.utilities;
 
-import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
+import solutions.bellatrix.core.plugins.ContextValue;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 // Based on http://neutrofoton.github.io/blog/2013/08/29/generic-singleton-pattern-in-java/
 // Can be used inside App design pattern.
 @SuppressWarnings("unchecked")
 @UtilityClass
 public class SingletonFactory {
-    private static final ThreadLocal<Map<Class<?>, Object>> mapHolder = ThreadLocal.withInitial(HashMap::new);
+    private static final ContextValue<Map<Class<?>, Object>> mapHolder = ContextValue.withInitial(ConcurrentHashMap::new);
 
-    @SneakyThrows
     public static <T> T getInstance(Class<T> classOf, Object... initargs) {
         try {
-            if (!mapHolder.get().containsKey(classOf)) {
-                T obj = (T)classOf.getConstructors()[0].newInstance(initargs);
+            var instance = mapHolder.get().get(classOf);
+            if (instance == null) {
+                T obj = ConstructorCache.newInstance(classOf, initargs);
                 register(obj);
+                return obj;
             }
 
-            return (T)mapHolder.get().get(classOf);
-        } catch (Exception e) {
+            return (T)instance;
+        } catch (ReflectiveOperationException e) {
             Log.error("Failed to create instance of the object. Exception was: " + e);
             return null;
         }
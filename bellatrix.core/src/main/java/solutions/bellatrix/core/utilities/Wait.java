@@ -14,7 +14,6 @@
 package solutions.bellatrix.core.utilities;
 
 import java.time.Duration;
-import java.util.Arrays;
 
 public class Wait {
     public static void retry(Runnable action, int timesToRetry, long sleepInterval, Class<? extends Throwable> ... exceptionsToIgnore) {
@@ -22,13 +21,11 @@ public class Wait {
     }
 
     public static void retry(Runnable action, int timesToRetry, long sleepInterval, boolean shouldThrowException, Class<? extends Throwable> ... exceptionsToIgnore) {
-        int repeat = 0;
-        while(repeat <= timesToRetry) {
-            repeat ++;
-            if (retry(action, Duration.ofMillis(50), Duration.ofSeconds(sleepInterval), shouldThrowException, exceptionsToIgnore)) {
-                break;
-            }
-        }
+        RetryPolicy.withMaxAttempts(timesToRetry + 1)
+                .pollingEvery(Duration.ofSeconds(sleepInterval))
+                .shouldThrowException(shouldThrowException)
+                .ignoring(exceptionsToIgnore)
+                .run(action);
     }
 
     public static void retry(Runnable action, Class<? extends Throwable> ... exceptionsToIgnore) {
@@ -36,36 +33,11 @@ public class Wait {
     }
 
     public static boolean retry(Runnable action, Duration timeout, Duration sleepInterval, Boolean shouldThrowException, Class<? extends Throwable> ... exceptionsToIgnore) {
-        long start = System.currentTimeMillis();
-        long end = start + timeout.toMillis();
-        boolean shouldThrow = false;
-        Exception exceptionToThrow = null;
-
-        while(System.currentTimeMillis() < end) {
-            try {
-                action.run();
-                return true;
-            } catch(Exception exc) {
-
-                shouldThrow = !(Arrays.stream(exceptionsToIgnore).anyMatch(exception -> exception.isInstance(exc)));
-                if (shouldThrow) {
-                    exceptionToThrow = exc;
-                    if (shouldThrowException) {
-                        break;
-                    }
-                }
-
-                Wait.forMilliseconds(sleepInterval.toMillis());
-            }
-        }
-
-        if (shouldThrow) {
-            if (shouldThrowException) {
-                throw new RuntimeException(exceptionToThrow);
-            }
-        }
-
-        return false;
+        return RetryPolicy.withTimeout(timeout)
+                .pollingEvery(sleepInterval)
+                .shouldThrowException(shouldThrowException)
+                .ignoring(exceptionsToIgnore)
+                .run(action);
     }
 
     public static void retry(Runnable action, Duration sleepInterval, Duration timeout, Class<? extends Throwable> ... exceptionsToIgnore) {
@@ -82,22 +54,10 @@ public class Wait {
     }
 
     public static boolean forConditionUntilTimeout(Comparator condition, long timeoutInMilliseconds, long pollingIntervalInMilliseconds) {
-        boolean isConditionMet = false;
-
-        long startTime = System.currentTimeMillis();
-
-        while (!isConditionMet && (System.currentTimeMillis() - startTime) <= (timeoutInMilliseconds)) {
-            try {
-                if (condition.evaluate()) {
-                    isConditionMet = true;
-                } else {
-                    Thread.sleep(pollingIntervalInMilliseconds);
-                }
-            } catch (Exception ignored) {
-            }
-        }
-
-        return isConditionMet;
+        return RetryPolicy.withTimeout(Duration.ofMillis(timeoutInMilliseconds))
+                .pollingEvery(Duration.ofMillis(pollingIntervalInMilliseconds))
+                .shouldThrowException(false)
+                .until(condition::evaluate);
     }
 
     @FunctionalInterface
@@ -0,0 +1,26 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.utilities.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+public class LogSettings {
+    @Getter @Setter private String level = "info";
+    @Getter @Setter private Boolean asynchronous = true;
+    @Getter @Setter private int queueCapacity = 8192;
+    @Getter @Setter private String filePath;
+    @Getter @Setter private long maxFileSizeBytes = 10 * 1024 * 1024;
+    @Getter @Setter private int maxFiles = 5;
+}
@@ -1,12 +1,12 @@
 package solutions.bellatrix.core.utilities.parsing;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 @SuppressWarnings({"unchecked", "rawtypes"})
 // TODO: RENAME ME
-public class ParsingInstructions<TFrom> extends HashMap<Class<?>, Function<TFrom, ?>> {
+public class ParsingInstructions<TFrom> extends ConcurrentHashMap<Class<?>, Function<TFrom, ?>> {
     public ParsingInstructions() {
         super();
     }
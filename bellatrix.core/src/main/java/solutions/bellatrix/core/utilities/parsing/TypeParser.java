@@ -16,11 +16,16 @@ package solutions.bellatrix.core.utilities.parsing;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -33,27 +38,8 @@ public class TypeParser {
      * Checks for enum fields containing the specified value and prioritizes which enum value to return by the field,
      * instead of the name of the enum value.
      */
-    @SneakyThrows
     public static <T> T parseEnumValue(Object value, Class<T> enumClass) {
-        var fields = enumClass.getDeclaredFields();
-
-        for (T enumConstant : enumClass.getEnumConstants()) {
-            for (var field : fields) {
-                if (field.getClass() == value.getClass()) {
-                    field.setAccessible(true);
-                    Object fieldValue = field.get(enumConstant);
-                    if (fieldValue != null && fieldValue.equals(value)) {
-                        return enumConstant;
-                    }
-                }
-            }
-        }
-        if (value.getClass() == String.class) {
-            return (T) Enum.valueOf((Class<Enum>)enumClass, (String)value);
-        } else {
-            // TODO: EventHandler<> for failing to parse enum.
-            return null;
-        }
+        return (T)ENUM_TABLES.get(enumClass).parse(value);
     }
 
     /**
@@ -61,41 +47,95 @@ public class TypeParser {
      * In case instructions aren't provided, you can provide them dynamically in your code through {@link #instruct(Class, Class, Function)}
      */
     public static <T> T parse(Object value, Class<T> clazz) {
-        var originalClass = value.getClass();
-
         if (clazz == null) {
             throw new IllegalArgumentException("Class cannot be null.");
         }
 
-        Function<Object, T> operation = TypeParser.ALLOWED_OPERATIONS.get(originalClass).get(clazz);
+        return (T)parserFor(value.getClass(), clazz).apply(value);
+    }
+
+    public static <T, V> void instruct(Class<T> fromClass, Class<V> toClass, Function<T, V> instructions) {
+        ALLOWED_OPERATIONS.computeIfAbsent(fromClass, c -> new ParsingInstructions<>()).add(toClass, instructions);
+        PARSERS.remove(fromClass);
+    }
+
+    public static <TFrom> void instruct(Class<TFrom> fromClass, Map.Entry<Class<?>, Function<?, ?>>... entries) {
+        var map = ParsingInstructions.ofEntries(entries);
+
+        ALLOWED_OPERATIONS.computeIfAbsent(fromClass, c -> new ParsingInstructions<>()).putAll(map);
+        PARSERS.remove(fromClass);
+    }
+
+    private static Function parserFor(Class originalClass, Class clazz) {
+        var parsers = PARSERS.computeIfAbsent(originalClass, c -> new ConcurrentHashMap<>());
+        var parser = parsers.get(clazz);
+        if (parser == null) {
+            parser = resolveParser(originalClass, clazz);
+            parsers.put(clazz, parser);
+        }
+
+        return parser;
+    }
+
+    private static Function resolveParser(Class originalClass, Class clazz) {
+        var targetClass = clazz.isPrimitive() ? MethodType.methodType(clazz).wrap().returnType() : clazz;
+        var instructions = ALLOWED_OPERATIONS.get(originalClass);
+        Function operation = instructions != null ? (Function)instructions.get(targetClass) : null;
 
         if (operation != null) {
-            return operation.apply(value);
-        } else if (clazz.isEnum()) {
-            Function<Object, T> enumOperation = x -> TypeParser.parseEnumValue(x, clazz);
-            TypeParser.ALLOWED_OPERATIONS.get(String.class).add(clazz, enumOperation);
-            return enumOperation.apply(value);
+            return operation;
+        } else if (targetClass.isEnum()) {
+            return ENUM_TABLES.get(targetClass)::parse;
         } else {
             throw new IllegalArgumentException("Unsupported class type: " + clazz.getName()
                     + "\nYou can add a custom type parser in " + TypeParser.class.getName());
         }
     }
 
-    public static <T, V> void instruct(Class<T> fromClass, Class<V> toClass, Function<T, V> instructions) {
-        if (ALLOWED_OPERATIONS.containsKey(fromClass)) {
-            ALLOWED_OPERATIONS.get(fromClass).add(toClass, instructions);
-        } else {
-            Objects.requireNonNull(ALLOWED_OPERATIONS.put(fromClass, new ParsingInstructions<>())).add(toClass, instructions);
+    /**
+     * Enum constants indexed by the values of their fields and by their names, built once per enum type.
+     */
+    private static class EnumTable {
+        private final Class enumClass;
+        private final Map<Object, Object> constantsByFieldValue = new HashMap<>();
+        private final Map<String, Object> constantsByName = new HashMap<>();
+
+        @SneakyThrows
+        EnumTable(Class enumClass) {
+            this.enumClass = enumClass;
+            var fields = Arrays.stream(enumClass.getDeclaredFields())
+                    .filter(f -> !f.isEnumConstant() && !f.isSynthetic() && !Modifier.isStatic(f.getModifiers()))
+                    .filter(Field::trySetAccessible)
+                    .toList();
+
+            for (var enumConstant : enumClass.getEnumConstants()) {
+                constantsByName.put(((Enum)enumConstant).name(), enumConstant);
+                for (var field : fields) {
+                    var fieldValue = field.get(enumConstant);
+                    if (fieldValue != null) {
+                        constantsByFieldValue.putIfAbsent(fieldValue, enumConstant);
+                    }
+                }
+            }
         }
-    }
 
-    public static <TFrom> void instruct(Class<TFrom> fromClass, Map.Entry<Class<?>, Function<?, ?>>... entries) {
-        var map = ParsingInstructions.ofEntries(entries);
+        Object parse(Object value) {
+            var enumConstant = constantsByFieldValue.get(value);
+            if (enumConstant != null) {
+                return enumConstant;
+            }
 
-        if (ALLOWED_OPERATIONS.containsKey(fromClass)) {
-            ALLOWED_OPERATIONS.get(fromClass).putAll(map);
-        } else {
-            Objects.requireNonNull(ALLOWED_OPERATIONS.put(fromClass, new ParsingInstructions<>())).putAll(map);
+            if (value instanceof String name) {
+                enumConstant = constantsByName.get(name);
+                if (enumConstant == null) {
+                    throw new IllegalArgumentException("No enum constant " + enumClass.getCanonicalName() + "." + name);
+                }
+
+                return enumConstant;
+            } else {
+                // TODO: EventHandler<> for failing to parse enum.
+                return null;
+            }
         }
     }
 
@@ -237,7 +277,7 @@ public class TypeParser {
      * Instructions for converting from one type to another.<br>
      * You can specify it statically here, or you could add new instructions dynamically via {@link #instruct(Class, Class, Function)}
      */
-    private static Map<Class, ParsingInstructions> ALLOWED_OPERATIONS = Map.ofEntries(
+    private static final Map<Class, ParsingInstructions> ALLOWED_OPERATIONS = new ConcurrentHashMap<>(Map.ofEntries(
             Map.entry(String.class, STRING_ALLOWED_OPERATIONS),
             Map.entry(Integer.class, INTEGER_ALLOWED_OPERATIONS),
             Map.entry(Double.class, DOUBLE_ALLOWED_OPERATIONS),
@@ -248,5 +288,17 @@ public class TypeParser {
             Map.entry(Character.class, CHARACTER_ALLOWED_OPERATIONS),
             Map.entry(BigDecimal.class, BIG_DECIMAL_ALLOWED_OPERATIONS),
             Map.entry(BigInteger.class, BIG_INTEGER_ALLOWED_OPERATIONS)
-    );
+    ));
+
+    /**
+     * Parsers resolved per source and target class, including primitive and enum targets, so repeated conversions skip the lookup chain.
+     */
+    private static final Map<Class, Map<Class, Function>> PARSERS = new ConcurrentHashMap<>();
+
+    private static final ClassValue<EnumTable> ENUM_TABLES = new ClassValue<>() {
+        @Override
+        protected EnumTable computeValue(Class<?> type) {
+            return new EnumTable(type);
+        }
+    };
 }
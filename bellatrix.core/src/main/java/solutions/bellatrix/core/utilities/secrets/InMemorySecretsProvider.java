@@ -0,0 +1,41 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.utilities.secrets;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps secrets in memory. Useful in tests and for local runs that should not depend on a vault.
+ */
+public class InMemorySecretsProvider implements SecretsProvider {
+    private final Map<String, String> secrets = new ConcurrentHashMap<>();
+
+    public InMemorySecretsProvider() {
+    }
+
+    public InMemorySecretsProvider(Map<String, String> secrets) {
+        this.secrets.putAll(secrets);
+    }
+
+    public InMemorySecretsProvider put(String name, String value) {
+        secrets.put(name, value);
+        return this;
+    }
+
+    @Override
+    public String getSecret(String name) {
+        return secrets.get(name);
+    }
+}
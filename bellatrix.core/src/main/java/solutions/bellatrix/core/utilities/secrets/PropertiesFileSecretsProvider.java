@@ -0,0 +1,59 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.core.utilities.secrets;
+
+import lombok.SneakyThrows;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Reads secrets from a local properties file, loaded once on first use.
+ */
+public class PropertiesFileSecretsProvider implements SecretsProvider {
+    private final Path file;
+    private volatile Properties secrets;
+
+    public PropertiesFileSecretsProvider(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public String getSecret(String name) {
+        return getSecrets().getProperty(name);
+    }
+
+    @SneakyThrows
+    private Properties getSecrets() {
+        var current = secrets;
+        if (current == null) {
+            synchronized (this) {
+                current = secrets;
+                if (current == null) {
+                    current = new Properties();
+                    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                        current.load(reader);
+                    }
+
+                    secrets = current;
+                }
+            }
+        }
+
+        return current;
+    }
+}
@@ -14,9 +14,12 @@
 package layout;
 
 import lombok.Getter;
+import lombok.SneakyThrows;
 import org.testng.Assert;
+import solutions.bellatrix.core.configuration.ConfigurationService;
 import solutions.bellatrix.core.plugins.EventListener;
 
+import java.util.function.BooleanSupplier;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
@@ -24,13 +27,19 @@ public class FinishValidationBuilder {
     public final static EventListener<LayoutValidationEventArgs> VALIDATED_COMPONENT_LAYOUT = new EventListener<>();
 
     @Getter private final Predicate comparingFunction;
-    private String notificationMessage;
-    private String failedAssertionMessage;
+    private Supplier<String> notificationMessageFunction = () -> null;
+    private Supplier<String> failedAssertionMessageFunction = () -> null;
+    private Runnable refreshFunction = () -> {};
 
     public FinishValidationBuilder(Predicate comparingFunction, Supplier<String> notificationMessageFunction, Supplier<String> failedAssertionMessageFunction) {
         this.comparingFunction = comparingFunction;
-        this.notificationMessage = notificationMessageFunction.get();
-        this.failedAssertionMessage = failedAssertionMessageFunction.get();
+        this.notificationMessageFunction = notificationMessageFunction;
+        this.failedAssertionMessageFunction = failedAssertionMessageFunction;
+    }
+
+    public FinishValidationBuilder(Predicate comparingFunction, Supplier<String> notificationMessageFunction, Supplier<String> failedAssertionMessageFunction, Runnable refreshFunction) {
+        this(comparingFunction, notificationMessageFunction, failedAssertionMessageFunction);
+        this.refreshFunction = refreshFunction;
     }
 
     public FinishValidationBuilder(Predicate comparingFunction) {
@@ -38,7 +47,34 @@ public class FinishValidationBuilder {
     }
 
     public void validate() {
-        Assert.assertTrue(comparingFunction.test(true), failedAssertionMessage);
-        VALIDATED_COMPONENT_LAYOUT.broadcast(new LayoutValidationEventArgs(notificationMessage));
+        if (!evaluate(() -> comparingFunction.test(true), refreshFunction)) {
+            Assert.fail(failedAssertionMessageFunction.get());
+        }
+
+        VALIDATED_COMPONENT_LAYOUT.broadcast(() -> new LayoutValidationEventArgs(notificationMessageFunction.get()));
+    }
+
+    /**
+     * Evaluates the condition, re-capturing the geometry and trying again while the layout may still be settling.
+     */
+    @SneakyThrows
+    static boolean evaluate(BooleanSupplier condition, Runnable refreshFunction) {
+        var settings = getSettings();
+        int retries = settings.getSettleRetries();
+        for (int attempt = 0; ; attempt++) {
+            if (condition.getAsBoolean()) return true;
+            if (attempt >= retries) return false;
+
+            Thread.sleep(settings.getSettleRetryInterval());
+            refreshFunction.run();
+        }
+    }
+
+    private static LayoutSettings getSettings() {
+        try {
+            return ConfigurationService.get(LayoutSettings.class);
+        } catch (RuntimeException e) {
+            return new LayoutSettings();
+        }
     }
 }
@@ -10,189 +10,89 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package layout;
 
+import java.awt.Rectangle;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleBiFunction;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 public abstract class LayoutComponentValidationsBuilder implements LayoutComponent {
     public LayoutPreciseValidationBuilder above(LayoutComponent secondLayoutComponent) {
-        return new LayoutPreciseValidationBuilder(
-                () -> calculateAboveOfDistance(this, secondLayoutComponent),
-                () -> buildNotificationValidationMessage(secondLayoutComponent, LayoutOptions.ABOVE),
-                () -> buildFailedValidationMessage(secondLayoutComponent, LayoutOptions.ABOVE));
+        return relation(secondLayoutComponent, LayoutOptions.ABOVE, this::calculateAboveOfDistance);
     }
 
     public LayoutPreciseValidationBuilder right(LayoutComponent secondLayoutComponent) {
-        return new LayoutPreciseValidationBuilder(
-                () -> calculateRightOfDistance(this, secondLayoutComponent),
-                () -> buildNotificationValidationMessage(secondLayoutComponent, LayoutOptions.RIGHT),
-                () -> buildFailedValidationMessage(secondLayoutComponent, LayoutOptions.RIGHT));
+        return relation(secondLayoutComponent, LayoutOptions.RIGHT, this::calculateRightOfDistance);
     }
 
     public LayoutPreciseValidationBuilder left(LayoutComponent secondLayoutComponent) {
-        return new LayoutPreciseValidationBuilder(
-                () -> calculateLeftOfDistance(this, secondLayoutComponent),
-                () -> buildNotificationValidationMessage(secondLayoutComponent, LayoutOptions.LEFT),
-                () -> buildFailedValidationMessage(secondLayoutComponent, LayoutOptions.LEFT));
+        return relation(secondLayoutComponent, LayoutOptions.LEFT, this::calculateLeftOfDistance);
     }
 
     public LayoutPreciseValidationBuilder below(LayoutComponent secondLayoutComponent) {
-        return new LayoutPreciseValidationBuilder(
-                () -> calculateBelowOfDistance(this, secondLayoutComponent),
-                () -> buildNotificationValidationMessage(secondLayoutComponent, LayoutOptions.BELOW),
-                () -> buildFailedValidationMessage(secondLayoutComponent, LayoutOptions.BELOW));
+        return relation(secondLayoutComponent, LayoutOptions.BELOW, this::calculateBelowOfDistance);
     }
 
     public LayoutPreciseValidationBuilder topInside(LayoutComponent secondLayoutComponent) {
-        return new LayoutPreciseValidationBuilder(
-                () -> calculateTopInsideOfDistance(this, secondLayoutComponent),
-                () -> buildNotificationValidationMessage(secondLayoutComponent, LayoutOptions.TOP_INSIDE),
-                () -> buildFailedValidationMessage(secondLayoutComponent, LayoutOptions.TOP_INSIDE));
+        return relation(secondLayoutComponent, LayoutOptions.TOP_INSIDE, this::calculateTopInsideOfDistance);
     }
 
     public LayoutPreciseValidationBuilder inside(LayoutComponent secondLayoutComponent) {
-        return new LayoutPreciseValidationBuilder(
-                () -> calculateTopInsideOfDistance(this, secondLayoutComponent),
-                () -> buildNotificationValidationMessage(secondLayoutComponent, LayoutOptions.INSIDE),
-                () -> buildFailedValidationMessage(secondLayoutComponent, LayoutOptions.INSIDE));
+        return relation(secondLayoutComponent, LayoutOptions.INSIDE, this::calculateTopInsideOfDistance);
     }
 
     public LayoutPreciseValidationBuilder bottomInside(LayoutComponent secondLayoutComponent) {
-        return new LayoutPreciseValidationBuilder(
-                () -> calculateBottomInsideOfDistance(this, secondLayoutComponent),
-                () -> buildNotificationValidationMessage(secondLayoutComponent, LayoutOptions.BOTTOM_INSIDE),
-                () -> buildFailedValidationMessage(secondLayoutComponent, LayoutOptions.BOTTOM_INSIDE));
+        return relation(secondLayoutComponent, LayoutOptions.BOTTOM_INSIDE, this::calculateBottomInsideOfDistance);
     }
 
     public LayoutPreciseValidationBuilder leftInside(LayoutComponent secondLayoutComponent) {
-        return new LayoutPreciseValidationBuilder(
-                () -> calculateLeftInsideOfDistance(this, secondLayoutComponent),
-                () -> buildNotificationValidationMessage(secondLayoutComponent, LayoutOptions.LEFT_INSIDE),
-                () -> buildFailedValidationMessage(secondLayoutComponent, LayoutOptions.LEFT_INSIDE));
+        return relation(secondLayoutComponent, LayoutOptions.LEFT_INSIDE, this::calculateLeftInsideOfDistance);
     }
 
     public LayoutPreciseValidationBuilder rightInside(LayoutComponent secondLayoutComponent) {
-        return new LayoutPreciseValidationBuilder(
-                () -> calculateRightInsideOfDistance(this, secondLayoutComponent),
-                () -> buildNotificationValidationMessage(secondLayoutComponent, LayoutOptions.RIGHT_INSIDE),
-                () -> buildFailedValidationMessage(secondLayoutComponent, LayoutOptions.RIGHT_INSIDE));
+        return relation(secondLayoutComponent, LayoutOptions.RIGHT_INSIDE, this::calculateRightInsideOfDistance);
     }
 
     public FinishValidationBuilder alignedVerticallyAll(LayoutComponent... layoutComponents) {
-        Integer baseLineRightY = (int)(this.getLocation().getX() + this.getSize().getWidth() / 2);
-        Integer baseLineLeftY = (int)this.getLocation().getX();
-        var comparingComponentsNames = getLayoutComponentsNames(layoutComponents);
-        Predicate combinedPredicate = (s) -> true;
-        Arrays.stream(layoutComponents).forEach(c -> {
-            var rightX = c.getLocation().getX() + c.getSize().getWidth() / 2;
-            var leftX = c.getLocation().getX();
-            combinedPredicate.and((r) -> baseLineRightY.equals(rightX)).and((r) -> baseLineLeftY.equals(leftX));
-        });
-
-        return new FinishValidationBuilder(combinedPredicate,
-                () -> buildNotificationAlignValidationMessage(comparingComponentsNames, baseLineRightY, LayoutOptions.ALIGNED_VERTICALLY_RIGHT) +
-                        buildNotificationAlignValidationMessage(comparingComponentsNames, baseLineLeftY, LayoutOptions.ALIGNED_VERTICALLY_LEFT),
-                () -> buildFailedAlignValidationMessage(comparingComponentsNames, baseLineRightY, LayoutOptions.ALIGNED_VERTICALLY_RIGHT) +
-                        buildFailedAlignValidationMessage(comparingComponentsNames, baseLineLeftY, LayoutOptions.ALIGNED_VERTICALLY_LEFT));
+        return aligned(layoutComponents,
+                new AlignmentLine(LayoutOptions.ALIGNED_VERTICALLY_RIGHT, b -> (int)(b.getX() + b.getWidth() / 2)),
+                new AlignmentLine(LayoutOptions.ALIGNED_VERTICALLY_LEFT, b -> (int)b.getX()));
     }
 
     public FinishValidationBuilder alignedVerticallyCentered(LayoutComponent... layoutComponents) {
-        Integer baseLineRightY = (int)(this.getLocation().getX() + this.getSize().getWidth() / 2);
-        var comparingComponentsNames = getLayoutComponentsNames(layoutComponents);
-        Predicate combinedPredicate = (s) -> true;
-        Arrays.stream(layoutComponents).forEach(c -> {
-            var rightX = c.getLocation().getX() + c.getSize().getWidth() / 2;
-            combinedPredicate.and((r) -> baseLineRightY.equals(rightX));
-        });
-
-        return new FinishValidationBuilder(combinedPredicate,
-                () -> buildNotificationAlignValidationMessage(comparingComponentsNames, baseLineRightY, LayoutOptions.ALIGNED_VERTICALLY_CENTERED),
-                () -> buildFailedAlignValidationMessage(comparingComponentsNames, baseLineRightY, LayoutOptions.ALIGNED_VERTICALLY_CENTERED));
+        return aligned(layoutComponents, new AlignmentLine(LayoutOptions.ALIGNED_VERTICALLY_CENTERED, b -> (int)(b.getX() + b.getWidth() / 2)));
     }
 
     public FinishValidationBuilder alignedVerticallyRight(LayoutComponent... layoutComponents) {
-        Integer baseLineRightY = (int)(this.getLocation().getX() + this.getSize().getWidth());
-        var comparingComponentsNames = getLayoutComponentsNames(layoutComponents);
-        Predicate combinedPredicate = (s) -> true;
-        Arrays.stream(layoutComponents).forEach(c -> {
-            var rightX = c.getLocation().getX() + c.getSize().getWidth();
-            combinedPredicate.and((r) -> baseLineRightY.equals(rightX));
-        });
-
-        return new FinishValidationBuilder(combinedPredicate,
-                () -> buildNotificationAlignValidationMessage(comparingComponentsNames, baseLineRightY, LayoutOptions.ALIGNED_VERTICALLY_RIGHT),
-                () -> buildFailedAlignValidationMessage(comparingComponentsNames, baseLineRightY, LayoutOptions.ALIGNED_VERTICALLY_RIGHT));
+        return aligned(layoutComponents, new AlignmentLine(LayoutOptions.ALIGNED_VERTICALLY_RIGHT, b -> (int)(b.getX() + b.getWidth())));
     }
 
     public FinishValidationBuilder alignedVerticallyLeft(LayoutComponent... layoutComponents) {
-        Integer baseLineLeftY = (int)this.getLocation().getX();
-        var comparingComponentsNames = getLayoutComponentsNames(layoutComponents);
-        Predicate combinedPredicate = (s) -> true;
-        Arrays.stream(layoutComponents).forEach(c -> combinedPredicate.and((r) -> baseLineLeftY.equals(c.getLocation().getX())));
-
-        return new FinishValidationBuilder(combinedPredicate,
-                () -> buildNotificationAlignValidationMessage(comparingComponentsNames, baseLineLeftY, LayoutOptions.ALIGNED_VERTICALLY_LEFT),
-                () -> buildFailedAlignValidationMessage(comparingComponentsNames, baseLineLeftY, LayoutOptions.ALIGNED_VERTICALLY_LEFT));
+        return aligned(layoutComponents, new AlignmentLine(LayoutOptions.ALIGNED_VERTICALLY_LEFT, b -> (int)b.getX()));
     }
 
     public FinishValidationBuilder alignedHorizontallyAll(LayoutComponent... layoutComponents) {
-        Integer baseLineTopY = (int)this.getLocation().getY();
-        Integer baseLineBottomY = (int)(this.getLocation().getY() + this.getSize().getHeight());
-        var comparingComponentsNames = getLayoutComponentsNames(layoutComponents);
-        Predicate combinedPredicate = (s) -> true;
-        Arrays.stream(layoutComponents).forEach(c -> {
-            var topY = c.getLocation().getY();
-            var bottomY = c.getLocation().getY() + c.getSize().getHeight();
-            combinedPredicate.and((r) -> baseLineTopY.equals(topY)).and((r) -> baseLineBottomY.equals(bottomY));
-        });
-
-        return new FinishValidationBuilder(combinedPredicate,
-                () -> buildNotificationAlignValidationMessage(comparingComponentsNames, baseLineTopY, LayoutOptions.ALIGNED_HORIZONTALLY_TOP) +
-                        buildNotificationAlignValidationMessage(comparingComponentsNames, baseLineBottomY, LayoutOptions.ALIGNED_HORIZONTALLY_BOTTOM),
-                () -> buildFailedAlignValidationMessage(comparingComponentsNames, baseLineTopY, LayoutOptions.ALIGNED_HORIZONTALLY_TOP) +
-                        buildFailedAlignValidationMessage(comparingComponentsNames, baseLineBottomY, LayoutOptions.ALIGNED_HORIZONTALLY_BOTTOM));
+        return aligned(layoutComponents,
+                new AlignmentLine(LayoutOptions.ALIGNED_HORIZONTALLY_TOP, b -> (int)b.getY()),
+                new AlignmentLine(LayoutOptions.ALIGNED_HORIZONTALLY_BOTTOM, b -> (int)(b.getY() + b.getHeight())));
     }
 
     public FinishValidationBuilder alignedHorizontallyCentered(LayoutComponent... layoutComponents) {
-        Integer baseLineTopY = (int)(this.getLocation().getY() + this.getSize().getHeight() / 2);
-        var comparingComponentsNames = getLayoutComponentsNames(layoutComponents);
-        Predicate combinedPredicate = (s) -> true;
-        Arrays.stream(layoutComponents).forEach(c -> {
-            var bottomY = c.getLocation().getY() + c.getSize().getHeight() / 2;
-            combinedPredicate.and((r) -> baseLineTopY.equals(bottomY));
-        });
-
-        return new FinishValidationBuilder(combinedPredicate,
-                () -> buildNotificationAlignValidationMessage(comparingComponentsNames, baseLineTopY, LayoutOptions.ALIGNED_HORIZONTALLY_CENTERED),
-                () -> buildFailedAlignValidationMessage(comparingComponentsNames, baseLineTopY, LayoutOptions.ALIGNED_HORIZONTALLY_CENTERED));
+        return aligned(layoutComponents, new AlignmentLine(LayoutOptions.ALIGNED_HORIZONTALLY_CENTERED, b -> (int)(b.getY() + b.getHeight() / 2)));
     }
 
     public FinishValidationBuilder alignedHorizontallyTop(LayoutComponent... layoutComponents) {
-        Integer baseLineTopY = (int)this.getLocation().getY();
-        var comparingComponentsNames = getLayoutComponentsNames(layoutComponents);
-        Predicate combinedPredicate = (s) -> true;
-        Arrays.stream(layoutComponents).forEach(c -> combinedPredicate.and((r) -> baseLineTopY.equals(c.getLocation().getY())));
-
-        return new FinishValidationBuilder(combinedPredicate,
-                () -> buildNotificationAlignValidationMessage(comparingComponentsNames, baseLineTopY, LayoutOptions.ALIGNED_HORIZONTALLY_TOP),
-                () -> buildFailedAlignValidationMessage(comparingComponentsNames, baseLineTopY, LayoutOptions.ALIGNED_HORIZONTALLY_TOP));
+        return aligned(layoutComponents, new AlignmentLine(LayoutOptions.ALIGNED_HORIZONTALLY_TOP, b -> (int)b.getY()));
     }
 
     public FinishValidationBuilder alignedHorizontallyBottom(LayoutComponent... layoutComponents) {
-        Integer baseLineBottomY = (int)(this.getLocation().getY() + this.getSize().getHeight());
-        var comparingComponentsNames = getLayoutComponentsNames(layoutComponents);
-        Predicate combinedPredicate = (s) -> true;
-        Arrays.stream(layoutComponents).forEach(c -> {
-            var bottomY = c.getLocation().getY() + c.getSize().getHeight();
-            combinedPredicate.and((r) -> baseLineBottomY.equals(bottomY));
-        });
-
-        return new FinishValidationBuilder(combinedPredicate,
-                () -> buildNotificationAlignValidationMessage(comparingComponentsNames, baseLineBottomY, LayoutOptions.ALIGNED_HORIZONTALLY_BOTTOM),
-                () -> buildFailedAlignValidationMessage(comparingComponentsNames, baseLineBottomY, LayoutOptions.ALIGNED_HORIZONTALLY_BOTTOM));
+        return aligned(layoutComponents, new AlignmentLine(LayoutOptions.ALIGNED_HORIZONTALLY_BOTTOM, b -> (int)(b.getY() + b.getHeight())));
     }
 
     public LayoutPreciseValidationBuilder height() {
@@ -203,6 +103,59 @@ public abstract class LayoutComponentValidationsBuilder implements LayoutCompone
         return new LayoutPreciseValidationBuilder(this.getSize().getHeight());
     }
 
+    /**
+     * Captures the bounding boxes of all components taking part in a validation at once.
+     */
+    public LayoutGeometrySnapshot captureGeometry(LayoutComponent... layoutComponents) {
+        var components = Arrays.asList(layoutComponents);
+        return new LayoutGeometrySnapshot(components, fetchBoundingBoxes(components));
+    }
+
+    /**
+     * Returns the bounding boxes of the components, in the same order. Override to fetch them with a single call
+     * to the browser instead of one location and one size request per component.
+     */
+    protected List<Rectangle> fetchBoundingBoxes(List<LayoutComponent> layoutComponents) {
+        var boundingBoxes = new ArrayList<Rectangle>(layoutComponents.size());
+        for (var component : layoutComponents) {
+            boundingBoxes.add(new Rectangle(component.getLocation(), component.getSize()));
+        }
+
+        return boundingBoxes;
+    }
+
+    private LayoutPreciseValidationBuilder relation(LayoutComponent secondLayoutComponent, LayoutOptions validationType, ToDoubleBiFunction<Rectangle, Rectangle> calculateDistance) {
+        return new LayoutPreciseValidationBuilder(
+                () -> {
+                    var geometry = captureGeometry(this, secondLayoutComponent);
+                    return calculateDistance.applyAsDouble(geometry.get(this), geometry.get(secondLayoutComponent));
+                },
+                () -> buildNotificationValidationMessage(secondLayoutComponent, validationType),
+                () -> buildFailedValidationMessage(secondLayoutComponent, validationType));
+    }
+
+    private FinishValidationBuilder aligned(LayoutComponent[] layoutComponents, AlignmentLine... lines) {
+        var allComponents = new LayoutComponent[layoutComponents.length + 1];
+        allComponents[0] = this;
+        System.arraycopy(layoutComponents, 0, allComponents, 1, layoutComponents.length);
+
+        var geometry = new AtomicReference<>(captureGeometry(allComponents));
+        var comparingComponentsNames = getLayoutComponentsNames(layoutComponents);
+        Predicate combinedPredicate = (r) -> Arrays.stream(lines).allMatch(line -> {
+            var baseLine = line.position().applyAsInt(geometry.get().get(this));
+            return Arrays.stream(layoutComponents).allMatch(c -> line.position().applyAsInt(geometry.get().get(c)) == baseLine);
+        });
+
+        return new FinishValidationBuilder(combinedPredicate,
+                () -> Arrays.stream(lines)
+                        .map(line -> buildNotificationAlignValidationMessage(comparingComponentsNames, line.position().applyAsInt(geometry.get().get(this)), line.validationType()))
+                        .collect(Collectors.joining()),
+                () -> Arrays.stream(lines)
+                        .map(line -> buildFailedAlignValidationMessage(comparingComponentsNames, line.position().applyAsInt(geometry.get().get(this)), line.validationType()))
+                        .collect(Collectors.joining()),
+                () -> geometry.set(captureGeometry(allComponents)));
+    }
+
     private String getLayoutComponentsNames(LayoutComponent[] layoutComponents) {
         var comparingComponentsNames = Arrays.stream(layoutComponents).skip(0).map(LayoutComponent::getComponentName).collect(Collectors.joining(","));
         return comparingComponentsNames;
@@ -224,35 +177,38 @@ public abstract class LayoutComponentValidationsBuilder implements LayoutCompone
         return String.format("%s should be %s of %s ", this.getComponentName(), validationType, secondLayoutComponent.getComponentName());
     }
 
-    private double calculateRightOfDistance(LayoutComponent component, LayoutComponent secondComponent) {
-        return secondComponent.getLocation().getX() - (component.getLocation().getX() + component.getSize().getWidth());
+    private double calculateRightOfDistance(Rectangle component, Rectangle secondComponent) {
+        return secondComponent.getX() - (component.getX() + component.getWidth());
+    }
+
+    private double calculateLeftOfDistance(Rectangle component, Rectangle secondComponent) {
+        return component.getX() - (secondComponent.getX() + secondComponent.getWidth());
     }
 
-    private double calculateLeftOfDistance(LayoutComponent component, LayoutComponent secondComponent) {
-        return component.getLocation().getX() - (secondComponent.getLocation().getX() + secondComponent.getSize().getWidth());
+    private double calculateAboveOfDistance(Rectangle component, Rectangle secondComponent) {
+        return secondComponent.getY() - (component.getY() + component.getHeight());
     }
 
-    private double calculateAboveOfDistance(LayoutComponent component, LayoutComponent secondComponent) {
-        return secondComponent.getLocation().getY() - (component.getLocation().getY() + component.getSize().getHeight());
+    private double calculateBelowOfDistance(Rectangle component, Rectangle secondComponent) {
+        return component.getY() - (secondComponent.getY() + secondComponent.getHeight());
     }
 
-    private double calculateBelowOfDistance(LayoutComponent component, LayoutComponent secondComponent) {
-        return component.getLocation().getY() - (secondComponent.getLocation().getY() + secondComponent.getSize().getHeight());
+    private double calculateTopInsideOfDistance(Rectangle innerComponent, Rectangle outerComponent) {
+        return innerComponent.getY() - outerComponent.getY();
     }
 
-    private double calculateTopInsideOfDistance(LayoutComponent innerComponent, LayoutComponent outerComponent) {
-        return innerComponent.getLocation().getY() - outerComponent.getLocation().getY();
+    private double calculateBottomInsideOfDistance(Rectangle innerComponent, Rectangle outerComponent) {
+        return (outerComponent.getY() + outerComponent.getHeight()) - (innerComponent.getY() + innerComponent.getHeight());
     }
 
-    private double calculateBottomInsideOfDistance(LayoutComponent innerComponent, LayoutComponent outerComponent) {
-        return (outerComponent.getLocation().getY() + outerComponent.getSize().getHeight()) - (innerComponent.getLocation().getY() + innerComponent.getSize().getHeight());
+    private double calculateLeftInsideOfDistance(Rectangle innerComponent, Rectangle outerComponent) {
+        return innerComponent.getX() - outerComponent.getX();
     }
 
-    private double calculateLeftInsideOfDistance(LayoutComponent innerComponent, LayoutComponent outerComponent) {
-        return innerComponent.getLocation().getX() - outerComponent.getLocation().getX();
+    private double calculateRightInsideOfDistance(Rectangle innerComponent, Rectangle outerComponent) {
+        return (outerComponent.getX() + outerComponent.getWidth()) - (innerComponent.getX() + innerComponent.getWidth());
     }
 
-    private double calculateRightInsideOfDistance(LayoutComponent innerComponent, LayoutComponent outerComponent) {
-        return (outerComponent.getLocation().getX() + outerComponent.getSize().getWidth()) - (innerComponent.getLocation().getX() + innerComponent.getSize().getWidth());
+    private record AlignmentLine(LayoutOptions validationType, ToIntFunction<Rectangle> position) {
     }
 }
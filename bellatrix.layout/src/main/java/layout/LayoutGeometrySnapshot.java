@@ -0,0 +1,41 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package layout;
+
+import java.awt.Rectangle;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounding boxes of the components taking part in a layout validation, captured together so that every
+ * relation in the validation is evaluated against the same state of the page.
+ */
+public class LayoutGeometrySnapshot {
+    private final Map<LayoutComponent, Rectangle> boundingBoxes = new IdentityHashMap<>();
+
+    public LayoutGeometrySnapshot(List<LayoutComponent> components, List<Rectangle> boundingBoxes) {
+        for (int i = 0; i < components.size(); i++) {
+            this.boundingBoxes.put(components.get(i), boundingBoxes.get(i));
+        }
+    }
+
+    public Rectangle get(LayoutComponent component) {
+        var boundingBox = boundingBoxes.get(component);
+        if (boundingBox == null) {
+            throw new IllegalArgumentException(String.format("%s is not part of the layout snapshot.", component.getComponentName()));
+        }
+
+        return boundingBox;
+    }
+}
@@ -22,14 +22,16 @@ public class LayoutPreciseValidationBuilder {
     public final static EventListener<LayoutValidationEventArgs> VALIDATED_COMPONENT_LAYOUT = new EventListener<>();
 
     private double actualDistance;
-    private String notificationMessage;
-    private String failedAssertionMessage;
+    private Supplier<Double> calculateActualDistanceFunction;
+    private Supplier<String> notificationMessageFunction = () -> null;
+    private Supplier<String> failedAssertionMessageFunction = () -> null;
 
     public LayoutPreciseValidationBuilder(Supplier<Double> calculateActualDistanceFunction, Supplier<String> notificationMessageFunction, Supplier<String> failedAssertionMessageFunction) {
+        this.calculateActualDistanceFunction = calculateActualDistanceFunction;
         if (calculateActualDistanceFunction != null)
             actualDistance = calculateActualDistanceFunction.get();
-        notificationMessage = notificationMessageFunction.get();
-        failedAssertionMessage = failedAssertionMessageFunction.get();
+        this.notificationMessageFunction = notificationMessageFunction;
+        this.failedAssertionMessageFunction = failedAssertionMessageFunction;
     }
 
     public LayoutPreciseValidationBuilder(double actualDistance) {
@@ -39,43 +41,56 @@ public class LayoutPreciseValidationBuilder {
     public FinishValidationBuilder equal(int expected) {
         return new FinishValidationBuilder((r) -> actualDistance == expected,
                 () -> buildNotificationValidationMessage(ComparingOperators.EQUAL, expected),
-                () -> buildFailedValidationMessage(ComparingOperators.EQUAL, expected));
+                () -> buildFailedValidationMessage(ComparingOperators.EQUAL, expected),
+                this::refresh);
     }
 
     public FinishValidationBuilder lessThan(int expected) {
         return new FinishValidationBuilder((r) -> actualDistance < expected,
                 () -> buildNotificationValidationMessage(ComparingOperators.LESS_THAN, expected),
-                () -> buildFailedValidationMessage(ComparingOperators.LESS_THAN, expected));
+                () -> buildFailedValidationMessage(ComparingOperators.LESS_THAN, expected),
+                this::refresh);
     }
 
     public FinishValidationBuilder lessThanOrEqual(int expected) {
         return new FinishValidationBuilder((r) -> actualDistance <= expected,
                 () -> buildNotificationValidationMessage(ComparingOperators.LESS_THAN_EQUAL, expected),
-                () -> buildFailedValidationMessage(ComparingOperators.LESS_THAN_EQUAL, expected));
+                () -> buildFailedValidationMessage(ComparingOperators.LESS_THAN_EQUAL, expected),
+                this::refresh);
     }
 
     public FinishValidationBuilder greaterThan(int expected) {
         return new FinishValidationBuilder((r) -> actualDistance > expected,
                 () -> buildNotificationValidationMessage(ComparingOperators.GREATER_THAN, expected),
-                () -> buildFailedValidationMessage(ComparingOperators.GREATER_THAN, expected));
+                () -> buildFailedValidationMessage(ComparingOperators.GREATER_THAN, expected),
+                this::refresh);
     }
 
     public FinishValidationBuilder greaterThanOrEqual(int expected) {
         return new FinishValidationBuilder((r) -> actualDistance >= expected,
                 () -> buildNotificationValidationMessage(ComparingOperators.GREATER_THAN_EQUAL, expected),
-                () -> buildFailedValidationMessage(ComparingOperators.GREATER_THAN_EQUAL, expected));
+                () -> buildFailedValidationMessage(ComparingOperators.GREATER_THAN_EQUAL, expected),
+                this::refresh);
     }
 
     private String buildNotificationValidationMessage(ComparingOperators comparingMessage, int expected) {
-        return String.format("%s%s %d px", notificationMessage, comparingMessage, expected);
+        return String.format("%s%s %d px", notificationMessageFunction.get(), comparingMessage, expected);
     }
 
     private String buildFailedValidationMessage(ComparingOperators comparingMessage, int expected) {
-        return String.format("%s%s %d px", failedAssertionMessage, comparingMessage, expected);
+        return String.format("%s%s %d px", failedAssertionMessageFunction.get(), comparingMessage, expected);
+    }
+
+    private void refresh() {
+        if (calculateActualDistanceFunction != null)
+            actualDistance = calculateActualDistanceFunction.get();
     }
 
     public void validate() {
-        Assert.assertTrue(actualDistance > 0, failedAssertionMessage);
-        VALIDATED_COMPONENT_LAYOUT.broadcast(new LayoutValidationEventArgs(notificationMessage));
+        if (!FinishValidationBuilder.evaluate(() -> actualDistance > 0, this::refresh)) {
+            Assert.fail(failedAssertionMessageFunction.get());
+        }
+
+        VALIDATED_COMPONENT_LAYOUT.broadcast(() -> new LayoutValidationEventArgs(notificationMessageFunction.get()));
     }
 }
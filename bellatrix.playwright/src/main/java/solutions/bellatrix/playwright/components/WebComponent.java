@@ -21,6 +21,7 @@ import com.microsoft.playwright.options.AriaRole;
 import com.microsoft.playwright.options.BoundingBox;
 import com.microsoft.playwright.options.SelectOption;
 import com.microsoft.playwright.options.WaitForSelectorState;
+import layout.LayoutComponent;
 import layout.LayoutComponentValidationsBuilder;
 import lombok.Getter;
 import lombok.Setter;
@@ -54,6 +55,7 @@ import solutions.bellatrix.playwright.utilities.Settings;
 import java.awt.*;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -124,7 +126,7 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
     }
 
     public WebElement getWrappedElement() {
-        RETURNING_WRAPPED_ELEMENT.broadcast(new ComponentActionEventArgs(this));
+        RETURNING_WRAPPED_ELEMENT.broadcast(() -> new ComponentActionEventArgs(this));
         return wrappedElement;
     }
 
@@ -141,27 +143,27 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
     }
 
     public void scrollToVisible() {
-        SCROLLING_TO_VISIBLE.broadcast(new ComponentActionEventArgs(this));
+        SCROLLING_TO_VISIBLE.broadcast(() -> new ComponentActionEventArgs(this));
         getWrappedElement().scrollIntoViewIfNeeded();
-        SCROLLED_TO_VISIBLE.broadcast(new ComponentActionEventArgs(this));
+        SCROLLED_TO_VISIBLE.broadcast(() -> new ComponentActionEventArgs(this));
     }
 
     public void focus() {
-        FOCUSING.broadcast(new ComponentActionEventArgs(this));
+        FOCUSING.broadcast(() -> new ComponentActionEventArgs(this));
         getWrappedElement().focus();
-        FOCUSED.broadcast(new ComponentActionEventArgs(this));
+        FOCUSED.broadcast(() -> new ComponentActionEventArgs(this));
     }
 
     public void hover() {
-        HOVERING.broadcast(new ComponentActionEventArgs(this));
+        HOVERING.broadcast(() -> new ComponentActionEventArgs(this));
         internalHover(null);
-        HOVERED.broadcast(new ComponentActionEventArgs(this));
+        HOVERED.broadcast(() -> new ComponentActionEventArgs(this));
     }
 
     public void hover(Function<Locator.HoverOptions, Locator.HoverOptions> options) {
-        HOVERING.broadcast(new ComponentActionEventArgs(this));
+        HOVERING.broadcast(() -> new ComponentActionEventArgs(this));
         internalHover(HoverOptions.create(options));
-        HOVERED.broadcast(new ComponentActionEventArgs(this));
+        HOVERED.broadcast(() -> new ComponentActionEventArgs(this));
     }
 
     private void internalHover(HoverOptions options) {
@@ -202,12 +204,32 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
 
     @Override
     public Point getLocation() {
-        return new Point((int)getBoundingBox().x, (int)getBoundingBox().y);
+        var boundingBox = getBoundingBox();
+        return new Point((int)boundingBox.x, (int)boundingBox.y);
     }
 
     @Override
     public Dimension getSize() {
-        return new Dimension((int)getBoundingBox().width, (int)getBoundingBox().height);
+        var boundingBox = getBoundingBox();
+        return new Dimension((int)boundingBox.width, (int)boundingBox.height);
+    }
+
+    /**
+     * Reads each component's location and size with a single bounding box request instead of one per coordinate.
+     */
+    @Override
+    protected List<Rectangle> fetchBoundingBoxes(List<LayoutComponent> layoutComponents) {
+        var boundingBoxes = new ArrayList<Rectangle>(layoutComponents.size());
+        for (var component : layoutComponents) {
+            if (component instanceof WebComponent webComponent) {
+                var boundingBox = webComponent.getBoundingBox();
+                boundingBoxes.add(new Rectangle((int)boundingBox.x, (int)boundingBox.y, (int)boundingBox.width, (int)boundingBox.height));
+            } else {
+                boundingBoxes.add(new Rectangle(component.getLocation(), component.getSize()));
+            }
+        }
+
+        return boundingBoxes;
     }
 
     public BoundingBox getBoundingBox() {
@@ -472,47 +494,47 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
     }
 
     protected void defaultClick(ClickOptions options, EventListener<ComponentActionEventArgs> clicking, EventListener<ComponentActionEventArgs> clicked) {
-        clicking.broadcast(new ComponentActionEventArgs(this));
+        clicking.broadcast(() -> new ComponentActionEventArgs(this));
         clickInternal(options);
-        clicked.broadcast(new ComponentActionEventArgs(this));
+        clicked.broadcast(() -> new ComponentActionEventArgs(this));
     }
 
     protected void defaultClick(EventListener<ComponentActionEventArgs> clicking, EventListener<ComponentActionEventArgs> clicked) {
-        clicking.broadcast(new ComponentActionEventArgs(this));
+        clicking.broadcast(() -> new ComponentActionEventArgs(this));
         clickInternal(null);
-        clicked.broadcast(new ComponentActionEventArgs(this));
+        clicked.broadcast(() -> new ComponentActionEventArgs(this));
     }
 
     protected void defaultCheck(EventListener<ComponentActionEventArgs> clicking, EventListener<ComponentActionEventArgs> clicked) {
-        clicking.broadcast(new ComponentActionEventArgs(this));
+        clicking.broadcast(() -> new ComponentActionEventArgs(this));
 
         checkInternal(null);
 
-        clicked.broadcast(new ComponentActionEventArgs(this));
+        clicked.broadcast(() -> new ComponentActionEventArgs(this));
     }
 
     protected void defaultCheck(CheckOptions options, EventListener<ComponentActionEventArgs> clicking, EventListener<ComponentActionEventArgs> clicked) {
-        clicking.broadcast(new ComponentActionEventArgs(this));
+        clicking.broadcast(() -> new ComponentActionEventArgs(this));
 
         checkInternal(options);
 
-        clicked.broadcast(new ComponentActionEventArgs(this));
+        clicked.broadcast(() -> new ComponentActionEventArgs(this));
     }
 
     protected void defaultUncheck(EventListener<ComponentActionEventArgs> checking, EventListener<ComponentActionEventArgs> checked) {
-        checking.broadcast(new ComponentActionEventArgs(this));
+        checking.broadcast(() -> new ComponentActionEventArgs(this));
 
         uncheckInternal(null);
 
-        checked.broadcast(new ComponentActionEventArgs(this));
+        checked.broadcast(() -> new ComponentActionEventArgs(this));
     }
 
     protected void defaultUncheck(UncheckOptions options, EventListener<ComponentActionEventArgs> checking, EventListener<ComponentActionEventArgs> checked) {
-        checking.broadcast(new ComponentActionEventArgs(this));
+        checking.broadcast(() -> new ComponentActionEventArgs(this));
 
         uncheckInternal(options);
 
-        checked.broadcast(new ComponentActionEventArgs(this));
+        checked.broadcast(() -> new ComponentActionEventArgs(this));
     }
 
     public Object evaluate(String script) {
@@ -282,7 +282,7 @@ public class Grid extends WebComponent {
 
         for (int i = 0; i < rowsCount(); i++) {
             var entity = castRow(clazz, i, fieldsNotToCompare);
-            EntitiesAsserter.areEqual(expectedEntities.get(i), entity, fieldsNotToCompare);
+            EntitiesAsserter.assertAreEqual(expectedEntities.get(i), entity, fieldsNotToCompare);
         }
     }
 
@@ -313,7 +313,7 @@ public class Grid extends WebComponent {
                 Method method = this.getClass().getMethod("castRow", int.class, List.class);
                 entity = (TRowObject)method.invoke(this, i, Arrays.stream(propsNotToCompare).toList());
             }
-            EntitiesAsserter.areEqual(expectedEntities.get(i), entity, propsNotToCompare);
+            EntitiesAsserter.assertAreEqual(expectedEntities.get(i), entity, propsNotToCompare);
         }
     }
 
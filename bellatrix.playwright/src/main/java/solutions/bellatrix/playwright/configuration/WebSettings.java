@@ -34,6 +34,7 @@ public class WebSettings {
     private Boolean waitForAngular;
     private Boolean shouldHighlightElements;
     private Boolean shouldCaptureHttpTraffic;
+    private HttpTrafficSettings httpTrafficSettings;
     private Boolean toastNotificationBddLogging;
     private long notificationToastTimeout;
 
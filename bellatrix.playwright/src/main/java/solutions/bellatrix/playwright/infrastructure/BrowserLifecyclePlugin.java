@@ -13,6 +13,7 @@
 
 package solutions.bellatrix.playwright.infrastructure;
 
+import solutions.bellatrix.core.plugins.ContextValue;
 import solutions.bellatrix.core.plugins.Plugin;
 import solutions.bellatrix.core.plugins.TestResult;
 import solutions.bellatrix.core.utilities.DebugInformation;
@@ -22,16 +23,16 @@ import java.lang.reflect.Method;
 import java.util.Objects;
 
 public class BrowserLifecyclePlugin extends Plugin {
-    private static final ThreadLocal<BrowserConfiguration> CURRENT_BROWSER_CONFIGURATION;
-    private static final ThreadLocal<BrowserConfiguration> PREVIOUS_BROWSER_CONFIGURATION;
-    private static final ThreadLocal<Boolean> IS_BROWSER_STARTED_DURING_PRE_BEFORE_CLASS;
-    private static final ThreadLocal<Boolean> IS_BROWSER_STARTED_CORRECTLY;
+    private static final ContextValue<BrowserConfiguration> CURRENT_BROWSER_CONFIGURATION;
+    private static final ContextValue<BrowserConfiguration> PREVIOUS_BROWSER_CONFIGURATION;
+    private static final ContextValue<Boolean> IS_BROWSER_STARTED_DURING_PRE_BEFORE_CLASS;
+    private static final ContextValue<Boolean> IS_BROWSER_STARTED_CORRECTLY;
 
     static {
-        CURRENT_BROWSER_CONFIGURATION = new ThreadLocal<>();
-        PREVIOUS_BROWSER_CONFIGURATION = new ThreadLocal<>();
-        IS_BROWSER_STARTED_DURING_PRE_BEFORE_CLASS = ThreadLocal.withInitial(() -> false);
-        IS_BROWSER_STARTED_CORRECTLY = ThreadLocal.withInitial(() -> false);
+        CURRENT_BROWSER_CONFIGURATION = new ContextValue<>();
+        PREVIOUS_BROWSER_CONFIGURATION = new ContextValue<>();
+        IS_BROWSER_STARTED_DURING_PRE_BEFORE_CLASS = ContextValue.withInitial(() -> false);
+        IS_BROWSER_STARTED_CORRECTLY = ContextValue.withInitial(() -> false);
     }
 
     @Override
@@ -23,12 +23,11 @@ import io.restassured.http.ContentType;
 import lombok.experimental.UtilityClass;
 import org.apache.commons.lang3.NotImplementedException;
 import solutions.bellatrix.core.configuration.ConfigurationService;
+import solutions.bellatrix.core.plugins.ContextValue;
 import solutions.bellatrix.core.utilities.DebugInformation;
 import solutions.bellatrix.core.utilities.TimestampBuilder;
 import solutions.bellatrix.playwright.configuration.GridSettings;
 import solutions.bellatrix.playwright.configuration.WebSettings;
-import solutions.bellatrix.playwright.infrastructure.httptraffic.Requests;
-import solutions.bellatrix.playwright.infrastructure.httptraffic.Responses;
 import solutions.bellatrix.playwright.infrastructure.httptraffic.Traffic;
 import solutions.bellatrix.playwright.utilities.Settings;
 
@@ -44,18 +43,18 @@ import java.util.Properties;
 @SuppressWarnings("ALL")
 @UtilityClass
 public class PlaywrightService {
-    private static final ThreadLocal<Boolean> DISPOSED;
-    private static final ThreadLocal<BrowserConfiguration> BROWSER_CONFIGURATION_THREAD_LOCAL;
-    private static final ThreadLocal<Playwright> PLAYWRIGHT_THREAD_LOCAL;
-    private static final ThreadLocal<WrappedBrowser> BROWSER_WRAPPER_THREAD_LOCAL;
+    private static final ContextValue<Boolean> DISPOSED;
+    private static final ContextValue<BrowserConfiguration> BROWSER_CONFIGURATION_THREAD_LOCAL;
+    private static final ContextValue<Playwright> PLAYWRIGHT_THREAD_LOCAL;
+    private static final ContextValue<WrappedBrowser> BROWSER_WRAPPER_THREAD_LOCAL;
     private static boolean isBuildNameSet = false;
     private static String buildName;
 
     static {
-        DISPOSED = ThreadLocal.withInitial(() -> true);
-        BROWSER_CONFIGURATION_THREAD_LOCAL = new ThreadLocal<>();
-        PLAYWRIGHT_THREAD_LOCAL = new ThreadLocal<>();
-        BROWSER_WRAPPER_THREAD_LOCAL = new ThreadLocal<>();
+        DISPOSED = ContextValue.withInitial(() -> true);
+        BROWSER_CONFIGURATION_THREAD_LOCAL = new ContextValue<>();
+        PLAYWRIGHT_THREAD_LOCAL = new ContextValue<>();
+        BROWSER_WRAPPER_THREAD_LOCAL = new ContextValue<>();
     }
 
     public static WrappedBrowser start(BrowserConfiguration configuration) {
@@ -261,11 +260,7 @@ public class PlaywrightService {
     }
 
     private static void startRecordingHttpTraffic(BrowserContext context) {
-        Traffic.getRequestContainers().add(new Requests(context));
-        context.onRequest(x -> Traffic.getContextSpecificRequests(context).add(x));
-
-        Traffic.getResponseContainers().add(new Responses(context));
-        context.onResponse(x -> Traffic.getContextSpecificResponses(context).add(x));
+        Traffic.startRecording(context, Settings.web().getHttpTrafficSettings());
     }
 
     private static Browser initializeBrowserGridMode(GridSettings gridSettings) {
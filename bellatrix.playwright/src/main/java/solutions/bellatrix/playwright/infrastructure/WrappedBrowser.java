@@ -22,6 +22,7 @@ import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
 import solutions.bellatrix.core.utilities.SingletonFactory;
+import solutions.bellatrix.playwright.infrastructure.httptraffic.Traffic;
 
 @Data
 public class WrappedBrowser {
@@ -47,7 +48,10 @@ public class WrappedBrowser {
     public void close() {
         // Close everything manually
         for (var page : currentContext.pages()) page.close();
-        for (var context : browser.contexts()) context.close();
+        for (var context : browser.contexts()) {
+            context.close();
+            Traffic.release(context);
+        }
         browser.close();
         playwright.close();
     }
@@ -55,6 +59,7 @@ public class WrappedBrowser {
     public void changeContext(BrowserContext context) {
         for (var page : currentContext.pages()) page.close();
         currentContext.close();
+        Traffic.release(currentContext);
 
         setCurrentContext(context);
         setCurrentPage(context.newPage());
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024 Automate The Planet Ltd.
+ * Author: Miriam Kyoseva
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.playwright.infrastructure.httptraffic;
+
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Response;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Metadata of a single request and its response, as kept by {@link TrafficRecorder}.
+ * Bodies are never read eagerly; see {@link #getResponseBody()}.
+ */
+@Getter
+public class RecordedExchange {
+    private final long sequence;
+    private final String url;
+    private final String method;
+    private final String resourceType;
+    private final Request request;
+    private volatile Response response;
+    private volatile int status = -1;
+    private volatile String failure;
+    @Getter(AccessLevel.NONE) private final boolean shouldCacheBody;
+    @Getter(AccessLevel.NONE) private volatile byte[] responseBody;
+
+    RecordedExchange(long sequence, Request request, boolean shouldCacheBody) {
+        this.sequence = sequence;
+        this.request = request;
+        this.url = request.url();
+        this.method = request.method();
+        this.resourceType = request.resourceType();
+        this.shouldCacheBody = shouldCacheBody;
+    }
+
+    void setResponse(Response response) {
+        this.response = response;
+        this.status = response.status();
+    }
+
+    void setFailure(String failure) {
+        this.failure = failure;
+    }
+
+    /**
+     * Reads the response body on demand. When body capture is enabled in the traffic settings the body is kept
+     * after the first read, otherwise it is fetched from the browser on every call.
+     */
+    public byte[] getResponseBody() {
+        if (response == null) return null;
+        if (!shouldCacheBody) return response.body();
+
+        if (responseBody == null) {
+            responseBody = response.body();
+        }
+
+        return responseBody;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%s]%s[%d]", method, url, status);
+    }
+}
@@ -30,6 +30,11 @@ public class Requests {
         requests = new ArrayList<>();
     }
 
+    public Requests(BrowserContext context, List<Request> requests) {
+        this.context = context;
+        this.requests = requests;
+    }
+
     private final BrowserContext context;
     private final List<Request> requests;
 }
@@ -30,6 +30,11 @@ public class Responses {
         responses = new ArrayList<>();
     }
 
+    public Responses(BrowserContext context, List<Response> responses) {
+        this.context = context;
+        this.responses = responses;
+    }
+
     private final BrowserContext context;
     private final List<Response> responses;
 }
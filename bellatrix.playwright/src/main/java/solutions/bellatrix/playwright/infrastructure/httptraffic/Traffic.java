@@ -17,39 +17,58 @@ import com.microsoft.playwright.BrowserContext;
 import com.microsoft.playwright.Request;
 import com.microsoft.playwright.Response;
 import lombok.experimental.UtilityClass;
+import solutions.bellatrix.playwright.configuration.HttpTrafficSettings;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Container for all Requests and Responses captured during testing.
+ * Each recorded browser context gets its own bounded {@link TrafficRecorder}, released when the context is closed.
  */
 @UtilityClass
 public class Traffic {
-    private static final ThreadLocal<List<Requests>> REQUESTS;
-    private static final ThreadLocal<List<Responses>> RESPONSES;
-
-    static {
-        REQUESTS = new ThreadLocal<>();
-        REQUESTS.set(new ArrayList<>());
-        RESPONSES = new ThreadLocal<>();
-        RESPONSES.set(new ArrayList<>());
+    private static final Map<BrowserContext, TrafficRecorder> RECORDERS = new ConcurrentHashMap<>();
+
+    public TrafficRecorder startRecording(BrowserContext context, HttpTrafficSettings settings) {
+        var trafficSettings = settings != null ? settings : new HttpTrafficSettings();
+        var recorder = new TrafficRecorder(context, trafficSettings.getCapacity(), trafficSettings.isCaptureBodies());
+        var previousRecorder = RECORDERS.put(context, recorder);
+        if (previousRecorder != null) {
+            previousRecorder.stop();
+        }
+
+        recorder.start();
+        context.onClose(Traffic::release);
+        return recorder;
+    }
+
+    public void release(BrowserContext context) {
+        var recorder = RECORDERS.remove(context);
+        if (recorder != null) {
+            recorder.stop();
+        }
+    }
+
+    public TrafficRecorder getRecorder(BrowserContext context) {
+        return Objects.requireNonNull(RECORDERS.get(context), "HTTP traffic is not recorded for this browser context. Enable shouldCaptureHttpTraffic in the web settings.");
     }
 
     public List<Requests> getRequestContainers() {
-        return REQUESTS.get();
+        return RECORDERS.values().stream().map(r -> new Requests(r.getContext(), r.getRequests())).toList();
     }
 
     public List<Responses> getResponseContainers() {
-        return RESPONSES.get();
+        return RECORDERS.values().stream().map(r -> new Responses(r.getContext(), r.getResponses())).toList();
     }
 
     public List<Request> getContextSpecificRequests(BrowserContext context) {
-        return Objects.requireNonNull(REQUESTS.get().stream().filter(x -> x.getContext().equals(context)).findFirst().orElse(null)).getRequests();
+        return getRecorder(context).getRequests();
     }
 
     public List<Response> getContextSpecificResponses(BrowserContext context) {
-        return Objects.requireNonNull(RESPONSES.get().stream().filter(x -> x.getContext().equals(context)).findFirst().orElse(null)).getResponses();
+        return getRecorder(context).getResponses();
     }
 }
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2024 Automate The Planet Ltd.
+ * Author: Miriam Kyoseva
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.playwright.infrastructure.httptraffic;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Response;
+import lombok.Getter;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Bounded recorder of the HTTP traffic of a single browser context. Keeps the most recent exchanges in a ring buffer
+ * of fixed capacity, indexed by URL, method and status, and drops the oldest ones when the capacity is exceeded.
+ */
+public class TrafficRecorder {
+    @Getter private final BrowserContext context;
+    @Getter private final int capacity;
+    private final boolean shouldCacheBodies;
+    private final ArrayDeque<RecordedExchange> exchanges = new ArrayDeque<>();
+    private final ArrayDeque<RecordedExchange> respondedExchanges = new ArrayDeque<>();
+    private final Map<String, ArrayDeque<RecordedExchange>> byUrl = new HashMap<>();
+    private final Map<String, ArrayDeque<RecordedExchange>> byMethod = new HashMap<>();
+    private final Map<Integer, ArrayDeque<RecordedExchange>> byStatus = new HashMap<>();
+    private final Map<Request, RecordedExchange> pendingExchanges = new IdentityHashMap<>();
+    private final Consumer<Request> requestHandler = this::onRequest;
+    private final Consumer<Response> responseHandler = this::onResponse;
+    private final Consumer<Request> requestFailedHandler = this::onRequestFailed;
+    private long sequence;
+
+    public TrafficRecorder(BrowserContext context, int capacity, boolean shouldCacheBodies) {
+        this.context = context;
+        this.capacity = Math.max(1, capacity);
+        this.shouldCacheBodies = shouldCacheBodies;
+    }
+
+    void start() {
+        context.onRequest(requestHandler);
+        context.onResponse(responseHandler);
+        context.onRequestFailed(requestFailedHandler);
+    }
+
+    void stop() {
+        context.offRequest(requestHandler);
+        context.offResponse(responseHandler);
+        context.offRequestFailed(requestFailedHandler);
+        clear();
+    }
+
+    private synchronized void onRequest(Request request) {
+        var exchange = new RecordedExchange(sequence++, request, shouldCacheBodies);
+        exchanges.addLast(exchange);
+        pendingExchanges.put(request, exchange);
+        byUrl.computeIfAbsent(exchange.getUrl(), k -> new ArrayDeque<>()).addLast(exchange);
+        byMethod.computeIfAbsent(exchange.getMethod().toUpperCase(Locale.ROOT), k -> new ArrayDeque<>()).addLast(exchange);
+
+        while (exchanges.size() > capacity) {
+            evict(exchanges.removeFirst());
+        }
+    }
+
+    private synchronized void onResponse(Response response) {
+        var exchange = pendingExchanges.remove(response.request());
+        if (exchange == null) return;
+
+        exchange.setResponse(response);
+        respondedExchanges.addLast(exchange);
+        byStatus.computeIfAbsent(exchange.getStatus(), k -> new ArrayDeque<>()).addLast(exchange);
+    }
+
+    private synchronized void onRequestFailed(Request request) {
+        var exchange = pendingExchanges.remove(request);
+        if (exchange != null) {
+            exchange.setFailure(request.failure());
+        }
+    }
+
+    private void evict(RecordedExchange exchange) {
+        pendingExchanges.remove(exchange.getRequest());
+        removeFromIndex(byUrl, exchange.getUrl(), exchange);
+        removeFromIndex(byMethod, exchange.getMethod().toUpperCase(Locale.ROOT), exchange);
+        if (exchange.getResponse() != null) {
+            removeFirstOccurrence(respondedExchanges, exchange);
+            removeFromIndex(byStatus, exchange.getStatus(), exchange);
+        }
+    }
+
+    private static <K> void removeFromIndex(Map<K, ArrayDeque<RecordedExchange>> index, K key, RecordedExchange exchange) {
+        var entries = index.get(key);
+        if (entries == null) return;
+
+        removeFirstOccurrence(entries, exchange);
+        if (entries.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static void removeFirstOccurrence(ArrayDeque<RecordedExchange> entries, RecordedExchange exchange) {
+        // Exchanges are evicted oldest first, so they are almost always at the head of their index.
+        if (entries.peekFirst() == exchange) {
+            entries.removeFirst();
+        } else {
+            entries.removeFirstOccurrence(exchange);
+        }
+    }
+
+    public synchronized List<RecordedExchange> getExchanges() {
+        return new ArrayList<>(exchanges);
+    }
+
+    public synchronized List<Request> getRequests() {
+        return exchanges.stream().map(RecordedExchange::getRequest).toList();
+    }
+
+    public synchronized List<Response> getResponses() {
+        return respondedExchanges.stream().map(RecordedExchange::getResponse).toList();
+    }
+
+    public synchronized int size() {
+        return exchanges.size();
+    }
+
+    public synchronized Request getLastRequest() {
+        var exchange = exchanges.peekLast();
+        return exchange == null ? null : exchange.getRequest();
+    }
+
+    public synchronized Response getLastResponse() {
+        var exchange = respondedExchanges.peekLast();
+        return exchange == null ? null : exchange.getResponse();
+    }
+
+    /**
+     * @param index position among the requests still retained by the recorder
+     */
+    public synchronized Request getRequest(int index) {
+        return getAt(exchanges, index).getRequest();
+    }
+
+    /**
+     * @param index position among the responses still retained by the recorder
+     */
+    public synchronized Response getResponse(int index) {
+        return getAt(respondedExchanges, index).getResponse();
+    }
+
+    public synchronized List<RecordedExchange> findByUrl(String url) {
+        return copyOf(byUrl.get(url));
+    }
+
+    public synchronized List<RecordedExchange> findByMethod(String httpMethod) {
+        return copyOf(byMethod.get(httpMethod.toUpperCase(Locale.ROOT)));
+    }
+
+    public synchronized List<RecordedExchange> findByStatus(int status) {
+        return copyOf(byStatus.get(status));
+    }
+
+    public synchronized RecordedExchange findFirst(String url, String httpMethod) {
+        var entries = byUrl.get(url);
+        if (entries == null) return null;
+
+        return entries.stream().filter(e -> e.getMethod().equalsIgnoreCase(httpMethod)).findFirst().orElse(null);
+    }
+
+    public synchronized boolean anyStatusBetween(int fromInclusive, int toInclusive) {
+        return byStatus.keySet().stream().anyMatch(status -> status >= fromInclusive && status <= toInclusive);
+    }
+
+    public synchronized boolean anyUrlContains(String urlPart) {
+        return byUrl.keySet().stream().anyMatch(url -> url.contains(urlPart));
+    }
+
+    public synchronized void clear() {
+        exchanges.clear();
+        respondedExchanges.clear();
+        byUrl.clear();
+        byMethod.clear();
+        byStatus.clear();
+        pendingExchanges.clear();
+    }
+
+    private static RecordedExchange getAt(ArrayDeque<RecordedExchange> entries, int index) {
+        if (index < 0 || index >= entries.size()) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", index, entries.size()));
+        }
+
+        var iterator = entries.iterator();
+        for (int i = 0; i < index; i++) {
+            iterator.next();
+        }
+
+        return iterator.next();
+    }
+
+    private static List<RecordedExchange> copyOf(ArrayDeque<RecordedExchange> entries) {
+        return entries == null ? List.of() : new ArrayList<>(entries);
+    }
+}
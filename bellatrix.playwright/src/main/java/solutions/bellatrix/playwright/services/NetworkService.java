@@ -19,9 +19,11 @@ import com.microsoft.playwright.Response;
 import com.microsoft.playwright.WebError;
 import org.junit.jupiter.api.Assertions;
 import org.testng.Assert;
+import solutions.bellatrix.playwright.infrastructure.httptraffic.RecordedExchange;
 import solutions.bellatrix.playwright.infrastructure.httptraffic.Requests;
 import solutions.bellatrix.playwright.infrastructure.httptraffic.Responses;
 import solutions.bellatrix.playwright.infrastructure.httptraffic.Traffic;
+import solutions.bellatrix.playwright.infrastructure.httptraffic.TrafficRecorder;
 
 import java.util.List;
 import java.util.function.Consumer;
@@ -77,16 +79,13 @@ public class NetworkService extends WebService {
     }
 
     public static void assertNoErrorCodes() {
-        var responses = Traffic.getContextSpecificResponses(context());
-        var errorCodesPresent = responses.stream().anyMatch(response ->
-                response.status() > 400 && response.status() < 599);
+        var errorCodesPresent = recorder().anyStatusBetween(401, 598);
 
         Assert.assertFalse(errorCodesPresent);
     }
 
     public static void assertRequestMade(String url) {
-        var requests = Traffic.getContextSpecificRequests(context());
-        var areRequestsMade = requests.stream().anyMatch(request -> request.url().contains(url));
+        var areRequestsMade = recorder().anyUrlContains(url);
 
         Assert.assertTrue(areRequestsMade);
     }
@@ -101,37 +100,38 @@ public class NetworkService extends WebService {
     }
 
     public static Request getLastRequest() {
-        var requests = Traffic.getContextSpecificRequests(context());
-        return requests.get(requests.size() - 1);
+        return recorder().getLastRequest();
     }
 
     public static Response getLastResponse() {
-        var responses = Traffic.getContextSpecificResponses(context());
-        return responses.get(responses.size() - 1);
+        return recorder().getLastResponse();
     }
 
     public static Request getRequestByIndex(int index) {
-        return Traffic.getContextSpecificRequests(context()).get(index);
+        return recorder().getRequest(index);
     }
 
     public static Response getResponseByIndex(int index) {
-        return Traffic.getContextSpecificResponses(context()).get(index);
+        return recorder().getResponse(index);
     }
 
     public static Request getRequestByUrl(String url, String httpMethod) {
-        return Traffic.getContextSpecificRequests(context()).stream()
-                .filter(request -> request.url().equals(url) && request.method().equalsIgnoreCase(httpMethod))
-                .findFirst()
-                .orElse(null);
+        var exchange = recorder().findFirst(url, httpMethod);
+        return exchange == null ? null : exchange.getRequest();
     }
 
     public static Response getResponseByUrl(String url, String httpMethod) {
-        return Traffic.getContextSpecificResponses(context()).stream()
-                .filter(response -> response.request().url().equals(url) && response.request().method().equalsIgnoreCase(httpMethod))
+        return recorder().findByUrl(url).stream()
+                .filter(exchange -> exchange.getResponse() != null && exchange.getMethod().equalsIgnoreCase(httpMethod))
+                .map(RecordedExchange::getResponse)
                 .findFirst()
                 .orElse(null);
     }
 
+    public static TrafficRecorder recorder() {
+        return Traffic.getRecorder(context());
+    }
+
     /**
      * Use {@link Traffic}, it provides the same functionality.
      */
@@ -12,8 +12,6 @@
  */
 package plugins.jira.zephyr;
 
-import io.restassured.RestAssured;
-import io.restassured.builder.RequestSpecBuilder;
 import plugins.jira.zephyr.annotations.ZephyrCycleId;
 import plugins.jira.zephyr.annotations.ZephyrProjectId;
 import plugins.jira.zephyr.annotations.ZephyrTestCase;
@@ -24,15 +22,16 @@ import plugins.jira.zephyr.data.ZephyrTestExecutionStatus;
 import plugins.jira.zephyr.events.ZephyrCyclePluginEventArgs;
 import plugins.jira.zephyr.events.ZephyrExecutionPluginEventArgs;
 import plugins.jira.zephyr.services.ZephyrApiService;
+import plugins.jira.zephyr.services.ZephyrPublisher;
 import plugins.jira.zephyr.utilities.DateTimeUtilities;
 import solutions.bellatrix.core.configuration.ConfigurationService;
 import solutions.bellatrix.core.plugins.EventListener;
 import solutions.bellatrix.core.plugins.Plugin;
+import solutions.bellatrix.core.plugins.PluginHook;
 import solutions.bellatrix.core.plugins.TestResult;
 import solutions.bellatrix.core.plugins.TimeRecord;
 
 import java.lang.reflect.Method;
-import java.util.Map;
 
 public class ZephyrPlugin extends Plugin {
     public static final EventListener<ZephyrCyclePluginEventArgs> ZEPHYR_CYCLE_CREATED = new EventListener<>();
@@ -41,16 +40,6 @@ public class ZephyrPlugin extends Plugin {
     public static final EventListener<ZephyrCyclePluginEventArgs> ZEPHYR_CYCLE_STATUS_UPDATE_FAILED = new EventListener<>();
 
     private ZephyrTestCycle testCycle;
-    
-    public ZephyrPlugin() {
-        String authToken = settings().getToken();
-
-        RestAssured.baseURI = settings().getApiUrl();
-        RestAssured.requestSpecification = new RequestSpecBuilder()
-                .addHeader("Authorization", "Bearer " + authToken)
-                .addHeader("Content-Type", "application/json")
-                .build();
-    }
 
     private ZephyrSettings settings() {
         return ConfigurationService.get(ZephyrSettings.class);
@@ -102,6 +91,11 @@ public class ZephyrPlugin extends Plugin {
         }
     }
 
+    @Override
+    public boolean isConcurrent(PluginHook hook) {
+        return hook == PluginHook.POST_AFTER_TEST;
+    }
+
     @Override
     public void postBeforeClass(Class type) {
         if (!isEnabled() || settings().isExistingCycle()) return;
@@ -130,15 +124,7 @@ public class ZephyrPlugin extends Plugin {
             return;
         }
 
-        var response = ZephyrApiService.executeTestCase(testCase);
-
-       var responseBody = response.body().prettyPrint();
-
-        if (response.statusCode() >= 400) {
-            ZEPHYR_TEST_CASE_EXECUTION_FAILED.broadcast(new ZephyrExecutionPluginEventArgs(testCase));
-        }
-
-        ZEPHYR_TEST_CASE_EXECUTED.broadcast(new ZephyrExecutionPluginEventArgs(testCase));
+        ZephyrPublisher.getInstance().publish(testCase);
     }
 
     @Override
@@ -147,10 +133,6 @@ public class ZephyrPlugin extends Plugin {
 
         testCycle.setPlannedEndDate(DateTimeUtilities.getUtcNow());
 
-        var response = ZephyrApiService.changeTestCycleStatus(testCycle);
-
-        if (response.statusCode() >= 400) {
-            ZEPHYR_CYCLE_STATUS_UPDATE_FAILED.broadcast(new ZephyrCyclePluginEventArgs());
-        }
+        ZephyrPublisher.getInstance().completeCycle(testCycle);
     }
 }
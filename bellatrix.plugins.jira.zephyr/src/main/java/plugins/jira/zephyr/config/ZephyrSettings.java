@@ -24,4 +24,10 @@ public final class ZephyrSettings {
     private String testCycleName;
     private String cycleFinalStatus;
     private boolean isExistingCycle;
+    private boolean isAsyncPublishing = true;
+    private int publishBatchSize = 25;
+    private int publishMaxRetries = 3;
+    private long publishRetryBackoffMillis = 500;
+    private long publishShutdownTimeoutSeconds = 30;
+    private String spoolDirectory = "target/zephyr-spool";
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2024 Automate The Planet Ltd.
+ * Author: Miriam Kyoseva
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plugins.jira.zephyr.data;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serializable form of a test execution, as it is posted to Zephyr and written to the local spool.
+ */
+@Getter @NoArgsConstructor @AllArgsConstructor
+public class ZephyrTestExecution {
+    private String projectKey;
+    private String testCycleKey;
+    private String testCaseKey;
+    private String statusName;
+    private int executionTime;
+    private String comment;
+
+    public Map<String, Object> toRequestBody() {
+        var body = new HashMap<String, Object>(Map.of(
+                "projectKey", projectKey,
+                "testCycleKey", testCycleKey,
+                "testCaseKey", testCaseKey,
+                "statusName", statusName,
+                "executionTime", executionTime
+        ));
+
+        if (comment != null) {
+            body.put("comment", comment);
+        }
+
+        return body;
+    }
+
+    public ZephyrTestCase toTestCase() {
+        return new ZephyrTestCase(projectKey, testCycleKey, testCaseKey, statusName, executionTime, null);
+    }
+}
@@ -12,28 +12,56 @@
  */
 package plugins.jira.zephyr.services;
 
+import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.mapper.ObjectMapperType;
 import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 import lombok.experimental.UtilityClass;
 import org.apache.commons.text.StringEscapeUtils;
 import plugins.jira.zephyr.config.ZephyrSettings;
 import plugins.jira.zephyr.data.ZephyrTestCycle;
 import plugins.jira.zephyr.data.ZephyrTestCycleStatus;
+import plugins.jira.zephyr.data.ZephyrTestExecution;
 import solutions.bellatrix.core.configuration.ConfigurationService;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static io.restassured.RestAssured.given;
 
 @UtilityClass
 public class ZephyrApiService {
+    private static final Map<String, String> PROJECT_IDS = new ConcurrentHashMap<>();
+    private static final Map<String, List<Map<String, Object>>> STATUSES = new ConcurrentHashMap<>();
+    private static volatile RequestSpecification requestSpecification;
+
     private ZephyrSettings settings() {
         return ConfigurationService.get(ZephyrSettings.class);
     }
 
+    /**
+     * Request specification scoped to the Zephyr API, so the plugin does not override the global RestAssured
+     * configuration used by the tests themselves.
+     */
+    private RequestSpecification request() {
+        if (requestSpecification == null) {
+            synchronized (ZephyrApiService.class) {
+                if (requestSpecification == null) {
+                    requestSpecification = new RequestSpecBuilder()
+                            .setBaseUri(settings().getApiUrl())
+                            .addHeader("Authorization", "Bearer " + settings().getToken())
+                            .addHeader("Content-Type", "application/json")
+                            .build();
+                }
+            }
+        }
+
+        return given(requestSpecification);
+    }
+
     public Response createTestCycle(ZephyrTestCycle testCycle) {
         var body = Map.of(
                 "projectKey", testCycle.getProjectKey(),
@@ -41,7 +69,7 @@ public class ZephyrApiService {
                 "statusName", testCycle.getStatusName()
         );
 
-        var extractableResponse = given()
+        var extractableResponse = request()
                 .body(body, ObjectMapperType.GSON)
                 .when()
                 .post("/testcycles")
@@ -55,26 +83,23 @@ public class ZephyrApiService {
     }
 
     public Response executeTestCase(plugins.jira.zephyr.data.ZephyrTestCase testCase) {
-        var body = new java.util.HashMap<String, java.io.Serializable>(Map.of(
-                "projectKey", testCase.projectId(),
-                "testCycleKey", testCase.testCycleId(),
-                "testCaseKey", testCase.testCaseId(),
-                "statusName", testCase.status(),
-                "executionTime", (int)testCase.duration()
-        ));
-
-        if (testCase.error() != null) {
-            body.put("comment", formatError(testCase.error()));
-        }
+        return executeTestCase(toExecution(testCase));
+    }
 
-        return given()
-                .body(body, ObjectMapperType.GSON)
+    public Response executeTestCase(ZephyrTestExecution execution) {
+        return request()
+                .body(execution.toRequestBody(), ObjectMapperType.GSON)
                 .when()
                 .post("/testexecutions")
                 .then()
                 .extract().response();
     }
 
+    public ZephyrTestExecution toExecution(plugins.jira.zephyr.data.ZephyrTestCase testCase) {
+        return new ZephyrTestExecution(testCase.projectId(), testCase.testCycleId(), testCase.testCaseId(), testCase.status(),
+                (int)testCase.duration(), testCase.error() != null ? formatError(testCase.error()) : null);
+    }
+
     public Response changeTestCycleStatus(ZephyrTestCycle cycleData) {
         var isDefaultValueAvailableInConfig = settings().getCycleFinalStatus() != null && !settings().getCycleFinalStatus().isBlank();
 
@@ -88,7 +113,7 @@ public class ZephyrApiService {
                 "plannedEndDate", cycleData.getPlannedEndDate()
         );
 
-        return given()
+        return request()
                 .body(body, ObjectMapperType.GSON)
                 .put("/testcycles/" + settings().getDefaultProjectKey())
                 .then()
@@ -96,10 +121,10 @@ public class ZephyrApiService {
     }
 
     private static String getProjectId(String testCycleIdOrKey) {
-        return String.valueOf(given()
-                .get("/testcycles/" + testCycleIdOrKey)
+        return PROJECT_IDS.computeIfAbsent(testCycleIdOrKey, key -> String.valueOf(request()
+                .get("/testcycles/" + key)
                 .then()
-                .extract().jsonPath().<Integer>get("project.id"));
+                .extract().jsonPath().<Integer>get("project.id")));
     }
 
     private static String getStatusId(String statusName, String projectKey) {
@@ -113,16 +138,18 @@ public class ZephyrApiService {
     }
 
     private static List<Map<String, Object>> getStatuses(String projectKey) {
-        JsonPath jsonPath = given()
-                .queryParam("maxResults", "100")
-                .queryParam("projectKey", projectKey)
-                .queryParam("statusType", "TEST_CYCLE")
-                .get("/statuses")
-                .then()
-                .extract()
-                .jsonPath();
-
-        return jsonPath.getList("values");
+        return STATUSES.computeIfAbsent(projectKey, key -> {
+            JsonPath jsonPath = request()
+                    .queryParam("maxResults", "100")
+                    .queryParam("projectKey", key)
+                    .queryParam("statusType", "TEST_CYCLE")
+                    .get("/statuses")
+                    .then()
+                    .extract()
+                    .jsonPath();
+
+            return jsonPath.getList("values");
+        });
     }
 
     private static String formatError(Throwable error) {
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2024 Automate The Planet Ltd.
+ * Author: Miriam Kyoseva
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package plugins.jira.zephyr.services;
+
+import com.google.gson.Gson;
+import io.restassured.response.Response;
+import lombok.SneakyThrows;
+import plugins.jira.zephyr.ZephyrPlugin;
+import plugins.jira.zephyr.config.ZephyrSettings;
+import plugins.jira.zephyr.data.ZephyrTestCase;
+import plugins.jira.zephyr.data.ZephyrTestCycle;
+import plugins.jira.zephyr.data.ZephyrTestExecution;
+import plugins.jira.zephyr.events.ZephyrCyclePluginEventArgs;
+import plugins.jira.zephyr.events.ZephyrExecutionPluginEventArgs;
+import solutions.bellatrix.core.configuration.ConfigurationService;
+import solutions.bellatrix.core.utilities.Log;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Publishes test executions to Zephyr from a background thread, so a slow Jira instance does not add
+ * to the duration of the tests. Every queued execution is first written to a spool directory and only removed
+ * from there once Zephyr has accepted it; executions left behind by a process that is no longer alive
+ * are replayed the next time the publisher starts.
+ */
+public class ZephyrPublisher {
+    private static final Gson GSON = new Gson();
+    private static final String SPOOL_FILE_EXTENSION = ".json";
+    private static ZephyrPublisher instance;
+
+    private final BlockingQueue<PendingItem> queue = new LinkedBlockingQueue<>();
+    private final Path spoolDirectory;
+    private final String processId = String.valueOf(ProcessHandle.current().pid());
+    private final Thread worker;
+    private volatile boolean isAcceptingItems = true;
+    private final AtomicInteger pendingItems = new AtomicInteger();
+
+    private ZephyrPublisher() {
+        spoolDirectory = Paths.get(settings().getSpoolDirectory());
+        worker = new Thread(this::run, "bellatrix-zephyr-publisher");
+        worker.setDaemon(true);
+        worker.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> shutdown(Duration.ofSeconds(settings().getPublishShutdownTimeoutSeconds()))));
+        replaySpool();
+    }
+
+    public static synchronized ZephyrPublisher getInstance() {
+        if (instance == null) {
+            instance = new ZephyrPublisher();
+        }
+
+        return instance;
+    }
+
+    private static ZephyrSettings settings() {
+        return ConfigurationService.get(ZephyrSettings.class);
+    }
+
+    public void publish(ZephyrTestCase testCase) {
+        var execution = ZephyrApiService.toExecution(testCase);
+        var item = new PendingItem(testCase, execution, null, spool(execution));
+
+        if (!settings().isAsyncPublishing() || !isAcceptingItems) {
+            publishExecutions(List.of(item));
+        } else {
+            enqueue(item);
+        }
+    }
+
+    /**
+     * Queues the status update of the test cycle after every execution published so far, so the cycle is not
+     * closed while its results are still in flight.
+     */
+    public void completeCycle(ZephyrTestCycle testCycle) {
+        var item = new PendingItem(null, null, testCycle, null);
+
+        if (!settings().isAsyncPublishing() || !isAcceptingItems) {
+            updateCycleStatus(testCycle);
+        } else {
+            enqueue(item);
+        }
+    }
+
+    private void enqueue(PendingItem item) {
+        pendingItems.incrementAndGet();
+        queue.add(item);
+    }
+
+    /**
+     * Waits until every queued item has been published or the timeout elapses.
+     *
+     * @return true if the queue was fully drained
+     */
+    @SneakyThrows
+    public boolean flush(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (pendingItems.get() > 0) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+
+            Thread.sleep(50);
+        }
+
+        return true;
+    }
+
+    public void shutdown(Duration timeout) {
+        isAcceptingItems = false;
+        if (!flush(timeout)) {
+            Log.error("Zephyr publisher did not finish within %s seconds. %s unpublished executions remain in %s and will be replayed on the next run.",
+                    timeout.toSeconds(), pendingItems.get(), spoolDirectory.toAbsolutePath());
+        }
+
+        worker.interrupt();
+    }
+
+    private void run() {
+        var batch = new ArrayList<PendingItem>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, Math.max(0, settings().getPublishBatchSize() - 1));
+                publishBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                Log.error("Zephyr publisher failed to publish a batch: %s", e.getMessage());
+            } finally {
+                pendingItems.addAndGet(-batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void publishBatch(List<PendingItem> batch) {
+        var executions = new ArrayList<PendingItem>();
+        for (var item : batch) {
+            if (item.testCycle() == null) {
+                executions.add(item);
+                continue;
+            }
+
+            publishExecutions(executions);
+            executions.clear();
+            updateCycleStatus(item.testCycle());
+        }
+
+        publishExecutions(executions);
+    }
+
+    private void publishExecutions(List<PendingItem> executions) {
+        var executionsPerCycle = new LinkedHashMap<String, List<PendingItem>>();
+        for (var item : executions) {
+            executionsPerCycle.computeIfAbsent(item.execution().getTestCycleKey(), k -> new ArrayList<>()).add(item);
+        }
+
+        for (var cycleExecutions : executionsPerCycle.values()) {
+            for (var item : cycleExecutions) {
+                var response = sendWithRetry(() -> ZephyrApiService.executeTestCase(item.execution()));
+                var testCase = item.testCase() != null ? item.testCase() : item.execution().toTestCase();
+
+                if (response == null || response.statusCode() >= 400) {
+                    ZephyrPlugin.ZEPHYR_TEST_CASE_EXECUTION_FAILED.broadcast(new ZephyrExecutionPluginEventArgs(testCase));
+                    if (response != null && !isTransient(response)) {
+                        deleteSpoolFile(item.spoolFile());
+                    }
+
+                    continue;
+                }
+
+                deleteSpoolFile(item.spoolFile());
+                ZephyrPlugin.ZEPHYR_TEST_CASE_EXECUTED.broadcast(new ZephyrExecutionPluginEventArgs(testCase));
+            }
+        }
+    }
+
+    private void updateCycleStatus(ZephyrTestCycle testCycle) {
+        var response = sendWithRetry(() -> ZephyrApiService.changeTestCycleStatus(testCycle));
+
+        if (response == null || response.statusCode() >= 400) {
+            ZephyrPlugin.ZEPHYR_CYCLE_STATUS_UPDATE_FAILED.broadcast(new ZephyrCyclePluginEventArgs(testCycle));
+        }
+    }
+
+    /**
+     * Sends the request, retrying connection failures, throttling and server errors with exponential backoff.
+     *
+     * @return the last response, or null if the request could not be sent at all
+     */
+    private Response sendWithRetry(Supplier<Response> request) {
+        Response response = null;
+        int maxRetries = Math.max(0, settings().getPublishMaxRetries());
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            if (attempt > 0 && !backOff(attempt)) {
+                break;
+            }
+
+            try {
+                response = request.get();
+                if (!isTransient(response)) {
+                    return response;
+                }
+            } catch (Exception e) {
+                Log.error("Zephyr request failed (attempt %s of %s): %s", attempt + 1, maxRetries + 1, e.getMessage());
+            }
+        }
+
+        return response;
+    }
+
+    private boolean backOff(int attempt) {
+        try {
+            Thread.sleep(settings().getPublishRetryBackoffMillis() * (1L << (attempt - 1)));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean isTransient(Response response) {
+        return response.statusCode() == 429 || response.statusCode() >= 500;
+    }
+
+    private Path spool(ZephyrTestExecution execution) {
+        try {
+            Files.createDirectories(spoolDirectory);
+            var file = spoolDirectory.resolve(processId + "-" + UUID.randomUUID() + SPOOL_FILE_EXTENSION);
+            Files.writeString(file, GSON.toJson(execution));
+            return file;
+        } catch (IOException e) {
+            Log.error("Could not spool Zephyr execution to %s: %s", spoolDirectory.toAbsolutePath(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static void deleteSpoolFile(Path file) {
+        if (file == null) return;
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            Log.error("Could not delete Zephyr spool file %s: %s", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Queues executions spooled by processes that are no longer running. Each file is claimed with an atomic rename
+     * first, so parallel processes starting at the same time never replay the same execution twice.
+     */
+    private void replaySpool() {
+        if (!Files.isDirectory(spoolDirectory)) return;
+
+        try (var files = Files.list(spoolDirectory)) {
+            for (var file : files.filter(f -> f.getFileName().toString().endsWith(SPOOL_FILE_EXTENSION)).toList()) {
+                var fileName = file.getFileName().toString();
+                var separatorIndex = fileName.indexOf('-');
+                if (separatorIndex <= 0 || isProcessAlive(fileName.substring(0, separatorIndex))) continue;
+
+                var claimedFile = spoolDirectory.resolve(processId + fileName.substring(separatorIndex));
+                try {
+                    Files.move(file, claimedFile, StandardCopyOption.ATOMIC_MOVE);
+                    var execution = GSON.fromJson(Files.readString(claimedFile), ZephyrTestExecution.class);
+                    enqueue(new PendingItem(null, execution, null, claimedFile));
+                } catch (IOException e) {
+                    // Claimed by another process in the meantime.
+                }
+            }
+        } catch (IOException e) {
+            Log.error("Could not replay Zephyr spool from %s: %s", spoolDirectory.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    private static boolean isProcessAlive(String pid) {
+        try {
+            return ProcessHandle.of(Long.parseLong(pid)).map(ProcessHandle::isAlive).orElse(false);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private record PendingItem(ZephyrTestCase testCase, ZephyrTestExecution execution, ZephyrTestCycle testCycle, Path spoolFile) {
+    }
+}
@@ -42,15 +42,15 @@ public class FFmpegVideoRecorder implements AutoCloseable {
         try {
             String[] args;
             if (RuntimeInformation.IS_WINDOWS) {
-                var recorderFile = FileDownloader.downloadToUsersFolder("https://github.com/AutomateThePlanet/BELLATRIX/releases/download/1.3/ffmpeg_windows.exe");
+                var recorderFile = downloadRecorder("https://github.com/AutomateThePlanet/BELLATRIX/releases/download/1.3/ffmpeg_windows.exe");
                 var videoFilePathWithExtension = String.format("%s.mpg", FilenameUtils.removeExtension(videoFullPath));
                 args = new String[]{recorderFile, "-f", "gdigrab", "-framerate", "30", "-i", "desktop", videoFilePathWithExtension};
             } else if (RuntimeInformation.IS_MAC) {
-                var recorderFile = FileDownloader.downloadToUsersFolder("https://github.com/AutomateThePlanet/BELLATRIX/releases/download/1.3/ffmpeg");
+                var recorderFile = downloadRecorder("https://github.com/AutomateThePlanet/BELLATRIX/releases/download/1.3/ffmpeg");
                 var videoFilePathWithExtension = String.format("%s.mkv", FilenameUtils.removeExtension(videoFullPath));
                 args = new String[]{recorderFile, "-f", "avfoundation", "-framerate", "10", "-i", "\"0:0\"", videoFilePathWithExtension};
             } else {
-                var recorderFile = FileDownloader.downloadToUsersFolder("https://github.com/AutomateThePlanet/BELLATRIX/releases/download/1.0/ffmpeg_linux");
+                var recorderFile = downloadRecorder("https://github.com/AutomateThePlanet/BELLATRIX/releases/download/1.0/ffmpeg_linux");
                 var videoFilePathWithExtension = String.format("%s.mp4", FilenameUtils.removeExtension(videoFullPath));
                 args = new String[]{recorderFile, "-f", "x11grab", "-framerate", "30", "-i", ":0.0+100,200", videoFilePathWithExtension};
             }
@@ -64,4 +64,11 @@ public class FFmpegVideoRecorder implements AutoCloseable {
             return videoFullPath;
         }
     }
+
+    private static String downloadRecorder(String url) {
+        var recorderFile = FileDownloader.downloadToCache(url);
+        // the recorder is started directly, so it needs the exec bit that a fresh download doesn't have
+        new File(recorderFile).setExecutable(true);
+        return recorderFile;
+    }
 }
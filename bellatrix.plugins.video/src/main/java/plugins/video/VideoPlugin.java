@@ -14,8 +14,11 @@
 package plugins.video;
 
 import org.apache.commons.io.FileUtils;
+import solutions.bellatrix.core.diagnostics.CaptureEvent;
+import solutions.bellatrix.core.plugins.ContextValue;
 import solutions.bellatrix.core.plugins.EventListener;
 import solutions.bellatrix.core.plugins.Plugin;
+import solutions.bellatrix.core.plugins.PluginHook;
 import solutions.bellatrix.core.plugins.TestResult;
 
 import java.io.File;
@@ -24,7 +27,7 @@ import java.lang.reflect.Method;
 public abstract class VideoPlugin extends Plugin {
     public static final EventListener<VideoPluginEventArgs> VIDEO_GENERATED = new EventListener<>();
     private static final FFmpegVideoRecorder FMPEG_VIDEO_RECORDER = new FFmpegVideoRecorder();
-    private static final ThreadLocal<String> VIDEO_FULL_PATH = new ThreadLocal<>();
+    private static final ContextValue<String> VIDEO_FULL_PATH = new ContextValue<>();
     private final boolean isEnabled;
 
     public VideoPlugin(boolean isEnabled) {
@@ -34,6 +37,11 @@ public abstract class VideoPlugin extends Plugin {
     protected abstract String getOutputFolder();
     protected abstract String getUniqueFileName(String testName);
 
+    @Override
+    public boolean isConcurrent(PluginHook hook) {
+        return hook == PluginHook.POST_AFTER_TEST;
+    }
+
     public void preBeforeTest(TestResult testResult, Method memberInfo) {
         if (isEnabled) {
             try {
@@ -49,7 +57,10 @@ public abstract class VideoPlugin extends Plugin {
 
     public void postAfterTest(TestResult testResult, Method memberInfo, Throwable failedTestException) {
         if (isEnabled) {
+            var event = new CaptureEvent();
+            event.begin();
             FMPEG_VIDEO_RECORDER.close();
+            event.complete(CaptureEvent.VIDEO_STOP, VIDEO_FULL_PATH.get(), true);
             if (testResult == TestResult.FAILURE) {
                 VIDEO_GENERATED.broadcast(new VideoPluginEventArgs(VIDEO_FULL_PATH.get()));
             } else {
@@ -63,7 +74,10 @@ public abstract class VideoPlugin extends Plugin {
     }
 
     protected void takeVideo(String screenshotSaveDir, String filename) {
+        var event = new CaptureEvent();
+        event.begin();
         var videoFullPath = FMPEG_VIDEO_RECORDER.startRecording(screenshotSaveDir, filename);
         VIDEO_FULL_PATH.set(videoFullPath);
+        event.complete(CaptureEvent.VIDEO_START, videoFullPath, videoFullPath != null);
     }
 }
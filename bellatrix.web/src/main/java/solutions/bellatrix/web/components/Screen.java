@@ -17,13 +17,14 @@ import layout.LayoutComponent;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.Point;
 import solutions.bellatrix.web.services.BrowserService;
+import solutions.bellatrix.web.services.SessionServices;
 
 public class Screen implements LayoutComponent {
     private final Point location;
     private final Dimension size;
 
     Screen() {
-        var browserService = new BrowserService();
+        var browserService = SessionServices.get(BrowserService.class);
         location = new Point(0, 0);
         size = browserService.getWrappedDriver().manage().window().getSize();
     }
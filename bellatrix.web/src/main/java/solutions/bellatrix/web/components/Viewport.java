@@ -16,13 +16,14 @@ package solutions.bellatrix.web.components;
 import layout.LayoutComponent;
 import java.awt.*;
 import solutions.bellatrix.web.services.JavaScriptService;
+import solutions.bellatrix.web.services.SessionServices;
 
 public class Viewport implements LayoutComponent {
     private final Point location;
     private final Dimension size;
 
     Viewport() {
-        var javaScriptService = new JavaScriptService();
+        var javaScriptService = SessionServices.get(JavaScriptService.class);
         location = new Point(0, 0);
         var viewportWidth = Integer.parseInt(javaScriptService.execute("return Math.max(document.documentElement.clientWidth, window.innerWidth || 0);").toString());
         var viewportHeight = Integer.parseInt(javaScriptService.execute("return Math.max(document.documentElement.clientHeight, window.innerHeight || 0);").toString());
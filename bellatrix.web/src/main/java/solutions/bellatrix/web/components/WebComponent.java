@@ -13,6 +13,7 @@
 
 package solutions.bellatrix.web.components;
 
+import layout.LayoutComponent;
 import layout.LayoutComponentValidationsBuilder;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -24,7 +25,10 @@ import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.Select;
 import solutions.bellatrix.core.configuration.ConfigurationService;
+import solutions.bellatrix.core.diagnostics.ComponentFindEvent;
 import solutions.bellatrix.core.plugins.EventListener;
+import solutions.bellatrix.core.tracing.Span;
+import solutions.bellatrix.core.tracing.Tracer;
 import solutions.bellatrix.core.utilities.DebugInformation;
 import solutions.bellatrix.core.utilities.InstanceFactory;
 import solutions.bellatrix.core.utilities.Log;
@@ -39,10 +43,12 @@ import solutions.bellatrix.web.configuration.WebSettings;
 import solutions.bellatrix.web.findstrategies.*;
 import solutions.bellatrix.web.infrastructure.Browser;
 import solutions.bellatrix.web.infrastructure.DriverService;
+import solutions.bellatrix.web.infrastructure.PageGeneration;
 import solutions.bellatrix.web.services.BrowserService;
 import solutions.bellatrix.web.services.ComponentCreateService;
 import solutions.bellatrix.web.services.ComponentWaitService;
 import solutions.bellatrix.web.services.JavaScriptService;
+import solutions.bellatrix.web.services.SessionServices;
 import solutions.bellatrix.web.waitstrategies.*;
 
 import java.awt.Dimension;
@@ -53,6 +59,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static org.apache.commons.text.StringEscapeUtils.unescapeHtml4;
 
@@ -71,29 +79,55 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
     public final static EventListener<ComponentActionEventArgs> CREATING_ELEMENTS = new EventListener<>();
     public final static EventListener<ComponentActionEventArgs> CREATED_ELEMENTS = new EventListener<>();
 
+    static {
+        traceBetween(HOVERING, HOVERED, "hover");
+        traceBetween(FOCUSING, FOCUSED, "focus");
+        traceBetween(SCROLLING_TO_VISIBLE, SCROLLED_TO_VISIBLE, "scroll to visible");
+        traceBetween(SETTING_ATTRIBUTE, ATTRIBUTE_SET, "set attribute");
+        traceBetween(CREATING_ELEMENT, CREATED_ELEMENT, "create element");
+        traceBetween(CREATING_ELEMENTS, CREATED_ELEMENTS, "create elements");
+    }
+
     @Setter(AccessLevel.PROTECTED) private WebElement wrappedElement;
+    private long wrappedElementGeneration;
     @Getter @Setter protected WebComponent parentComponent;
     @Getter @Setter private SearchContext parentWrappedElement;
     @Getter @Setter private int elementIndex;
     @Getter @Setter private FindStrategy findStrategy;
     @Getter private final WebDriver wrappedDriver;
-    @Getter protected final JavaScriptService javaScriptService;
-    @Getter protected final BrowserService browserService;
-    @Getter protected final ComponentCreateService componentCreateService;
-    @Getter protected final ComponentWaitService componentWaitService;
+    private JavaScriptService javaScriptService;
+    private BrowserService browserService;
+    private ComponentCreateService componentCreateService;
+    private ComponentWaitService componentWaitService;
     private final List<WaitStrategy> waitStrategies;
     private final WebSettings webSettings;
 
     public WebComponent() {
         waitStrategies = new ArrayList<>();
         webSettings = ConfigurationService.get(WebSettings.class);
-        javaScriptService = new JavaScriptService();
-        browserService = new BrowserService();
-        componentCreateService = new ComponentCreateService();
-        componentWaitService = new ComponentWaitService();
         wrappedDriver = DriverService.getWrappedDriver();
     }
 
+    public JavaScriptService getJavaScriptService() {
+        if (javaScriptService == null) javaScriptService = SessionServices.get(JavaScriptService.class);
+        return javaScriptService;
+    }
+
+    public BrowserService getBrowserService() {
+        if (browserService == null) browserService = SessionServices.get(BrowserService.class);
+        return browserService;
+    }
+
+    public ComponentCreateService getComponentCreateService() {
+        if (componentCreateService == null) componentCreateService = SessionServices.get(ComponentCreateService.class);
+        return componentCreateService;
+    }
+
+    public ComponentWaitService getComponentWaitService() {
+        if (componentWaitService == null) componentWaitService = SessionServices.get(ComponentWaitService.class);
+        return componentWaitService;
+    }
+
     /**
      * Convert this component to another type of component.
      *
@@ -106,6 +140,7 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
 
         if (componentClass != ShadowRoot.class) {
             component.setWrappedElement(this.wrappedElement);
+            ((WebComponent)component).wrappedElementGeneration = this.wrappedElementGeneration;
         }
         component.setParentComponent(this.parentComponent);
         component.setParentWrappedElement(this.parentWrappedElement);
@@ -116,8 +151,13 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
     }
 
     public WebElement getWrappedElement() {
+        if (wrappedElement != null && wrappedElementGeneration == PageGeneration.current()) {
+            return wrappedElement;
+        }
+
         try {
             wrappedElement.isDisplayed(); // checking if getting property throws exception
+            wrappedElementGeneration = PageGeneration.current();
             return wrappedElement;
         } catch (StaleElementReferenceException | NoSuchElementException | NullPointerException | ScriptTimeoutException ex ) {
             return findElement();
@@ -146,12 +186,12 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
 
     public void setAttribute(String name, String value) {
         SETTING_ATTRIBUTE.broadcast(new ComponentActionEventArgs(this, value, name));
-        javaScriptService.execute(String.format("arguments[0].setAttribute('%s', '%s');", name, value), this);
-        ATTRIBUTE_SET.broadcast(new ComponentActionEventArgs(this));
+        getJavaScriptService().execute(String.format("arguments[0].setAttribute('%s', '%s');", name, value), this);
+        ATTRIBUTE_SET.broadcast(() -> new ComponentActionEventArgs(this));
     }
 
     public SearchContext shadowRoot() {
-        return getWrappedElement().getShadowRoot();
+        return readWrappedElement(WebElement::getShadowRoot);
     }
 
     /**
@@ -165,17 +205,17 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
     }
 
     public void focus() {
-        FOCUSING.broadcast(new ComponentActionEventArgs(this));
-        javaScriptService.execute("window.focus();");
-        javaScriptService.execute("arguments[0].focus();", getWrappedElement());
-        FOCUSED.broadcast(new ComponentActionEventArgs(this));
+        FOCUSING.broadcast(() -> new ComponentActionEventArgs(this));
+        getJavaScriptService().execute("window.focus();");
+        actOnWrappedElement(element -> getJavaScriptService().execute("arguments[0].focus();", element));
+        FOCUSED.broadcast(() -> new ComponentActionEventArgs(this));
     }
 
     public void hover() {
-        HOVERING.broadcast(new ComponentActionEventArgs(this));
+        HOVERING.broadcast(() -> new ComponentActionEventArgs(this));
         Actions actions = new Actions(wrappedDriver);
-        actions.moveToElement(getWrappedElement()).build().perform();
-        HOVERED.broadcast(new ComponentActionEventArgs(this));
+        actOnWrappedElement(element -> actions.moveToElement(element).build().perform());
+        HOVERED.broadcast(() -> new ComponentActionEventArgs(this));
     }
 
     public Class<?> getComponentClass() {
@@ -192,8 +232,39 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
         return new java.awt.Dimension(size.getWidth(), size.getHeight());
     }
 
+    /**
+     * Locates every web component of the validation and reads all of their bounding rectangles with a single script call.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected List<java.awt.Rectangle> fetchBoundingBoxes(List<LayoutComponent> layoutComponents) {
+        var boundingBoxes = new ArrayList<java.awt.Rectangle>(layoutComponents.size());
+        var elements = new ArrayList<WebElement>();
+        for (var component : layoutComponents) {
+            if (component instanceof WebComponent webComponent) {
+                elements.add(webComponent.findElement());
+            }
+        }
+
+        var rectangles = elements.isEmpty() ? List.<List<Number>>of() : (List<List<Number>>)((JavascriptExecutor)wrappedDriver).executeScript(
+                "return arguments[0].map(function (e) { var r = e.getBoundingClientRect(); return [r.left + window.scrollX, r.top + window.scrollY, r.width, r.height]; });",
+                elements);
+
+        var rectanglesIterator = rectangles.iterator();
+        for (var component : layoutComponents) {
+            if (component instanceof WebComponent) {
+                var rectangle = rectanglesIterator.next();
+                boundingBoxes.add(new java.awt.Rectangle(rectangle.get(0).intValue(), rectangle.get(1).intValue(), rectangle.get(2).intValue(), rectangle.get(3).intValue()));
+            } else {
+                boundingBoxes.add(new java.awt.Rectangle(component.getLocation(), component.getSize()));
+            }
+        }
+
+        return boundingBoxes;
+    }
+
     public String getTagName() {
-        return getWrappedElement().getTagName();
+        return readWrappedElement(WebElement::getTagName);
     }
 
     public String getTitle() {
@@ -222,11 +293,11 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
 
     @Override
     public String getAttribute(String name) {
-        return getWrappedElement().getAttribute(name);
+        return readWrappedElement(element -> element.getAttribute(name));
     }
 
     public String getCssValue(String propertyName) {
-        return getWrappedElement().getCssValue(propertyName);
+        return readWrappedElement(element -> element.getCssValue(propertyName));
     }
 
     public void ensureState(WaitStrategy waitStrategy) {
@@ -735,7 +806,7 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
                     "arguments[0].style.outline='" + originalElementOutline + "';" +
                     "}, 100);";
 
-            javaScriptService.execute(script, wrappedElement);
+            getJavaScriptService().execute(script, wrappedElement);
         } catch (Exception ignored) {
         }
     }
@@ -745,12 +816,12 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
      */
     @Deprecated
     protected <TComponent extends WebComponent, TFindStrategy extends FindStrategy> TComponent shadowRootCreate(Class<TComponent> componentClass, TFindStrategy findStrategy) {
-        CREATING_ELEMENT.broadcast(new ComponentActionEventArgs(this));
+        CREATING_ELEMENT.broadcast(() -> new ComponentActionEventArgs(this));
         findElement();
         var component = InstanceFactory.create(componentClass);
         component.setFindStrategy(findStrategy);
         component.setParentWrappedElement(getWrappedElement().getShadowRoot());
-        CREATED_ELEMENT.broadcast(new ComponentActionEventArgs(this));
+        CREATED_ELEMENT.broadcast(() -> new ComponentActionEventArgs(this));
         return component;
     }
 
@@ -759,7 +830,7 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
      */
     @Deprecated
     protected <TComponent extends WebComponent, TFindStrategy extends FindStrategy> List<TComponent> shadowRootCreateAll(Class<TComponent> componentClass, TFindStrategy findStrategy) {
-        CREATING_ELEMENTS.broadcast(new ComponentActionEventArgs(this));
+        CREATING_ELEMENTS.broadcast(() -> new ComponentActionEventArgs(this));
         findElement();
         var shadowRoot = getWrappedElement().getShadowRoot();
         var nativeElements = shadowRoot.findElements(findStrategy.convert());
@@ -772,12 +843,12 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
             componentList.add(component);
         }
 
-        CREATED_ELEMENTS.broadcast(new ComponentActionEventArgs(this));
+        CREATED_ELEMENTS.broadcast(() -> new ComponentActionEventArgs(this));
         return componentList;
     }
 
     protected <TComponent extends WebComponent, TFindStrategy extends FindStrategy> TComponent create(Class<TComponent> componentClass, TFindStrategy findStrategy) {
-        CREATING_ELEMENT.broadcast(new ComponentActionEventArgs(this));
+        CREATING_ELEMENT.broadcast(() -> new ComponentActionEventArgs(this));
         findElement();
 
         TComponent component;
@@ -791,12 +862,12 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
             component.setParentWrappedElement(this.getWrappedElement());
         }
 
-        CREATED_ELEMENT.broadcast(new ComponentActionEventArgs(this));
+        CREATED_ELEMENT.broadcast(() -> new ComponentActionEventArgs(this));
         return component;
     }
 
     protected <TComponent extends WebComponent, TFindStrategy extends FindStrategy> List<TComponent> createAll(Class<TComponent> componentClass, TFindStrategy findStrategy) {
-        CREATING_ELEMENTS.broadcast(new ComponentActionEventArgs(this));
+        CREATING_ELEMENTS.broadcast(() -> new ComponentActionEventArgs(this));
         findElement();
 
         List<TComponent> componentList = new ArrayList<>();
@@ -815,7 +886,7 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
             }
         }
 
-        CREATED_ELEMENTS.broadcast(new ComponentActionEventArgs(this));
+        CREATED_ELEMENTS.broadcast(() -> new ComponentActionEventArgs(this));
         return componentList;
     }
 
@@ -835,25 +906,30 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
             waitStrategies.add(Wait.to().exist(webSettings.getTimeoutSettings().getElementWaitTimeout(), webSettings.getTimeoutSettings().getSleepInterval()));
         }
 
+        var findEvent = new ComponentFindEvent();
+        findEvent.begin();
+        var generation = PageGeneration.current();
         try {
             for (var waitStrategy : waitStrategies) {
-                componentWaitService.wait(this, waitStrategy);
+                getComponentWaitService().wait(this, waitStrategy);
             }
 
             wrappedElement = findNativeElement();
+            wrappedElementGeneration = generation;
             scrollToMakeElementVisible(wrappedElement);
             if (webSettings.getWaitUntilReadyOnElementFound()) {
-                browserService.waitForAjax();
+                getBrowserService().waitForAjax();
             }
 
             if (webSettings.getWaitForAngular()) {
-                browserService.waitForAngular();
+                getBrowserService().waitForAngular();
             }
 
             addArtificialDelay();
 
             waitStrategies.clear();
         } catch (Exception ex) {
+            findEvent.complete(getComponentClass().getSimpleName(), findStrategy, false);
             var formattedException = String.format("The component: \n" +
                             "     Type: %s" +
                             "  Locator: %s" +
@@ -865,7 +941,8 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
             throw new NotFoundException(formattedException, ex);
         }
 
-        RETURNING_WRAPPED_ELEMENT.broadcast(new ComponentActionEventArgs(this));
+        findEvent.complete(getComponentClass().getSimpleName(), findStrategy, true);
+        RETURNING_WRAPPED_ELEMENT.broadcast(() -> new ComponentActionEventArgs(this));
         return wrappedElement;
     }
 
@@ -881,6 +958,8 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
             wait.until(x -> tryClick());
         } catch (TimeoutException e) {
             toBeVisible().toBeClickable().findElement().click();
+        } finally {
+            PageGeneration.advance();
         }
     }
 
@@ -897,49 +976,64 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
     }
 
     protected void defaultClick(EventListener<ComponentActionEventArgs> clicking, EventListener<ComponentActionEventArgs> clicked) {
-        clicking.broadcast(new ComponentActionEventArgs(this));
-        clickInternal();
-        clicked.broadcast(new ComponentActionEventArgs(this));
+        try (var ignored = traceAction("click")) {
+            clicking.broadcast(() -> new ComponentActionEventArgs(this));
+            clickInternal();
+            clicked.broadcast(() -> new ComponentActionEventArgs(this));
+        }
     }
 
     protected void defaultCheck(EventListener<ComponentActionEventArgs> clicking, EventListener<ComponentActionEventArgs> clicked) {
-        clicking.broadcast(new ComponentActionEventArgs(this));
+        try (var ignored = traceAction("check")) {
+            clicking.broadcast(() -> new ComponentActionEventArgs(this));
 
-        this.toExist().toBeClickable().waitToBe();
-        if (!getWrappedElement().isSelected()) {
-            clickInternal();
-        }
+            this.toExist().toBeClickable().waitToBe();
+            if (!readWrappedElement(WebElement::isSelected)) {
+                clickInternal();
+            }
 
-        clicked.broadcast(new ComponentActionEventArgs(this));
+            clicked.broadcast(() -> new ComponentActionEventArgs(this));
+        }
     }
 
     protected void defaultUncheck(EventListener<ComponentActionEventArgs> checking, EventListener<ComponentActionEventArgs> checked) {
-        checking.broadcast(new ComponentActionEventArgs(this));
+        try (var ignored = traceAction("uncheck")) {
+            checking.broadcast(() -> new ComponentActionEventArgs(this));
 
-        toExist().toBeClickable().waitToBe();
-        if (getWrappedElement().isSelected()) {
-            clickInternal();
-        }
+            toExist().toBeClickable().waitToBe();
+            if (readWrappedElement(WebElement::isSelected)) {
+                clickInternal();
+            }
 
-        checked.broadcast(new ComponentActionEventArgs(this));
+            checked.broadcast(() -> new ComponentActionEventArgs(this));
+        }
     }
 
     protected void setValue(EventListener<ComponentActionEventArgs> gettingValue, EventListener<ComponentActionEventArgs> gotValue, String value) {
-        gettingValue.broadcast(new ComponentActionEventArgs(this, value));
-        javaScriptService.execute(String.format("arguments[0].value = '%s';", value), getWrappedElement());
-        gotValue.broadcast(new ComponentActionEventArgs(this, value));
+        try (var ignored = traceAction("set value")) {
+            gettingValue.broadcast(new ComponentActionEventArgs(this, value));
+            actOnWrappedElement(element -> getJavaScriptService().execute(String.format("arguments[0].value = '%s';", value), element));
+            PageGeneration.advance();
+            gotValue.broadcast(new ComponentActionEventArgs(this, value));
+        }
     }
 
     protected void defaultSelectByText(EventListener<ComponentActionEventArgs> selectingValue, EventListener<ComponentActionEventArgs> valueSelected, String value) {
-        selectingValue.broadcast(new ComponentActionEventArgs(this, value));
-        new Select(getWrappedElement()).selectByVisibleText(value);
-        valueSelected.broadcast(new ComponentActionEventArgs(this, value));
+        try (var ignored = traceAction("select by text")) {
+            selectingValue.broadcast(new ComponentActionEventArgs(this, value));
+            actOnWrappedElement(element -> new Select(element).selectByVisibleText(value));
+            PageGeneration.advance();
+            valueSelected.broadcast(new ComponentActionEventArgs(this, value));
+        }
     }
 
     protected void defaultSelectByIndex(EventListener<ComponentActionEventArgs> selectingValue, EventListener<ComponentActionEventArgs> valueSelected, int value) {
-        selectingValue.broadcast(new ComponentActionEventArgs(this, "index: " + value));
-        new Select(getWrappedElement()).selectByIndex(value);
-        valueSelected.broadcast(new ComponentActionEventArgs(this, "index: " + value));
+        try (var ignored = traceAction("select by index")) {
+            selectingValue.broadcast(new ComponentActionEventArgs(this, "index: " + value));
+            actOnWrappedElement(element -> new Select(element).selectByIndex(value));
+            PageGeneration.advance();
+            valueSelected.broadcast(new ComponentActionEventArgs(this, "index: " + value));
+        }
     }
 
     protected String defaultGetValue() {
@@ -1098,7 +1192,7 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
 
     protected String defaultGetText() {
         try {
-            return Optional.ofNullable(getWrappedElement().getText()).orElse("");
+            return Optional.ofNullable(readWrappedElement(WebElement::getText)).orElse("");
         } catch (StaleElementReferenceException e) {
             return Optional.ofNullable(findElement().getText()).orElse("");
         }
@@ -1210,20 +1304,56 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
     }
 
     protected void defaultSetText(EventListener<ComponentActionEventArgs> settingValue, EventListener<ComponentActionEventArgs> valueSet, String value) {
-        settingValue.broadcast(new ComponentActionEventArgs(this, value));
+        try (var ignored = traceAction("set text")) {
+            settingValue.broadcast(new ComponentActionEventArgs(this, value));
 
-        getWrappedElement().clear();
-        getWrappedElement().sendKeys(value);
+            actOnWrappedElement(element -> {
+                element.clear();
+                element.sendKeys(value);
+            });
+            PageGeneration.advance();
 
-        valueSet.broadcast(new ComponentActionEventArgs(this, value));
+            valueSet.broadcast(new ComponentActionEventArgs(this, value));
+        }
     }
 
     protected void defaultUpload(EventListener<ComponentActionEventArgs> settingValue, EventListener<ComponentActionEventArgs> valueSet, String value) {
-        settingValue.broadcast(new ComponentActionEventArgs(this, value));
+        try (var ignored = traceAction("upload")) {
+            settingValue.broadcast(new ComponentActionEventArgs(this, value));
+
+            actOnWrappedElement(element -> element.sendKeys(value));
+            PageGeneration.advance();
 
-        getWrappedElement().sendKeys(value);
+            valueSet.broadcast(new ComponentActionEventArgs(this, value));
+        }
+    }
+
+    /**
+     * Reads from the wrapped element. {@link #getWrappedElement()} skips its staleness probe while the page generation is unchanged,
+     * so if the page replaced the element anyway, it is located again and the read repeated.
+     */
+    private <T> T readWrappedElement(Function<WebElement, T> read) {
+        try {
+            return read.apply(getWrappedElement());
+        } catch (StaleElementReferenceException e) {
+            return read.apply(findElement());
+        }
+    }
+
+    private void actOnWrappedElement(Consumer<WebElement> action) {
+        readWrappedElement(element -> {
+            action.accept(element);
+            return null;
+        });
+    }
+
+    private Span traceAction(String action) {
+        var span = Tracer.startSpan(String.format("%s %s", action, getComponentClass().getSimpleName()), "component");
+        return span.isRecording() ? span.arg("component", getComponentName()) : span;
+    }
 
-        valueSet.broadcast(new ComponentActionEventArgs(this, value));
+    private static void traceBetween(EventListener<ComponentActionEventArgs> begin, EventListener<ComponentActionEventArgs> end, String action) {
+        Tracer.traceBetween(begin, end, "component", args -> String.format("%s %s", action, args.getComponent().getComponentClass().getSimpleName()));
     }
 
     private WebElement findNativeElement() {
@@ -1252,9 +1382,9 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
     }
 
     private void scrollToVisible(WebElement wrappedElement, boolean shouldWait, ScrollPosition scrollPosition) {
-        SCROLLING_TO_VISIBLE.broadcast(new ComponentActionEventArgs(this));
+        SCROLLING_TO_VISIBLE.broadcast(() -> new ComponentActionEventArgs(this));
         try {
-            javaScriptService.execute("arguments[0].scrollIntoView({ block: \"" + scrollPosition.getValue() + "\", behavior: \"instant\", inline: \"nearest\" });", wrappedElement);
+            getJavaScriptService().execute("arguments[0].scrollIntoView({ block: \"" + scrollPosition.getValue() + "\", behavior: \"instant\", inline: \"nearest\" });", wrappedElement);
             if (shouldWait) {
                 Thread.sleep(500);
                 toExist().waitToBe();
@@ -1263,13 +1393,13 @@ public class WebComponent extends LayoutComponentValidationsBuilder implements C
             DebugInformation.printStackTrace(ex);
         }
 
-        SCROLLED_TO_VISIBLE.broadcast(new ComponentActionEventArgs(this));
+        SCROLLED_TO_VISIBLE.broadcast(() -> new ComponentActionEventArgs(this));
     }
 
     @Override
     public boolean isVisible() {
         try {
-            return getWrappedElement().isDisplayed();
+            return readWrappedElement(WebElement::isDisplayed);
         } catch (NotFoundException e) {
             return false;
         }
@@ -16,6 +16,7 @@ import solutions.bellatrix.web.components.advanced.services.FooterService;
 import solutions.bellatrix.web.components.advanced.services.HeaderNamesService;
 import solutions.bellatrix.web.components.advanced.services.TableLocators;
 import solutions.bellatrix.web.components.advanced.services.TableService;
+import solutions.bellatrix.web.components.advanced.services.TableSnapshot;
 import solutions.bellatrix.web.components.advanced.table.TableCell;
 import solutions.bellatrix.web.components.advanced.table.TableHeaderRow;
 import solutions.bellatrix.web.components.datahandlers.ControlDataHandler;
@@ -31,8 +32,34 @@ import java.util.function.Predicate;
 
 public class Grid extends WebComponent {
     private TableService tableService;
+    private HeaderNamesService headerNamesService;
+    private TableSnapshot snapshot;
+    @Getter private boolean snapshotMode;
     @Getter @Setter private List<ControlColumnData> controlColumnDataCollection;
 
+    /**
+     * Serves rows count and cell texts for row casting from a {@link TableSnapshot} fetched in a single script call.
+     * The snapshot and the parsed table are refreshed when the grid DOM changes.
+     */
+    public Grid useSnapshot() {
+        snapshotMode = true;
+        return this;
+    }
+
+    public TableSnapshot getSnapshot() {
+        if (snapshot == null || !snapshot.isCurrent(this)) {
+            if (snapshot == null) {
+                waitUntilPopulated();
+            }
+
+            tableService = null;
+            headerNamesService = null;
+            snapshot = TableSnapshot.capture(this, locators(), false);
+        }
+
+        return snapshot;
+    }
+
     public TableService getTableService() {
         if (tableService == null) {
             waitUntilPopulated();
@@ -48,7 +75,12 @@ public class Grid extends WebComponent {
     }
 
     public HeaderNamesService getHeaderNamesService() {
-        return new HeaderNamesService(getTableService().getHeaderRows());
+        var currentTableService = getTableService();
+        if (headerNamesService == null) {
+            headerNamesService = new HeaderNamesService(currentTableService.getHeaderRows());
+        }
+
+        return headerNamesService;
     }
 
     public FooterService getFooterService() {
@@ -93,6 +125,10 @@ public class Grid extends WebComponent {
     }
 
     public int rowsCount() {
+        if (snapshotMode) {
+            return getSnapshot().getRowsCount();
+        }
+
         return getTableService().getRows().size();
     }
 
@@ -277,20 +313,24 @@ public class Grid extends WebComponent {
 
     public <TRowObject> void assertTable(Class<TRowObject> clazz, List<TRowObject> expectedEntities, String... fieldsNotToCompare) {
         scrollToVisible();
-        Assertions.assertEquals(expectedEntities.size(), rowsCount(), String.format("Expected rows count %d but rows was %s", expectedEntities.size(), rowsCount()));
+        var rowsCount = rowsCount();
+        Assertions.assertEquals(expectedEntities.size(), rowsCount, String.format("Expected rows count %d but rows was %s", expectedEntities.size(), rowsCount));
 
-        for (int i = 0; i < rowsCount(); i++) {
-            var entity = castRow(clazz, i, fieldsNotToCompare);
-            EntitiesAsserter.areEqual(expectedEntities.get(i), entity, fieldsNotToCompare);
+        var currentSnapshot = snapshotMode ? getSnapshot() : null;
+        for (int i = 0; i < rowsCount; i++) {
+            var entity = castRow(clazz, i, currentSnapshot, fieldsNotToCompare);
+            EntitiesAsserter.assertAreEqual(expectedEntities.get(i), entity, fieldsNotToCompare);
         }
     }
 
     @SuppressWarnings({"unchecked"})
     public <TRowObject> void assertTable(Class<TRowObject> clazz, List<TRowObject> expectedEntities) {
         scrollToVisible();
-        Assertions.assertEquals(expectedEntities.size(), rowsCount(), String.format("Expected rows count %d but rows was %s", expectedEntities.size(), rowsCount()));
+        var rowsCount = rowsCount();
+        Assertions.assertEquals(expectedEntities.size(), rowsCount, String.format("Expected rows count %d but rows was %s", expectedEntities.size(), rowsCount));
 
-        for (int i = 0; i < rowsCount(); i++) {
+        var currentSnapshot = snapshotMode ? getSnapshot() : null;
+        for (int i = 0; i < rowsCount; i++) {
             int finalI = i;
             var propsNotToCompare = Arrays.stream(expectedEntities.get(i).getClass().getDeclaredFields())
                     .filter(f -> {
@@ -306,7 +346,7 @@ public class Grid extends WebComponent {
 
             TRowObject entity;
             if (!clazz.equals(Object.class)) {
-                entity = castRow(clazz, i, propsNotToCompare);
+                entity = castRow(clazz, i, currentSnapshot, propsNotToCompare);
             } else {
                 Method method = null;
                 try {
@@ -316,7 +356,7 @@ public class Grid extends WebComponent {
                     throw new RuntimeException(e);
                 }
             }
-            EntitiesAsserter.areEqual(expectedEntities.get(i), entity, propsNotToCompare);
+            EntitiesAsserter.assertAreEqual(expectedEntities.get(i), entity, propsNotToCompare);
         }
     }
 
@@ -337,18 +377,40 @@ public class Grid extends WebComponent {
 
     public <TRowObject> List<TRowObject> getItems(Class<TRowObject> clazz) {
         scrollToVisible();
+        if (snapshotMode) {
+            // maps the rows straight from the snapshot, without creating a component per row
+            var currentSnapshot = getSnapshot();
+            var rowsCount = currentSnapshot.getRowsCount();
+            var list = new ArrayList<TRowObject>(rowsCount);
+            for (int rowIndex = 0; rowIndex < rowsCount; rowIndex++) {
+                list.add(castRow(clazz, rowIndex, currentSnapshot));
+            }
+
+            return list;
+        }
+
         return getItems(clazz, getRows());
     }
 
-    @SneakyThrows
     public <TRowObject> TRowObject castRow(Class<TRowObject> clazz, int rowIndex, String... fieldsToSkip) {
-        var cells = getTableService().getRowCells(rowIndex);
+        return castRow(clazz, rowIndex, snapshotMode ? getSnapshot() : null, fieldsToSkip);
+    }
+
+    /**
+     * Casts the row from the given, already verified snapshot, or from the parsed table when it is null.
+     */
+    @SneakyThrows
+    private <TRowObject> TRowObject castRow(Class<TRowObject> clazz, int rowIndex, TableSnapshot currentSnapshot, String... fieldsToSkip) {
+        var snapshotCells = currentSnapshot != null ? currentSnapshot.getRowCells(rowIndex) : null;
+        // in snapshot mode the parsed table is only needed to locate the cells that hold components
+        var cells = snapshotCells == null ? getTableService().getRowCells(rowIndex) : null;
+        var cellsCount = snapshotCells == null ? cells.size() : snapshotCells.size();
 
         if(controlColumnDataCollection == null || controlColumnDataCollection.isEmpty()) {
             throw new IllegalArgumentException("The grid does not have a column model set!");
         }
 
-        if (cells.size() != controlColumnDataCollection.size()) {
+        if (cellsCount != controlColumnDataCollection.size()) {
 
             // Compare headers to determine why the cells count is different
             var actual = getHeaderNamesService().getHeaderNames();
@@ -371,6 +433,10 @@ public class Grid extends WebComponent {
 
             var controlData = getControlDataByField(field);
             if (controlData != null && controlData.getComponentClass() != null && WebComponent.class.isAssignableFrom(controlData.getComponentClass())) {
+                if (cells == null) {
+                    cells = getTableService().getRowCells(rowIndex);
+                }
+
                 var xpath = HtmlService.getAbsoluteXpath(cells.get(headerPosition));
                 var tableCell = this.createByXPath(TableCell.class, "." + xpath);
                 Object elementValue;
@@ -385,7 +451,8 @@ public class Grid extends WebComponent {
 
                 field.set(dto, TypeParser.parse(elementValue, fieldType));
             } else {
-                String htmlNodeValue = StringEscapeUtils.unescapeHtml4((getTableService().getRowCells(rowIndex).get(headerPosition)).text().trim());
+                var cellText = snapshotCells != null ? snapshotCells.get(headerPosition).getNormalizedText() : cells.get(headerPosition).text().trim();
+                String htmlNodeValue = StringEscapeUtils.unescapeHtml4(cellText);
                 field.set(dto, TypeParser.parse(htmlNodeValue, fieldType));
             }
         }
@@ -410,8 +477,9 @@ public class Grid extends WebComponent {
 
     public <TRowObject, TRow extends GridRow> List<TRowObject> getItems(Class<TRowObject> clazz, List<TRow> rows) {
         var list = new ArrayList<TRowObject>();
+        var currentSnapshot = snapshotMode ? getSnapshot() : null;
         for (var row : rows) {
-            var obj = castRow(clazz, row.getIndex());
+            var obj = castRow(clazz, row.getIndex(), currentSnapshot);
             list.add(obj);
         }
 
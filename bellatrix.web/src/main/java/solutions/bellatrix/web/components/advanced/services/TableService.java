@@ -20,15 +20,22 @@ import org.jsoup.nodes.Node;
 import org.jsoup.parser.Parser;
 import org.jsoup.select.Elements;
 import solutions.bellatrix.core.utilities.HtmlService;
-import solutions.bellatrix.core.utilities.InstanceFactory;
 import solutions.bellatrix.core.utilities.SingletonFactory;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class TableService {
     protected String tableXpath;
     private final Document htmlDoc;
+    private Element table;
+    private List<Element> headers;
+    private List<Element> headerRows;
+    private List<Element> rows;
+    private Element footer;
+    private final Map<Integer, List<Element>> rowCells = new HashMap<>();
 
     public TableService(String html) {
         htmlDoc = Jsoup.parse(html, Parser.xmlParser());
@@ -44,21 +51,33 @@ public class TableService {
     }
 
     public Element getTable() {
-        if (tableXpath == null || tableXpath.isBlank()) {
-            return HtmlService.addRootElementIfNeeded(htmlDoc);
+        if (table == null) {
+            if (tableXpath == null || tableXpath.isBlank()) {
+                table = HtmlService.addRootElementIfNeeded(htmlDoc);
+            } else {
+                table = htmlDoc.selectXpath(tableXpath).first();
+            }
         }
 
-        return htmlDoc.selectXpath(tableXpath).first();
+        return table;
     }
 
     public List<Element> getHeaders() {
-        return getTable().selectXpath("." + locators().getHeadersXpath());
+        if (headers == null) {
+            headers = getTable().selectXpath("." + locators().getHeadersXpath());
+        }
+
+        return headers;
     }
 
     public List<Element> getHeaderRows() {
-        return getTable().selectXpath("." + locators().getHeadersXpath()).stream()
-                .filter((a) -> a.attribute("style") == null || !Objects.equals(a.attribute("style").getValue(), "display:none"))
-                .toList();
+        if (headerRows == null) {
+            headerRows = getHeaders().stream()
+                    .filter((a) -> a.attribute("style") == null || !Objects.equals(a.attribute("style").getValue(), "display:none"))
+                    .toList();
+        }
+
+        return headerRows;
     }
 
     public Element getRow(int index) {
@@ -66,13 +85,19 @@ public class TableService {
     }
 
     public List<Element> getRows() {
-        var table = getTable();
+        if (rows == null) {
+            rows = getTable().selectXpath("." + locators().getRowsXpath());
+        }
 
-        return getTable().selectXpath("." + locators().getRowsXpath());
+        return rows;
     }
 
     public Element getFooter() {
-        return getTable().selectXpath("." + locators().getFooterXpath()).first();
+        if (footer == null) {
+            footer = getTable().selectXpath("." + locators().getFooterXpath()).first();
+        }
+
+        return footer;
     }
 
     public Element getCell(int row, int column) {
@@ -82,13 +107,13 @@ public class TableService {
     public List<Element> getCells() {
         var listOfNodes = new Elements();
         for (int i = 0; i < getRows().size(); i++) {
-            listOfNodes.addAll(getRow(i).selectXpath("." + locators().getCellXpath()));
+            listOfNodes.addAll(getRowCells(i));
         }
 
         return listOfNodes;
     }
 
     public List<Element> getRowCells(int rowIndex) {
-        return getRow(rowIndex).selectXpath("." + locators().getCellXpath());
+        return rowCells.computeIfAbsent(rowIndex, i -> getRow(i).selectXpath("." + locators().getCellXpath()));
     }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024 Automate The Planet Ltd.
+ * Author: Miriam Kyoseva
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.web.components.advanced.services;
+
+import com.google.gson.Gson;
+import lombok.Getter;
+import solutions.bellatrix.web.components.WebComponent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory model of a table (headers, rows, footer) fetched from the browser with a single JavaScript call.<br>
+ * A MutationObserver installed on the table bumps a version counter, so the snapshot can tell when the table DOM changed.
+ */
+public class TableSnapshot {
+    private static final Gson GSON = new Gson();
+
+    private static final String CAPTURE_SCRIPT = """
+            var table = arguments[0], directChildrenOnly = arguments[1], rowTag = arguments[2], cellTag = arguments[3], headerTag = arguments[4], bodyTag = arguments[5], footerTag = arguments[6];
+            if (!table.__bellatrixTableObserver) {
+                table.__bellatrixTableVersion = 0;
+                table.__bellatrixTableObserver = new MutationObserver(function() { table.__bellatrixTableVersion++; });
+                table.__bellatrixTableObserver.observe(table, { childList: true, subtree: true, characterData: true, attributes: true });
+            }
+            function hasDescendant(element, tag) { return element.getElementsByTagName(tag).length > 0; }
+            function childrenByTag(element, tag) { return Array.from(element.children).filter(function(c) { return c.localName === tag; }); }
+            function toCell(cell) {
+                var attributes = {};
+                for (var i = 0; i < cell.attributes.length; i++) { attributes[cell.attributes[i].name] = cell.attributes[i].value; }
+                return {
+                    text: (cell.innerText || '').trim(),
+                    normalizedText: (cell.textContent || '').replace(/\\s+/g, ' ').trim(),
+                    colSpan: cell.colSpan || 1,
+                    rowSpan: cell.rowSpan || 1,
+                    attributes: attributes
+                };
+            }
+            function toRow(row, tag) {
+                var cells = directChildrenOnly ? childrenByTag(row, tag) : Array.from(row.getElementsByTagName(tag));
+                return cells.map(toCell);
+            }
+            var allRows;
+            if (directChildrenOnly) {
+                allRows = childrenByTag(table, rowTag);
+                childrenByTag(table, bodyTag).forEach(function(body) { allRows = allRows.concat(childrenByTag(body, rowTag)); });
+                allRows.sort(function(a, b) { return a.compareDocumentPosition(b) & Node.DOCUMENT_POSITION_FOLLOWING ? -1 : 1; });
+            } else {
+                allRows = Array.from(table.getElementsByTagName(rowTag));
+            }
+            var footerRows = Array.from(table.getElementsByTagName(footerTag)).flatMap(function(f) { return Array.from(f.getElementsByTagName(rowTag)); });
+            return JSON.stringify({
+                version: table.__bellatrixTableVersion,
+                headerRows: Array.from(table.getElementsByTagName(rowTag)).filter(function(r) { return hasDescendant(r, headerTag); }).map(function(r) { return toRow(r, headerTag); }),
+                rows: allRows.filter(function(r) { return hasDescendant(r, cellTag); }).map(function(r) { return toRow(r, cellTag); }),
+                footerRows: footerRows.map(function(r) { return toRow(r, cellTag); })
+            });
+            """;
+
+    private static final String VERSION_SCRIPT = """
+            var table = arguments[0];
+            return String(table.__bellatrixTableObserver ? table.__bellatrixTableVersion : -1);
+            """;
+
+    @Getter private long version;
+    @Getter private List<List<Cell>> headerRows = new ArrayList<>();
+    @Getter private List<List<Cell>> rows = new ArrayList<>();
+    @Getter private List<List<Cell>> footerRows = new ArrayList<>();
+
+    /**
+     * @param directChildrenOnly true to take only the rows directly under the table or its body and their direct cells, like {@code Table};
+     *                           false to take every nested row and cell, like the XPath queries of {@link TableService}
+     */
+    public static TableSnapshot capture(WebComponent table, TableLocators locators, boolean directChildrenOnly) {
+        var json = table.getJavaScriptService().execute(CAPTURE_SCRIPT, table.findElement(), directChildrenOnly,
+                locators.getRowTag(), locators.getCellTag(), locators.getHeaderTag(), locators.getBodyTag(), locators.getFooterTag());
+        if (json == null || json.isBlank()) {
+            return new TableSnapshot();
+        }
+
+        return GSON.fromJson(json, TableSnapshot.class);
+    }
+
+    /**
+     * Checks with a single lightweight script call whether the table DOM changed since the snapshot was captured.
+     */
+    public boolean isCurrent(WebComponent table) {
+        var currentVersion = table.getJavaScriptService().execute(VERSION_SCRIPT, table.findElement());
+        return String.valueOf(version).equals(currentVersion);
+    }
+
+    public int getRowsCount() {
+        return rows.size();
+    }
+
+    public List<Cell> getRowCells(int rowIndex) {
+        return rows.get(rowIndex);
+    }
+
+    public Cell getCell(int row, int column) {
+        return rows.get(row).get(column);
+    }
+
+    public List<Cell> getColumn(int column) {
+        var columnCells = new ArrayList<Cell>(rows.size());
+        for (var row : rows) {
+            if (row.size() > column) {
+                columnCells.add(row.get(column));
+            }
+        }
+
+        return columnCells;
+    }
+
+    @Getter
+    public static class Cell {
+        private String text;
+        private String normalizedText;
+        private int colSpan;
+        private int rowSpan;
+        private Map<String, String> attributes = new HashMap<>();
+
+        public String getAttribute(String name) {
+            return attributes.get(name);
+        }
+    }
+}
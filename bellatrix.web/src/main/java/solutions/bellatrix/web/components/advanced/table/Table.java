@@ -20,12 +20,15 @@ import solutions.bellatrix.core.utilities.HtmlService;
 import solutions.bellatrix.core.utilities.PropertyReference;
 import solutions.bellatrix.core.utilities.parsing.TypeParser;
 import solutions.bellatrix.core.utilities.InstanceFactory;
+import solutions.bellatrix.core.utilities.SingletonFactory;
 import solutions.bellatrix.web.components.Label;
 import solutions.bellatrix.web.components.WebComponent;
 import solutions.bellatrix.web.components.advanced.*;
 import solutions.bellatrix.web.components.advanced.services.FooterService;
 import solutions.bellatrix.web.components.advanced.services.HeaderNamesService;
+import solutions.bellatrix.web.components.advanced.services.TableLocators;
 import solutions.bellatrix.web.components.advanced.services.TableService;
+import solutions.bellatrix.web.components.advanced.services.TableSnapshot;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -33,6 +36,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 
 public class Table extends WebComponent {
@@ -40,10 +44,40 @@ public class Table extends WebComponent {
     private FooterService footerService;
     private List<TableRow> rows;
     private TableService tableService;
+    private TableSnapshot snapshot;
+    @Getter private boolean snapshotMode;
 
     public Table() {
     }
 
+    /**
+     * Serves row count, items and row casting from a {@link TableSnapshot} fetched in a single script call
+     * instead of reading every cell through the driver. The snapshot is refreshed when the table DOM changes.
+     */
+    public Table useSnapshot() {
+        snapshotMode = true;
+        return this;
+    }
+
+    public TableSnapshot getSnapshot() {
+        if (snapshot == null || !snapshot.isCurrent(this)) {
+            if (snapshot != null) {
+                tableService = null;
+                headerNamesService = null;
+                footerService = null;
+                rows = null;
+            }
+
+            snapshot = TableSnapshot.capture(this, locators(), true);
+        }
+
+        return snapshot;
+    }
+
+    private TableLocators locators() {
+        return SingletonFactory.getInstance(TableLocators.class);
+    }
+
     public TableService getTableService() {
         if (this.tableService == null) {
             this.tableService = new TableService(defaultGetInnerHtmlAttribute());
@@ -70,17 +104,21 @@ public class Table extends WebComponent {
     }
 
     public int getRowsCount() {
+        if (snapshotMode) {
+            return getSnapshot().getRowsCount();
+        }
+
         return getRows().size();
     }
 
     @Getter @Setter private List<HeaderInfo> columnHeaderNames;
 
     public List<Label> getColumnHeaders() {
-        return this.createAllByTag(Label.class, getTableService().locators().getHeaderTag());
+        return this.createAllByTag(Label.class, locators().getHeaderTag());
     }
 
     public List<TableHeaderRow> getTableHeaderRows() {
-        return this.createAllByXPath(TableHeaderRow.class, "." + getTableService().locators().getHeadersXpath());
+        return this.createAllByXPath(TableHeaderRow.class, "." + locators().getHeadersXpath());
     }
 
     public List<TableRow> getRows() {
@@ -196,6 +234,14 @@ public class Table extends WebComponent {
     }
 
     public <T> List<T> getItems(Class<T> clazz) {
+        if (snapshotMode) {
+            // maps the rows straight from the snapshot, without creating a component per row
+            return getSnapshot().getRows()
+                    .stream().filter(cells -> !cells.isEmpty())
+                    .map(cells -> castRow(clazz, position -> cells.get(position).getText()))
+                    .toList();
+        }
+
         return getItems(clazz, getRows());
     }
 
@@ -212,6 +258,14 @@ public class Table extends WebComponent {
     }
 
     protected <T, TRow extends TableRow> List<T> getItems(Class<T> clazz, List<TRow> rows) {
+        if (snapshotMode) {
+            var currentSnapshot = getSnapshot();
+            return rows
+                    .stream().filter(row -> !currentSnapshot.getRowCells(row.getIndex() - 1).isEmpty())
+                    .map(row -> castRow(clazz, position -> currentSnapshot.getCell(row.getIndex() - 1, position).getText()))
+                    .toList();
+        }
+
         return rows
                 .stream().filter(row -> !row.getCells().isEmpty())
                 .map(row -> castRow(clazz, row))
@@ -219,6 +273,15 @@ public class Table extends WebComponent {
     }
 
     <TDto> TDto castRow(Class<TDto> dtoClass, TableRow row) {
+        if (snapshotMode) {
+            var currentSnapshot = getSnapshot();
+            return castRow(dtoClass, position -> currentSnapshot.getCell(row.getIndex() - 1, position).getText());
+        }
+
+        return castRow(dtoClass, position -> row.getCells().get(position).getText());
+    }
+
+    private <TDto> TDto castRow(Class<TDto> dtoClass, IntFunction<String> cellText) {
         var fields = dtoClass.getDeclaredFields();
         var castRow = InstanceFactory.create(dtoClass);
 
@@ -231,7 +294,7 @@ public class Table extends WebComponent {
 
                 if (headerPosition != null) {
                     var setter = Arrays.stream(dtoClass.getDeclaredMethods()).filter(isSetterToField).toList().get(0);
-                    var elementValue = row.getCells().get(headerPosition).getText();
+                    var elementValue = cellText.apply(headerPosition);
                     var parameterType = setter.getParameters()[0].getType();
 
                     try {
@@ -253,9 +316,9 @@ public class Table extends WebComponent {
 
     private void initializeRows() {
         if (rows == null || rows.isEmpty()) {
-            var rowTag = getTableService().locators().getRowTag();
-            var cellTag = getTableService().locators().getCellTag();
-            var bodyTag = getTableService().locators().getBodyTag();
+            var rowTag = locators().getRowTag();
+            var cellTag = locators().getCellTag();
+            var bodyTag = locators().getBodyTag();
             rows = this.createAllByXPath(TableRow.class, String.format("./%s[descendant::%s]|./%s/%s[descendant::%s]", rowTag, cellTag, bodyTag, rowTag, cellTag));
             int rowNumber = 0;
             for (var row : rows) {
@@ -17,6 +17,7 @@ import org.openqa.selenium.support.Colors;
 import solutions.bellatrix.core.utilities.SingletonFactory;
 import solutions.bellatrix.web.components.WebComponent;
 import solutions.bellatrix.web.services.JavaScriptService;
+import solutions.bellatrix.web.services.SessionServices;
 import solutions.bellatrix.web.validations.ComponentValidator;
 
 import java.lang.reflect.Method;
@@ -27,7 +28,7 @@ public interface ComponentBackgroundColor extends Component {
     default String getBackgroundColor(){
         var script = "return arguments[0].style.background";
 
-        return new JavaScriptService().execute(script, (WebComponent)this);
+        return SessionServices.get(JavaScriptService.class).execute(script, (WebComponent)this);
     }
 
     default void validateBackgroundColor(Colors expectedColor) {
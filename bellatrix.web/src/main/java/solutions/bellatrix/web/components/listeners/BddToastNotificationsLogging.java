@@ -18,6 +18,7 @@ import solutions.bellatrix.core.plugins.Listener;
 import solutions.bellatrix.web.components.*;
 import solutions.bellatrix.web.configuration.WebSettings;
 import solutions.bellatrix.web.services.BrowserService;
+import solutions.bellatrix.web.services.SessionServices;
 import solutions.bellatrix.web.validations.ComponentValidator;
 
 public class BddToastNotificationsLogging extends Listener {
@@ -27,34 +28,34 @@ public class BddToastNotificationsLogging extends Listener {
     public void addListener() {
         isBddLoggingTurnedOn = ConfigurationService.get(WebSettings.class).getToastNotificationBddLogging();
         if (isBddLoggingTurnedOn) {
-            Anchor.CLICKING.addListener((x) -> new BrowserService().injectInfoNotificationToast("clicking %s", x.getComponent().getComponentName()));
-            Button.CLICKING.addListener((x) -> new BrowserService().injectInfoNotificationToast("clicking %s", x.getComponent().getComponentName()));
-            CheckBox.CHECKING.addListener((x) -> new BrowserService().injectInfoNotificationToast("checking %s", x.getComponent().getComponentName()));
-            CheckBox.UNCHECKING.addListener((x) -> new BrowserService().injectInfoNotificationToast("unchecking %s", x.getComponent().getComponentName()));
-            ColorInput.SETTING_COLOR.addListener((x) -> new BrowserService().injectInfoNotificationToast("setting '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
-            DateInput.SETTING_DATE.addListener((x) -> new BrowserService().injectInfoNotificationToast("setting '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
-            DateTimeInput.SETTING_TIME.addListener((x) -> new BrowserService().injectInfoNotificationToast("setting '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
-            EmailInput.SETTING_EMAIL.addListener((x) -> new BrowserService().injectInfoNotificationToast("typing '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
-            FileInput.UPLOADING.addListener((x) -> new BrowserService().injectInfoNotificationToast("uploading '%s' to %s", x.getActionValue(), x.getComponent().getComponentName()));
-            MonthInput.SETTING_MONTH.addListener((x) -> new BrowserService().injectInfoNotificationToast("setting '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
-            NumberInput.SETTING_NUMBER.addListener((x) -> new BrowserService().injectInfoNotificationToast("typing '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
-            PasswordInput.SETTING_PASSWORD.addListener((x) -> new BrowserService().injectInfoNotificationToast("typing '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
-            PhoneInput.SETTING_PHONE.addListener((x) -> new BrowserService().injectInfoNotificationToast("typing '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
+            Anchor.CLICKING.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("clicking %s", x.getComponent().getComponentName()));
+            Button.CLICKING.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("clicking %s", x.getComponent().getComponentName()));
+            CheckBox.CHECKING.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("checking %s", x.getComponent().getComponentName()));
+            CheckBox.UNCHECKING.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("unchecking %s", x.getComponent().getComponentName()));
+            ColorInput.SETTING_COLOR.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("setting '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
+            DateInput.SETTING_DATE.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("setting '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
+            DateTimeInput.SETTING_TIME.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("setting '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
+            EmailInput.SETTING_EMAIL.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("typing '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
+            FileInput.UPLOADING.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("uploading '%s' to %s", x.getActionValue(), x.getComponent().getComponentName()));
+            MonthInput.SETTING_MONTH.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("setting '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
+            NumberInput.SETTING_NUMBER.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("typing '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
+            PasswordInput.SETTING_PASSWORD.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("typing '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
+            PhoneInput.SETTING_PHONE.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("typing '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
             RadioButton.CLICKING.addListener((x) -> System.out.printf("clicking %s%n", x.getComponent().getComponentName()));
-            Range.SETTING_RANGE.addListener((x) -> new BrowserService().injectInfoNotificationToast("setting '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
+            Range.SETTING_RANGE.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("setting '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
             Reset.CLICKING.addListener((x) -> System.out.printf("clicking %s%n", x.getComponent().getComponentName()));
-            SearchField.SETTING_SEARCH.addListener((x) -> new BrowserService().injectInfoNotificationToast("typing '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
-            Select.SELECTING.addListener((x) -> new BrowserService().injectInfoNotificationToast("selecting '%s' from %s", x.getActionValue(), x.getComponent().getComponentName()));
-            TextArea.SETTING_TEXT.addListener((x) -> new BrowserService().injectInfoNotificationToast("typing '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
-            TextInput.SETTING_TEXT.addListener((x) -> new BrowserService().injectInfoNotificationToast("typing '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
-            TimeInput.SETTING_TIME.addListener((x) -> new BrowserService().injectInfoNotificationToast("setting '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
-            UrlField.SETTING_URL.addListener((x) -> new BrowserService().injectInfoNotificationToast("typing '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
-            WeekInput.SETTING_WEEK.addListener((x) -> new BrowserService().injectInfoNotificationToast("setting '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
-            WebComponent.HOVERING.addListener((x) -> new BrowserService().injectInfoNotificationToast("hovering %s", x.getComponent().getComponentName()));
-            WebComponent.FOCUSING.addListener((x) -> new BrowserService().injectInfoNotificationToast("focusing %s", x.getComponent().getComponentName()));
-//            WebComponent.SCROLLING_TO_VISIBLE.addListener((x) -> new BrowserService().injectInfoNotificationToast("scrolling to %s", x.getComponent().getComponentName()));
-            WebComponent.SETTING_ATTRIBUTE.addListener((x) -> new BrowserService().injectInfoNotificationToast("setting %s to '%s' in %s", x.getActionValue(), x.getMessage(), x.getComponent().getComponentName()));
-            ComponentValidator.VALIDATING_ATTRIBUTE.addListener((x) -> new BrowserService().injectInfoNotificationToast(x.getMessage()));
+            SearchField.SETTING_SEARCH.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("typing '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
+            Select.SELECTING.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("selecting '%s' from %s", x.getActionValue(), x.getComponent().getComponentName()));
+            TextArea.SETTING_TEXT.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("typing '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
+            TextInput.SETTING_TEXT.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("typing '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
+            TimeInput.SETTING_TIME.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("setting '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
+            UrlField.SETTING_URL.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("typing '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
+            WeekInput.SETTING_WEEK.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("setting '%s' in %s", x.getActionValue(), x.getComponent().getComponentName()));
+            WebComponent.HOVERING.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("hovering %s", x.getComponent().getComponentName()));
+            WebComponent.FOCUSING.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("focusing %s", x.getComponent().getComponentName()));
+//            WebComponent.SCROLLING_TO_VISIBLE.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("scrolling to %s", x.getComponent().getComponentName()));
+            WebComponent.SETTING_ATTRIBUTE.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast("setting %s to '%s' in %s", x.getActionValue(), x.getMessage(), x.getComponent().getComponentName()));
+            ComponentValidator.VALIDATING_ATTRIBUTE.addListener((x) -> SessionServices.get(BrowserService.class).injectInfoNotificationToast(x.getMessage()));
             isBddLoggingTurnedOn = true;
         }
     }
@@ -0,0 +1,24 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.web.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+public class DriverPoolSettings {
+    @Getter @Setter private Boolean enabled = false;
+    @Getter @Setter private int maxIdleSessionsPerBrowser = 1;
+    @Getter @Setter private int maxIdleSessions = 4;
+    @Getter @Setter private int warmUpThreads = 2;
+}
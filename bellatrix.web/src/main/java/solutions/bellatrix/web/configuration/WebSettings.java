@@ -41,12 +41,15 @@ public class WebSettings {
 
     @Getter @Setter private int artificialDelayBeforeAction;
     @Getter @Setter private TimeoutSettings timeoutSettings;
+    @Getter @Setter private DriverPoolSettings driverPoolSettings;
 
     @Getter @Setter private Boolean automaticallyScrollToVisible;
     @Getter @Setter private Boolean waitUntilReadyOnElementFound;
     @Getter @Setter private Boolean waitForAngular;
+    @Getter @Setter private Boolean useMutationObserverWaits = false;
     @Getter @Setter private Boolean shouldHighlightElements;
     @Getter @Setter private Boolean shouldCaptureHttpTraffic;
+    @Getter @Setter private HttpTrafficSettings httpTrafficSettings;
     @Getter @Setter private Boolean toastNotificationBddLogging;
     @Getter @Setter private long notificationToastTimeout;
 
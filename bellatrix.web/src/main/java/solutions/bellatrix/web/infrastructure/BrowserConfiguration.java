@@ -87,4 +87,9 @@ public class BrowserConfiguration {
         if (!Objects.equals(this.getPlatform(), that.getPlatform())) return false;
         return Objects.equals(this.getDriverOptions(), that.getDriverOptions());
     }
-}
\ No newline at end of file
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getBrowser(), deviceName, getLifecycle(), getHeight(), getWidth(), getVersion(), getPlatform(), getDriverOptions());
+    }
+}
@@ -14,6 +14,7 @@
 package solutions.bellatrix.web.infrastructure;
 
 import solutions.bellatrix.core.configuration.ConfigurationService;
+import solutions.bellatrix.core.plugins.ContextValue;
 import solutions.bellatrix.core.plugins.Plugin;
 import solutions.bellatrix.core.plugins.TestResult;
 import solutions.bellatrix.core.utilities.Log;
@@ -25,14 +26,14 @@ import java.lang.reflect.Type;
 import java.util.Objects;
 
 public class BrowserLifecyclePlugin extends Plugin {
-    private static final ThreadLocal<BrowserConfiguration> CURRENT_BROWSER_CONFIGURATION;
-    private static final ThreadLocal<BrowserConfiguration> PREVIOUS_BROWSER_CONFIGURATION;
-    private static final ThreadLocal<Boolean> IS_BROWSER_STARTED_CORRECTLY;
+    private static final ContextValue<BrowserConfiguration> CURRENT_BROWSER_CONFIGURATION;
+    private static final ContextValue<BrowserConfiguration> PREVIOUS_BROWSER_CONFIGURATION;
+    private static final ContextValue<Boolean> IS_BROWSER_STARTED_CORRECTLY;
 
     static {
-        CURRENT_BROWSER_CONFIGURATION = new ThreadLocal<>();
-        PREVIOUS_BROWSER_CONFIGURATION = new ThreadLocal<>();
-        IS_BROWSER_STARTED_CORRECTLY = ThreadLocal.withInitial(() -> false);
+        CURRENT_BROWSER_CONFIGURATION = new ContextValue<>();
+        PREVIOUS_BROWSER_CONFIGURATION = new ContextValue<>();
+        IS_BROWSER_STARTED_CORRECTLY = ContextValue.withInitial(() -> false);
     }
 
     @Override
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.web.infrastructure;
+
+import lombok.Getter;
+
+import java.util.function.Function;
+
+/**
+ * Metadata and (possibly evicted) bodies of a single request/response pair captured by the proxy.<br>
+ * The exchange is captured when the request is sent; the response fields stay empty until {@link #isCompleted()}.
+ */
+public class CapturedExchange {
+    @Getter private final long sequence;
+    @Getter private final String url;
+    @Getter private final String method;
+    @Getter private volatile int status;
+    @Getter private volatile String statusText;
+    @Getter private volatile String mimeType;
+    @Getter private volatile long responseSize;
+    @Getter private volatile int requestBodyBytes;
+    @Getter private volatile int responseBodyBytes;
+    @Getter private volatile boolean completed;
+    @Getter private volatile String requestBody;
+    @Getter private volatile String responseBody;
+    @Getter private volatile boolean bodiesEvicted;
+
+    public CapturedExchange(long sequence, String url, String method) {
+        this.sequence = sequence;
+        this.url = url;
+        this.method = method;
+    }
+
+    public boolean hasRequestBody() {
+        return requestBody != null;
+    }
+
+    public boolean hasResponseBody() {
+        return responseBody != null;
+    }
+
+    public long getRetainedBodyBytes() {
+        return bodiesEvicted ? 0 : (long)requestBodyBytes + responseBodyBytes;
+    }
+
+    /**
+     * Deserializes the request body. Every call parses it again, so each caller gets a model of its own.
+     */
+    public <T> T getRequestAs(Function<String, T> parser) {
+        var body = requestBody;
+        return body == null ? null : parser.apply(body);
+    }
+
+    /**
+     * Deserializes the response body. Every call parses it again, so each caller gets a model of its own.
+     */
+    public <T> T getResponseAs(Function<String, T> parser) {
+        var body = responseBody;
+        return body == null ? null : parser.apply(body);
+    }
+
+    void setRequestBody(String requestBody, int requestBodyBytes) {
+        if (bodiesEvicted || requestBody == null) return;
+
+        this.requestBody = requestBody;
+        this.requestBodyBytes = requestBodyBytes;
+    }
+
+    void complete(int status, String statusText, String mimeType, long responseSize, String responseBody, int responseBodyBytes) {
+        this.status = status;
+        this.statusText = statusText;
+        this.mimeType = mimeType;
+        this.responseSize = responseSize;
+        if (!bodiesEvicted && responseBody != null) {
+            this.responseBody = responseBody;
+            this.responseBodyBytes = responseBodyBytes;
+        }
+
+        this.completed = true;
+    }
+
+    void evictBodies() {
+        bodiesEvicted = true;
+        requestBody = null;
+        responseBody = null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%s]%s[%s]", method, url, statusText);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.web.infrastructure;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+import solutions.bellatrix.core.tracing.Tracer;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Reports every WebDriver, WebElement and navigation call as a span of the current test trace.
+ */
+class DriverCommandTracer implements WebDriverListener {
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        Tracer.begin(spanName(method), "driver");
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        Tracer.end(spanName(method));
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        Tracer.end(spanName(method));
+    }
+
+    private static String spanName(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+}
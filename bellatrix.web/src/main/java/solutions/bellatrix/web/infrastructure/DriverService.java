@@ -28,7 +28,11 @@ import org.openqa.selenium.remote.DesiredCapabilities;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.safari.SafariOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import solutions.bellatrix.core.configuration.ConfigurationService;
+import solutions.bellatrix.core.diagnostics.DriverLifecycleEvent;
+import solutions.bellatrix.core.plugins.ContextValue;
+import solutions.bellatrix.core.tracing.Tracer;
 import solutions.bellatrix.core.utilities.DebugInformation;
 import solutions.bellatrix.core.utilities.Log;
 import solutions.bellatrix.core.utilities.SecretsResolver;
@@ -49,18 +53,18 @@ import java.util.regex.Pattern;
 import static io.restassured.RestAssured.given;
 
 public class DriverService {
-    private static final ThreadLocal<Boolean> DISPOSED = ThreadLocal.withInitial(() -> true);
-    private static final ThreadLocal<BrowserConfiguration> BROWSER_CONFIGURATION;
-    private static final ThreadLocal<HashMap<String, String>> CUSTOM_DRIVER_OPTIONS;
-    private static final ThreadLocal<WebDriver> WRAPPED_DRIVER;
+    private static final ContextValue<Boolean> DISPOSED = ContextValue.withInitial(() -> true);
+    private static final ContextValue<BrowserConfiguration> BROWSER_CONFIGURATION;
+    private static final ContextValue<HashMap<String, String>> CUSTOM_DRIVER_OPTIONS;
+    private static final ContextValue<WebDriver> WRAPPED_DRIVER;
     private static boolean isBuildNameSet = false;
     private static String buildName;
 
     static {
-        CUSTOM_DRIVER_OPTIONS = new ThreadLocal<>();
+        CUSTOM_DRIVER_OPTIONS = new ContextValue<>();
         CUSTOM_DRIVER_OPTIONS.set(new HashMap<>());
-        BROWSER_CONFIGURATION = new ThreadLocal<>();
-        WRAPPED_DRIVER = new ThreadLocal<>();
+        BROWSER_CONFIGURATION = new ContextValue<>();
+        WRAPPED_DRIVER = new ContextValue<>();
     }
 
     public static HashMap<String, String> getCustomDriverOptions() {
@@ -77,6 +81,7 @@ public class DriverService {
 
     public static void setWrappedDriver(WebDriver driver) {
         WRAPPED_DRIVER.set(driver);
+        PageGeneration.advance();
     }
 
     public static BrowserConfiguration getBrowserConfiguration() {
@@ -85,13 +90,15 @@ public class DriverService {
 
     public static WebDriver start(BrowserConfiguration configuration) {
         if (DISPOSED.get()) {
+            var event = new DriverLifecycleEvent();
+            event.begin();
             BROWSER_CONFIGURATION.set(configuration);
             DISPOSED.set(false);
             WebDriver driver;
             var webSettings = ConfigurationService.get(WebSettings.class);
             var executionType = webSettings.getExecutionType();
             if (executionType.equals("regular")) {
-                driver = initializeDriverRegularMode();
+                driver = startRegularModeDriver(configuration);
             } else if (executionType.equals("grid") || executionType.equals("selenoid")) {
                 var gridSettings = webSettings.getGridSettings().stream().filter(g -> g.getProviderName().equals(executionType.toLowerCase())).findFirst();
                 assert gridSettings.isPresent() : String.format("The specified execution type '%s' is not declared in the configuration", executionType);
@@ -117,12 +124,24 @@ public class DriverService {
             }
 
             Log.info(String.format("Window resized to dimensions: %s", driver.manage().window().getSize().toString()));
+            driver = traceDriverCommands(driver);
             WRAPPED_DRIVER.set(driver);
+            PageGeneration.advance();
 
+            event.complete(DriverLifecycleEvent.START, configuration.getBrowser(), executionType, executionType.equals("regular") && WebDriverPool.supports(configuration));
             return driver;
         } else return WRAPPED_DRIVER.get();
     }
 
+    private static WebDriver traceDriverCommands(WebDriver driver) {
+        // Pooled sessions come back already decorated; the listener looks up the running test's trace on every call.
+        if (!Tracer.isEnabled() || !Tracer.getSettings().isShouldTraceDriverCommands() || driver instanceof WrapsDriver) {
+            return driver;
+        }
+
+        return new EventFiringDecorator<>(new DriverCommandTracer()).decorate(driver);
+    }
+
     private static WebDriver initializeDriverCloudGridMode(GridSettings gridSettings) {
         MutableCapabilities caps = new MutableCapabilities();
 
@@ -236,7 +255,22 @@ public class DriverService {
         return driver;
     }
 
-    private static WebDriver initializeDriverRegularMode() {
+    private static WebDriver startRegularModeDriver(BrowserConfiguration configuration) {
+        if (!WebDriverPool.supports(configuration)) {
+            return initializeDriverRegularMode(configuration);
+        }
+
+        var driver = WebDriverPool.checkOut(configuration);
+        if (driver == null) {
+            driver = initializeDriverRegularMode(configuration);
+            WebDriverPool.adopt(configuration, driver);
+        }
+
+        WebDriverPool.warmUp(configuration, DriverService::initializeDriverRegularMode);
+        return driver;
+    }
+
+    private static WebDriver initializeDriverRegularMode(BrowserConfiguration configuration) {
         WebDriver driver = null;
         boolean shouldCaptureHttpTraffic = ConfigurationService.get(WebSettings.class).getShouldCaptureHttpTraffic();
 
@@ -247,10 +281,10 @@ public class DriverService {
             ProxyServer.newHar();
         }
 
-        switch (BROWSER_CONFIGURATION.get().getBrowser()) {
+        switch (configuration.getBrowser()) {
             case CHROME -> {
                 var chromeOptions = new ChromeOptions();
-                addDriverOptions(chromeOptions);
+                addDriverOptions(chromeOptions, configuration);
                 addDriverCapabilities(chromeOptions);
                 chromeOptions.addArguments("--log-level=3","--remote-allow-origins=*", "--disable-search-engine-choice-screen");
                 chromeOptions.setAcceptInsecureCerts(true);
@@ -264,7 +298,7 @@ public class DriverService {
             }
             case CHROME_HEADLESS -> {
                 var chromeHeadlessOptions = new ChromeOptions();
-                addDriverOptions(chromeHeadlessOptions);
+                addDriverOptions(chromeHeadlessOptions, configuration);
                 chromeHeadlessOptions.setAcceptInsecureCerts(true);
                 chromeHeadlessOptions.addArguments("--log-level=3","--remote-allow-origins=*", "--disable-search-engine-choice-screen");
                 chromeHeadlessOptions.setCapability(CapabilityType.UNHANDLED_PROMPT_BEHAVIOUR, UnexpectedAlertBehaviour.ACCEPT);
@@ -276,15 +310,15 @@ public class DriverService {
             }
             case CHROME_MOBILE -> {
                 var chromeHeadlessOptions = new ChromeOptions();
-                addDriverOptions(chromeHeadlessOptions);
+                addDriverOptions(chromeHeadlessOptions, configuration);
                 chromeHeadlessOptions.setAcceptInsecureCerts(true);
                 chromeHeadlessOptions.addArguments("--log-level=3","--remote-allow-origins=*", "--disable-search-engine-choice-screen");
                 chromeHeadlessOptions.setCapability(CapabilityType.UNHANDLED_PROMPT_BEHAVIOUR, UnexpectedAlertBehaviour.ACCEPT);
 
                 Map<String, Object> deviceMetrics = new HashMap<>();
-                deviceMetrics.put("width", BROWSER_CONFIGURATION.get().getDeviceName().getWidth());
-                deviceMetrics.put("height", BROWSER_CONFIGURATION.get().getDeviceName().getHeight());
-                deviceMetrics.put("pixelRatio", BROWSER_CONFIGURATION.get().getDeviceName().getScaleFactor());
+                deviceMetrics.put("width", configuration.getDeviceName().getWidth());
+                deviceMetrics.put("height", configuration.getDeviceName().getHeight());
+                deviceMetrics.put("pixelRatio", configuration.getDeviceName().getScaleFactor());
 
                 Map<String, Object> mobileEmulation = new HashMap<>();
                 mobileEmulation.put("deviceMetrics", deviceMetrics);
@@ -298,14 +332,14 @@ public class DriverService {
             }
             case FIREFOX -> {
                 var firefoxOptions = new FirefoxOptions();
-                addDriverOptions(firefoxOptions);
+                addDriverOptions(firefoxOptions, configuration);
                 firefoxOptions.setAcceptInsecureCerts(true);
                 if (shouldCaptureHttpTraffic) firefoxOptions.setProxy(proxyConfig);
                 driver = new FirefoxDriver(firefoxOptions);
             }
             case FIREFOX_HEADLESS -> {
                 var firefoxHeadlessOptions = new FirefoxOptions();
-                addDriverOptions(firefoxHeadlessOptions);
+                addDriverOptions(firefoxHeadlessOptions, configuration);
                 firefoxHeadlessOptions.setAcceptInsecureCerts(true);
                 firefoxHeadlessOptions.addArguments("--headless");
                 if (shouldCaptureHttpTraffic) firefoxHeadlessOptions.setProxy(proxyConfig);
@@ -313,7 +347,7 @@ public class DriverService {
             }
             case EDGE -> {
                 var edgeOptions = new EdgeOptions();
-                addDriverOptions(edgeOptions);
+                addDriverOptions(edgeOptions, configuration);
                 if (shouldCaptureHttpTraffic) edgeOptions.setProxy(proxyConfig);
                 driver = new EdgeDriver(edgeOptions);
             }
@@ -321,20 +355,20 @@ public class DriverService {
                 var edgeOptions = new EdgeOptions();
                 edgeOptions.addArguments("--headless");
                 edgeOptions.addArguments("--disable-gpu");
-                addDriverOptions(edgeOptions);
+                addDriverOptions(edgeOptions, configuration);
                 if (shouldCaptureHttpTraffic) edgeOptions.setProxy(proxyConfig);
                 driver = new EdgeDriver(edgeOptions);
             }
             case SAFARI -> {
                 System.setProperty("webdriver.safari.driver", "/usr/bin/safaridriver");
                 var safariOptions = new SafariOptions();
-                addDriverOptions(safariOptions);
+                addDriverOptions(safariOptions, configuration);
                 if (shouldCaptureHttpTraffic) safariOptions.setProxy(proxyConfig);
                 driver = new SafariDriver(safariOptions);
             }
             case INTERNET_EXPLORER -> {
                 var internetExplorerOptions = new InternetExplorerOptions();
-                addDriverOptions(internetExplorerOptions);
+                addDriverOptions(internetExplorerOptions, configuration);
                 internetExplorerOptions.introduceFlakinessByIgnoringSecurityDomains().ignoreZoomSettings();
                 if (shouldCaptureHttpTraffic) internetExplorerOptions.setProxy(proxyConfig);
                 driver = new InternetExplorerDriver(internetExplorerOptions);
@@ -429,9 +463,9 @@ public class DriverService {
         }
     }
 
-    private static <TOption extends MutableCapabilities> void addDriverOptions(TOption chromeOptions) {
-        for (var optionKey : BROWSER_CONFIGURATION.get().driverOptions.keySet()) {
-            chromeOptions.setCapability(optionKey, BROWSER_CONFIGURATION.get().driverOptions.get(optionKey));
+    private static <TOption extends MutableCapabilities> void addDriverOptions(TOption chromeOptions, BrowserConfiguration configuration) {
+        for (var optionKey : configuration.driverOptions.keySet()) {
+            chromeOptions.setCapability(optionKey, configuration.driverOptions.get(optionKey));
         }
     }
 
@@ -499,8 +533,20 @@ public class DriverService {
         }
 
         if (WRAPPED_DRIVER.get() != null) {
-            DebugInformation.debugInfo("SHUTTING DOWN WRAPPED_DRIVER");
-            WRAPPED_DRIVER.get().quit();
+            var event = new DriverLifecycleEvent();
+            event.begin();
+            var isPooled = WebDriverPool.checkIn(getBrowserConfiguration(), WRAPPED_DRIVER.get());
+            if (isPooled) {
+                DebugInformation.debugInfo("RETURNING WRAPPED_DRIVER TO THE POOL");
+                WRAPPED_DRIVER.remove();
+            } else {
+                DebugInformation.debugInfo("SHUTTING DOWN WRAPPED_DRIVER");
+                WRAPPED_DRIVER.get().quit();
+            }
+
+            var configuration = getBrowserConfiguration();
+            event.complete(DriverLifecycleEvent.CLOSE, configuration != null ? configuration.getBrowser() : null, ConfigurationService.get(WebSettings.class).getExecutionType(), isPooled);
+
             if (CUSTOM_DRIVER_OPTIONS.get() != null) {
                 CUSTOM_DRIVER_OPTIONS.get().clear();
             }
@@ -20,6 +20,7 @@ import solutions.bellatrix.core.utilities.ResourcesReader;
 import solutions.bellatrix.core.utilities.TempFileWriter;
 import solutions.bellatrix.web.configuration.WebSettings;
 import solutions.bellatrix.web.services.JavaScriptService;
+import solutions.bellatrix.web.services.SessionServices;
 
 import java.io.File;
 import java.time.Duration;
@@ -29,7 +30,7 @@ public class FullPageScreenshotEngine {
 
     public static File takeScreenshot() {
         var html2CanvasContent = ResourcesReader.getFileAsString(FullPageScreenshotEngine.class, "html2canvas.js");
-        var javaScriptService = new JavaScriptService();
+        var javaScriptService = SessionServices.get(JavaScriptService.class);
         var timeoutInterval = ConfigurationService.get(WebSettings.class).getTimeoutSettings().getWaitForAjaxTimeout();
         var sleepInterval = ConfigurationService.get(WebSettings.class).getTimeoutSettings().getSleepInterval();
         var webDriverWait = new WebDriverWait(DriverService.getWrappedDriver(), Duration.ofSeconds(timeoutInterval), Duration.ofSeconds(sleepInterval));
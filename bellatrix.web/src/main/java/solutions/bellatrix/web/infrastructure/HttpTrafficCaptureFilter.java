@@ -0,0 +1,212 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.web.infrastructure;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.LastHttpContent;
+import net.lightbody.bmp.filters.HttpsAwareFiltersAdapter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Feeds a single proxied request/response pair into the {@link HttpTrafficStore} as its chunks stream through the proxy.<br>
+ * Unlike BrowserMob's request and response filters, it doesn't make the proxy aggregate whole messages: only textual bodies
+ * up to the configured size are copied, everything else is just counted.
+ */
+class HttpTrafficCaptureFilter extends HttpsAwareFiltersAdapter {
+    private final HttpTrafficStore trafficStore;
+    private final int maxCapturedBodyBytes;
+    private CapturedExchange exchange;
+    private BodyCapture requestBody;
+    private BodyCapture responseBody;
+    private HttpResponse response;
+    private long responseSize;
+
+    HttpTrafficCaptureFilter(HttpRequest originalRequest, ChannelHandlerContext ctx, HttpTrafficStore trafficStore, int maxCapturedBodyBytes) {
+        super(originalRequest, ctx);
+        this.trafficStore = trafficStore;
+        this.maxCapturedBodyBytes = maxCapturedBodyBytes;
+    }
+
+    @Override
+    public HttpResponse clientToProxyRequest(HttpObject httpObject) {
+        if (httpObject instanceof HttpRequest request && !HttpMethod.CONNECT.equals(request.getMethod())) {
+            exchange = trafficStore.recordRequest(getOriginalUrl(), request.getMethod().name());
+            requestBody = BodyCapture.start(request.headers().get("Content-Type"), request.headers().get("Content-Encoding"), maxCapturedBodyBytes);
+        }
+
+        if (exchange != null && httpObject instanceof HttpContent content) {
+            if (requestBody != null) {
+                requestBody.append(content);
+            }
+
+            if (content instanceof LastHttpContent && requestBody != null) {
+                trafficStore.recordRequestBody(exchange, requestBody.getText(), requestBody.getTextBytes());
+                requestBody = null;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public HttpObject serverToProxyResponse(HttpObject httpObject) {
+        if (exchange == null) {
+            return httpObject;
+        }
+
+        if (httpObject instanceof HttpResponse httpResponse) {
+            response = httpResponse;
+            responseBody = BodyCapture.start(httpResponse.headers().get("Content-Type"), httpResponse.headers().get("Content-Encoding"), maxCapturedBodyBytes);
+        }
+
+        if (response != null && httpObject instanceof HttpContent content) {
+            responseSize += content.content().readableBytes();
+            if (responseBody != null) {
+                responseBody.append(content);
+            }
+
+            if (content instanceof LastHttpContent) {
+                trafficStore.recordResponse(exchange,
+                        response.getStatus().code(),
+                        response.getStatus().reasonPhrase(),
+                        response.headers().get("Content-Type"),
+                        responseSize,
+                        responseBody == null ? null : responseBody.getText(),
+                        responseBody == null ? 0 : responseBody.getTextBytes());
+                response = null;
+                responseBody = null;
+            }
+        }
+
+        return httpObject;
+    }
+
+    /**
+     * Copies the chunks of a textual body until it grows beyond the limit, after which the body is given up.
+     */
+    private static class BodyCapture {
+        private final String contentEncoding;
+        private final Charset charset;
+        private final int maxBytes;
+        private ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private String text;
+        private int textBytes;
+
+        private BodyCapture(String contentEncoding, Charset charset, int maxBytes) {
+            this.contentEncoding = contentEncoding;
+            this.charset = charset;
+            this.maxBytes = maxBytes;
+        }
+
+        static BodyCapture start(String contentType, String contentEncoding, int maxBytes) {
+            if (maxBytes <= 0 || !isText(contentType)) {
+                return null;
+            }
+
+            return new BodyCapture(contentEncoding, charsetOf(contentType), maxBytes);
+        }
+
+        void append(HttpContent content) {
+            var buffer = content.content();
+            if (bytes == null || buffer.readableBytes() == 0) {
+                return;
+            }
+
+            if (bytes.size() + buffer.readableBytes() > maxBytes) {
+                bytes = null;
+                return;
+            }
+
+            var chunk = new byte[buffer.readableBytes()];
+            buffer.getBytes(buffer.readerIndex(), chunk);
+            bytes.write(chunk, 0, chunk.length);
+        }
+
+        String getText() {
+            if (text != null || bytes == null || bytes.size() == 0) {
+                return text;
+            }
+
+            try (var decoded = decode(new ByteArrayInputStream(bytes.toByteArray()))) {
+                if (decoded != null) {
+                    var decodedBytes = decoded.readAllBytes();
+                    text = new String(decodedBytes, charset);
+                    textBytes = decodedBytes.length;
+                }
+            } catch (IOException e) {
+                return null;
+            }
+
+            return text;
+        }
+
+        /**
+         * The size of the decoded body in bytes, known once {@link #getText()} produced it.
+         */
+        int getTextBytes() {
+            return textBytes;
+        }
+
+        private InputStream decode(InputStream raw) throws IOException {
+            if (contentEncoding == null || contentEncoding.isBlank() || contentEncoding.equalsIgnoreCase("identity")) {
+                return raw;
+            }
+
+            return switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+                case "gzip", "x-gzip" -> new GZIPInputStream(raw);
+                case "deflate" -> new InflaterInputStream(raw);
+                default -> null;
+            };
+        }
+
+        private static boolean isText(String contentType) {
+            if (contentType == null) {
+                return false;
+            }
+
+            var type = contentType.toLowerCase(Locale.ROOT);
+            return type.startsWith("text/") || type.contains("json") || type.contains("xml") || type.contains("javascript")
+                    || type.contains("x-www-form-urlencoded") || type.contains("graphql");
+        }
+
+        private static Charset charsetOf(String contentType) {
+            for (var parameter : contentType.split(";")) {
+                var keyValue = parameter.trim().split("=", 2);
+                if (keyValue.length == 2 && keyValue[0].trim().equalsIgnoreCase("charset")) {
+                    try {
+                        return Charset.forName(keyValue[1].trim().replace("\"", ""));
+                    } catch (IllegalArgumentException e) {
+                        break;
+                    }
+                }
+            }
+
+            return StandardCharsets.UTF_8;
+        }
+    }
+}
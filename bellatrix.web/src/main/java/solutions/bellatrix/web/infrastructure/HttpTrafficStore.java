@@ -0,0 +1,311 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.web.infrastructure;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Capture store fed by the proxy. Exchanges are captured, in request order, as soon as their request is sent
+ * and completed when the response arrives.<br>
+ * Entries are indexed by method, status and by the most recently queried URL patterns; a pattern index catches up
+ * with new exchanges when it is queried, so capturing never scans the patterns. Retained body bytes are capped;
+ * metadata is always kept. Waiters are woken on every request and response instead of polling.
+ */
+public class HttpTrafficStore {
+    private static final int MAX_INDEXED_URL_PATTERNS = 64;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition exchangeChanged = lock.newCondition();
+    private final List<CapturedExchange> exchanges = new ArrayList<>();
+    private final Map<String, List<CapturedExchange>> byMethod = new HashMap<>();
+    private final Map<Integer, List<CapturedExchange>> byStatus = new HashMap<>();
+    private final Map<String, UrlPatternIndex> byUrlPattern = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, UrlPatternIndex> eldest) {
+            return size() > MAX_INDEXED_URL_PATTERNS;
+        }
+    };
+    private final ArrayDeque<CapturedExchange> retainedInArrivalOrder = new ArrayDeque<>();
+    private final PriorityQueue<CapturedExchange> largestBodies = new PriorityQueue<>(Comparator.comparingLong(CapturedExchange::getRetainedBodyBytes).reversed());
+    private final long maxRetainedBodyBytes;
+    private final BodyEvictionPolicy evictionPolicy;
+    private long retainedBodyBytes;
+    private long sequence;
+    private long firstSequence;
+
+    public HttpTrafficStore(long maxRetainedBodyBytes, BodyEvictionPolicy evictionPolicy) {
+        this.maxRetainedBodyBytes = maxRetainedBodyBytes;
+        this.evictionPolicy = evictionPolicy;
+    }
+
+    /**
+     * Captures an exchange when its request is sent. Complete it with {@link #recordResponse}.
+     */
+    public CapturedExchange recordRequest(String url, String method) {
+        lock.lock();
+        try {
+            var exchange = new CapturedExchange(sequence++, url, method);
+            exchanges.add(exchange);
+            byMethod.computeIfAbsent(method, k -> new ArrayList<>()).add(exchange);
+            exchangeChanged.signalAll();
+            return exchange;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void recordRequestBody(CapturedExchange exchange, String requestBody, int requestBodyBytes) {
+        lock.lock();
+        try {
+            if (isCurrent(exchange)) {
+                exchange.setRequestBody(requestBody, requestBodyBytes);
+                exchangeChanged.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void recordResponse(CapturedExchange exchange, int status, String statusText, String mimeType, long responseSize, String responseBody, int responseBodyBytes) {
+        lock.lock();
+        try {
+            // responses of exchanges dropped by clear() are ignored
+            if (!isCurrent(exchange) || exchange.isCompleted()) {
+                return;
+            }
+
+            exchange.complete(status, statusText, mimeType, responseSize, responseBody, responseBodyBytes);
+            byStatus.computeIfAbsent(status, k -> new ArrayList<>()).add(exchange);
+            retainBodies(exchange);
+            exchangeChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<CapturedExchange> getAll() {
+        lock.lock();
+        try {
+            return List.copyOf(exchanges);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return exchanges.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<CapturedExchange> findByMethod(String method) {
+        lock.lock();
+        try {
+            return List.copyOf(byMethod.getOrDefault(method, List.of()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<CapturedExchange> findByStatus(int status) {
+        lock.lock();
+        try {
+            return List.copyOf(byStatus.getOrDefault(status, List.of()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<CapturedExchange> find(String urlPattern, String method) {
+        lock.lock();
+        try {
+            return matching(urlPattern).stream()
+                    .filter(e -> method == null || Objects.equals(e.getMethod(), method))
+                    .toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public CapturedExchange findFirst(String urlPattern, String method) {
+        var matches = find(urlPattern, method);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    public CapturedExchange findLast(Predicate<CapturedExchange> condition) {
+        lock.lock();
+        try {
+            for (int i = exchanges.size() - 1; i >= 0; i--) {
+                if (condition.test(exchanges.get(i))) {
+                    return exchanges.get(i);
+                }
+            }
+
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until an exchange whose URL contains one of the patterns and that satisfies the condition is captured.
+     * Already captured exchanges are checked first. Each exchange is tested when its request is captured and,
+     * if it didn't match while waiting for its response, once more when the response arrives.
+     *
+     * @return the matching exchange or null if none arrived before the timeout
+     */
+    public CapturedExchange await(List<String> urlPatterns, Predicate<CapturedExchange> condition, Duration timeout) throws InterruptedException {
+        var checkedLists = new ArrayList<List<CapturedExchange>>(Collections.nCopies(urlPatterns.size(), null));
+        var checkedCounts = new int[urlPatterns.size()];
+        var awaitingResponse = new ArrayList<CapturedExchange>();
+        long remainingNanos = timeout.toNanos();
+
+        lock.lock();
+        try {
+            while (true) {
+                for (var iterator = awaitingResponse.iterator(); iterator.hasNext(); ) {
+                    var candidate = iterator.next();
+                    if (!isCurrent(candidate)) {
+                        iterator.remove();
+                    } else if (candidate.isCompleted()) {
+                        iterator.remove();
+                        if (condition.test(candidate)) {
+                            return candidate;
+                        }
+                    }
+                }
+
+                for (int i = 0; i < urlPatterns.size(); i++) {
+                    var candidates = matching(urlPatterns.get(i));
+                    if (candidates != checkedLists.get(i)) {
+                        checkedLists.set(i, candidates);
+                        checkedCounts[i] = 0;
+                    }
+
+                    for (; checkedCounts[i] < candidates.size(); checkedCounts[i]++) {
+                        var candidate = candidates.get(checkedCounts[i]);
+                        if (condition.test(candidate)) {
+                            return candidate;
+                        }
+
+                        if (!candidate.isCompleted()) {
+                            awaitingResponse.add(candidate);
+                        }
+                    }
+                }
+
+                if (remainingNanos <= 0) {
+                    return null;
+                }
+
+                remainingNanos = exchangeChanged.awaitNanos(remainingNanos);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            firstSequence = sequence;
+            exchanges.clear();
+            byMethod.clear();
+            byStatus.clear();
+            byUrlPattern.clear();
+            retainedInArrivalOrder.clear();
+            largestBodies.clear();
+            retainedBodyBytes = 0;
+            exchangeChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isCurrent(CapturedExchange exchange) {
+        return exchange.getSequence() >= firstSequence;
+    }
+
+    private List<CapturedExchange> matching(String urlPattern) {
+        var index = byUrlPattern.computeIfAbsent(urlPattern, UrlPatternIndex::new);
+        index.catchUp(exchanges);
+        return index.matches;
+    }
+
+    private void retainBodies(CapturedExchange exchange) {
+        var exchangeBytes = exchange.getRetainedBodyBytes();
+        if (exchangeBytes == 0) {
+            return;
+        }
+
+        retainedBodyBytes += exchangeBytes;
+        switch (evictionPolicy) {
+            case OLDEST_FIRST -> retainedInArrivalOrder.add(exchange);
+            case LARGEST_FIRST -> largestBodies.add(exchange);
+        }
+
+        while (retainedBodyBytes > maxRetainedBodyBytes) {
+            CapturedExchange evicted = switch (evictionPolicy) {
+                case OLDEST_FIRST -> retainedInArrivalOrder.poll();
+                case LARGEST_FIRST -> largestBodies.poll();
+                case DISCARD_NEW -> exchange;
+            };
+
+            if (evicted == null) {
+                break;
+            }
+
+            retainedBodyBytes -= evicted.getRetainedBodyBytes();
+            evicted.evictBodies();
+            if (evicted == exchange) {
+                break;
+            }
+        }
+    }
+
+    private static class UrlPatternIndex {
+        private final String pattern;
+        private final List<CapturedExchange> matches = new ArrayList<>();
+        private int scannedCount;
+
+        UrlPatternIndex(String pattern) {
+            this.pattern = pattern;
+        }
+
+        void catchUp(List<CapturedExchange> exchanges) {
+            for (; scannedCount < exchanges.size(); scannedCount++) {
+                var exchange = exchanges.get(scannedCount);
+                if (exchange.getUrl().contains(pattern)) {
+                    matches.add(exchange);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.web.infrastructure;
+
+import lombok.experimental.UtilityClass;
+import solutions.bellatrix.core.plugins.ContextValue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the points after which elements found earlier may no longer be attached: navigations, window and frame switches,
+ * new sessions and component actions that can change the DOM. Components compare the generation they found their element in
+ * with the current one to decide whether the cached element can be used without asking the browser.<br>
+ * Values are unique across threads, so an element carried to another thread is never mistaken for a fresh one.
+ */
+@UtilityClass
+public class PageGeneration {
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final ContextValue<Long> CURRENT = ContextValue.withInitial(SEQUENCE::incrementAndGet);
+
+    public static long current() {
+        return CURRENT.get();
+    }
+
+    public static void advance() {
+        CURRENT.set(SEQUENCE.incrementAndGet());
+    }
+}
@@ -14,20 +14,24 @@
 package solutions.bellatrix.web.infrastructure;
 
 import com.google.gson.*;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpRequest;
 import lombok.SneakyThrows;
 import net.lightbody.bmp.BrowserMobProxyServer;
 import net.lightbody.bmp.core.har.HarEntry;
 import net.lightbody.bmp.proxy.CaptureType;
 import org.apache.http.HttpStatus;
 import org.asynchttpclient.uri.Uri;
-import org.openqa.selenium.TimeoutException;
+import org.littleshoot.proxy.HttpFilters;
+import org.littleshoot.proxy.HttpFiltersSourceAdapter;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.remote.http.HttpMethod;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.opentest4j.AssertionFailedError;
 import org.testng.Assert;
 import solutions.bellatrix.core.configuration.ConfigurationService;
+import solutions.bellatrix.core.plugins.ContextValue;
 import solutions.bellatrix.core.utilities.Log;
+import solutions.bellatrix.web.configuration.HttpTrafficSettings;
 import solutions.bellatrix.web.configuration.WebSettings;
 
 import java.io.IOException;
@@ -39,10 +43,13 @@ import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
 
 public class ProxyServer {
-    private static final ThreadLocal<BrowserMobProxyServer> PROXY_SERVER = ThreadLocal.withInitial(BrowserMobProxyServer::new);
-    private static final ThreadLocal<Integer> PORT = new ThreadLocal<>();
+    private static final ContextValue<BrowserMobProxyServer> PROXY_SERVER = ContextValue.withInitial(BrowserMobProxyServer::new);
+    private static final ContextValue<Integer> PORT = new ContextValue<>();
+    private static final ContextValue<HttpTrafficStore> TRAFFIC_STORE = new ContextValue<>();
     private static final List<Integer> successHttpStatusesList = Arrays.asList(
             HttpStatus.SC_OK,
             HttpStatus.SC_CREATED,
@@ -60,10 +67,27 @@ public class ProxyServer {
     public static int init() {
         Log.info("Starting Proxy Service...");
         int port = findFreePort();
+        var trafficSettings = Objects.requireNonNullElseGet(ConfigurationService.get(WebSettings.class).getHttpTrafficSettings(), HttpTrafficSettings::new);
+        var trafficStore = new HttpTrafficStore(trafficSettings.getMaxRetainedBodyBytes(), BodyEvictionPolicy.fromText(trafficSettings.getBodyEvictionPolicy()));
         PROXY_SERVER.get().setTrustAllServers(true);
+        int maxCapturedBodyBytes = trafficSettings.getMaxCapturedBodyBytes();
+        // a plain filter source doesn't make the proxy aggregate messages, unlike addRequestFilter/addResponseFilter
+        PROXY_SERVER.get().addLastHttpFilterFactory(new HttpFiltersSourceAdapter() {
+            @Override
+            public HttpFilters filterRequest(HttpRequest originalRequest, ChannelHandlerContext ctx) {
+                return new HttpTrafficCaptureFilter(originalRequest, ctx, trafficStore, maxCapturedBodyBytes);
+            }
+        });
         PROXY_SERVER.get().start(port);
-        PROXY_SERVER.get().enableHarCaptureTypes(CaptureType.REQUEST_CONTENT, CaptureType.RESPONSE_CONTENT, CaptureType.REQUEST_HEADERS);
+        // the traffic store already keeps the bodies, within its limits, so the HAR only copies them when asked to
+        if (Boolean.TRUE.equals(trafficSettings.getCaptureHarContent())) {
+            PROXY_SERVER.get().enableHarCaptureTypes(CaptureType.REQUEST_CONTENT, CaptureType.RESPONSE_CONTENT, CaptureType.REQUEST_HEADERS);
+        } else {
+            PROXY_SERVER.get().enableHarCaptureTypes(CaptureType.REQUEST_HEADERS);
+        }
+
         PORT.set(port);
+        TRAFFIC_STORE.set(trafficStore);
         Log.info("Proxy Service Started at Port %s".formatted(port));
         gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
@@ -77,12 +101,24 @@ public class ProxyServer {
         return PROXY_SERVER.get();
     }
 
+    public static HttpTrafficStore getTrafficStore() {
+        return TRAFFIC_STORE.get();
+    }
+
     public static void newHar(String name) {
         PROXY_SERVER.get().newHar(name);
+        clearTrafficStore();
     }
 
     public static void newHar() {
         PROXY_SERVER.get().newHar();
+        clearTrafficStore();
+    }
+
+    private static void clearTrafficStore() {
+        if (TRAFFIC_STORE.get() != null) {
+            TRAFFIC_STORE.get().clear();
+        }
     }
 
     public static void close() {
@@ -92,6 +128,7 @@ public class ProxyServer {
             proxyServer.stop();
             PROXY_SERVER.remove();
             PORT.remove();
+            TRAFFIC_STORE.remove();
             Log.info("Proxy Service Stopped.");
         }
     }
@@ -101,24 +138,21 @@ public class ProxyServer {
     }
 
     public static void assertNoErrorCodes() {
-        var harEntries = PROXY_SERVER.get().getHar().getLog().getEntries();
-        var areThereErrorCodes = harEntries.stream().anyMatch(r
-                -> r.getResponse().getStatus() > 400
-                && r.getResponse().getStatus() < 599);
+        var areThereErrorCodes = TRAFFIC_STORE.get().getAll().stream().anyMatch(r
+                -> r.getStatus() > 400
+                && r.getStatus() < 599);
 
         Assert.assertFalse(areThereErrorCodes);
     }
 
     public static void assertRequestMade(String url) {
-        var harEntries = PROXY_SERVER.get().getHar().getLog().getEntries();
-        var areRequestsMade = harEntries.stream().anyMatch(r -> r.getRequest().getUrl().contains(url));
-        String simiarRequestsString = getSimilarRequestsString(url, harEntries);
+        var areRequestsMade = !TRAFFIC_STORE.get().find(url, null).isEmpty();
+        String simiarRequestsString = areRequestsMade ? "" : getSimilarRequestsString(url, TRAFFIC_STORE.get().getAll());
         Assert.assertTrue(areRequestsMade, String.format("The expected url '%s' was not loaded! Similar requests: %s", url, simiarRequestsString));
     }
 
     public static void assertRequestNotMade(String url, HttpMethod httpMethod) {
-        var harEntries = PROXY_SERVER.get().getHar().getLog().getEntries();
-        var areRequestsMade = harEntries.stream().anyMatch(r -> r.getRequest().getUrl().contains(url) && r.getRequest().getMethod().equals(httpMethod.toString()));
+        var areRequestsMade = !TRAFFIC_STORE.get().find(url, httpMethod.toString()).isEmpty();
 
         Assert.assertFalse(areRequestsMade);
     }
@@ -126,61 +160,54 @@ public class ProxyServer {
     public static void clearHistory() {
         var oldHarCount = PROXY_SERVER.get().getHar().getLog().getEntries().stream().count();
 
-        PROXY_SERVER.get().newHar();
+        newHar();
         Log.info(String.format("The proxy history with %s entries is cleared!", oldHarCount));
     }
 
     public static void waitForRequest(WebDriver driver, String requestPartialUrl, HttpMethod httpMethod, int additionalTimeoutInSeconds) {
         long timeout = ConfigurationService.get(WebSettings.class).getTimeoutSettings().getWaitForAjaxTimeout();
-        long sleepInterval = ConfigurationService.get(WebSettings.class).getTimeoutSettings().getSleepInterval();
-        var webDriverWait = new WebDriverWait(driver, Duration.ofSeconds(timeout + additionalTimeoutInSeconds), Duration.ofSeconds(sleepInterval));
 
-        try {
-            webDriverWait.until(d -> {
-                var harEntries = PROXY_SERVER.get().getHar().getLog().getEntries();
-                var areRequestsMade = harEntries.stream().anyMatch(r -> r.getRequest().getUrl().contains(requestPartialUrl) && r.getRequest().getMethod().equals(httpMethod.toString()));
+        var exchange = awaitExchange(List.of(requestPartialUrl),
+                r -> r.getMethod().equals(httpMethod.toString()),
+                Duration.ofSeconds(timeout + additionalTimeoutInSeconds));
 
-                return areRequestsMade;
-            });
-        }
-        catch (TimeoutException exception){
+        if (exchange == null) {
             Log.error(String.format("The expected request with URL '%s' is not loaded!", requestPartialUrl));
         }
     }
 
     public static void waitForResponse(WebDriver driver, String requestPartialUrl, HttpMethod httpMethod, int additionalTimeoutInSeconds) {
         long timeout = ConfigurationService.get(WebSettings.class).getTimeoutSettings().getWaitForAjaxTimeout();
-        long sleepInterval = ConfigurationService.get(WebSettings.class).getTimeoutSettings().getSleepInterval();
-        var webDriverWait = new WebDriverWait(driver, Duration.ofSeconds(timeout + additionalTimeoutInSeconds), Duration.ofSeconds(sleepInterval));
-        List<HarEntry> allHarEntries = new ArrayList<>();
-        try {
-            webDriverWait.until(d -> {
-                var harEntries = PROXY_SERVER.get().getHar().getLog().getEntries();
-                var isResponseReceived = harEntries.stream().anyMatch(
-                        r -> (r.getRequest().getUrl().contains(requestPartialUrl) || r.getRequest().getUrl().contains(requestPartialUrl.replace("%20", "+")))
-                        && r.getRequest().getMethod().equals(httpMethod.toString())
-                        && successHttpStatusesList.contains(r.getResponse().getStatus())
-                        && (httpMethod.equals(HttpMethod.DELETE)? true : (r.getResponse().getContent().getText() != null && !r.getResponse().getContent().getText().isEmpty()))
-                );
-                allHarEntries.clear();
-                allHarEntries.addAll(harEntries);
-                return isResponseReceived;
-            });
-        }
-        catch (TimeoutException exception){
-            String allUrlsString = getSimilarRequestsString(requestPartialUrl, allHarEntries);
+
+        var exchange = awaitExchange(List.of(requestPartialUrl, requestPartialUrl.replace("%20", "+")),
+                r -> r.getMethod().equals(httpMethod.toString())
+                        && successHttpStatusesList.contains(r.getStatus())
+                        && (httpMethod.equals(HttpMethod.DELETE) || r.hasResponseBody()),
+                Duration.ofSeconds(timeout + additionalTimeoutInSeconds));
+
+        if (exchange == null) {
+            String allUrlsString = getSimilarRequestsString(requestPartialUrl, TRAFFIC_STORE.get().getAll());
 
             throw new RuntimeException(String.format("The expected response with request URL '%s' with method %s is not loaded! \r\nSimilar requests: %s", requestPartialUrl, httpMethod, allUrlsString));
         }
     }
 
-    private static String getSimilarRequestsString(String requestPartialUrl, List<HarEntry> allHarEntries) {
+    private static CapturedExchange awaitExchange(List<String> urlPatterns, Predicate<CapturedExchange> condition, Duration timeout) {
+        try {
+            return TRAFFIC_STORE.get().await(urlPatterns.stream().distinct().toList(), condition, timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static String getSimilarRequestsString(String requestPartialUrl, List<CapturedExchange> allExchanges) {
         try{
             ArrayList<String> allUrls = new ArrayList<>();
-            allHarEntries.stream().forEach(e -> {
-                Uri uri = Uri.create(requestPartialUrl);
-                if(e.getRequest().getUrl().contains(uri.getHost()) || e.getRequest().getUrl().contains(requestPartialUrl)){
-                    allUrls.add(String.format("[%s]%s[%s]", e.getRequest().getMethod(), e.getRequest().getUrl(), e.getResponse().getStatusText()));
+            Uri uri = Uri.create(requestPartialUrl);
+            allExchanges.forEach(e -> {
+                if(e.getUrl().contains(uri.getHost()) || e.getUrl().contains(requestPartialUrl)){
+                    allUrls.add(e.toString());
                 }
             });
             String allUrlsString = "";
@@ -193,16 +220,15 @@ public class ProxyServer {
         }
         catch (Exception ex){
             ArrayList<String> allUrls = new ArrayList<>();
-            allHarEntries.forEach(e -> allUrls.add(e.getRequest().getUrl()));
+            allExchanges.forEach(e -> allUrls.add(e.getUrl()));
             return allUrls.toString();
         }
     }
 
     public static void assertNoLargeImagesRequested() {
-        var harEntries = PROXY_SERVER.get().getHar().getLog().getEntries();
-        var areThereLargeImages = harEntries.stream().anyMatch(r
-                -> r.getResponse().getContent().getMimeType().startsWith("image")
-                && r.getResponse().getContent().getSize() > 40000);
+        var areThereLargeImages = TRAFFIC_STORE.get().getAll().stream().anyMatch(r
+                -> r.getMimeType() != null && r.getMimeType().startsWith("image")
+                && r.getResponseSize() > 40000);
 
         Assert.assertFalse(areThereLargeImages);
     }
@@ -223,46 +249,39 @@ public class ProxyServer {
     }
 
     public static <T> T getLastRequest(Class<T> requestModelClass) {
-        return getCapturedEntries().stream()
-                .map(HarEntry::getRequest)
-                .filter(request -> request.getPostData() != null)
-                .map(request -> gson.fromJson(request.getPostData().getText(), requestModelClass))
-                .reduce((first, second) -> second)
-                .orElse(null);
+        var exchange = TRAFFIC_STORE.get().findLast(CapturedExchange::hasRequestBody);
+        if (exchange == null) {
+            return null;
+        }
+
+        return exchange.getRequestAs(json -> gson.fromJson(json, requestModelClass));
     }
 
     public static <T> T getLastResponse(Class<T> responseModelClass) {
-        return getCapturedEntries().stream()
-                .map(HarEntry::getResponse)
-                .filter(response -> response.getContent() != null)
-                .map(response -> gson.fromJson(getDataObject(response.getContent().getText()), responseModelClass))
-                .reduce((first, second) -> second)
-                .orElse(null);
+        var exchange = TRAFFIC_STORE.get().findLast(CapturedExchange::hasResponseBody);
+        if (exchange == null) {
+            return null;
+        }
+
+        return exchange.getResponseAs(json -> gson.fromJson(getDataObject(json), responseModelClass));
     }
 
     public static <T> T getRequestByIndex(int index, Class<T> requestModelClass) {
-        var entries = getCapturedEntries();
-        var harEntry = entries.get(index);
-        String json = harEntry.getRequest().getPostData().getText();
-        return gson.fromJson(json, requestModelClass);
+        var exchange = TRAFFIC_STORE.get().getAll().get(index);
+        return exchange.getRequestAs(json -> gson.fromJson(json, requestModelClass));
     }
 
     public static <T> T getResponseByIndex(int index, Class<T> responseModelClass) {
-        var harEntry = getCapturedEntries().get(index);
-        String json = harEntry.getResponse().getContent().getText();
-        return gson.fromJson(getDataObject(json), responseModelClass);
+        var exchange = TRAFFIC_STORE.get().getAll().get(index);
+        return exchange.getResponseAs(json -> gson.fromJson(getDataObject(json), responseModelClass));
     }
 
     public static <T> T getRequestByUrl(String url, String httpMethod, Class<T> requestModelClass) {
-        var harEntries = getCapturedEntries();
-        var harEntry = harEntries.stream()
-                .filter(r -> r.getRequest().getUrl().contains(url) && r.getRequest().getMethod().equals(httpMethod))
-                .findFirst()
-                .orElse(null);
-        if (harEntry == null) {
+        var exchange = TRAFFIC_STORE.get().findFirst(url, httpMethod);
+        if (exchange == null) {
             return null;
         }
-        String json = harEntry.getRequest().getPostData().getText();
+        String json = exchange.getRequestBody();
         try {
             return gson.fromJson(json, requestModelClass);
         }
@@ -272,15 +291,11 @@ public class ProxyServer {
     }
 
     public static <T> T getRequestByUrl(String url, String httpMethod, Type modelType) {
-        var harEntries = getCapturedEntries();
-        var harEntry = harEntries.stream()
-                .filter(r -> r.getRequest().getUrl().contains(url) && r.getRequest().getMethod().equals(httpMethod))
-                .findFirst()
-                .orElse(null);
-        if (harEntry == null) {
+        var exchange = TRAFFIC_STORE.get().findFirst(url, httpMethod);
+        if (exchange == null) {
             return null;
         }
-        String json = harEntry.getRequest().getPostData().getText();
+        String json = exchange.getRequestBody();
         try {
             return gson.fromJson(json, modelType);
         }
@@ -290,16 +305,12 @@ public class ProxyServer {
     }
 
     public static <T> T getResponseByUrl(String url, String httpMethod, Class<T> responseModelClass) {
-        var harEntries = getCapturedEntries();
-        var harEntry = harEntries.stream()
-                .filter(r -> r.getRequest().getUrl().contains(url) && r.getRequest().getMethod().equals(httpMethod))
-                .findFirst()
-                .orElse(null);
-        if (harEntry == null) {
+        var exchange = TRAFFIC_STORE.get().findFirst(url, httpMethod);
+        if (exchange == null) {
             System.out.println("There is no match!");
             return null;
         }
-        String json = harEntry.getResponse().getContent().getText();
+        String json = exchange.getResponseBody();
         try {
             return gson.fromJson(getDataObject(json), responseModelClass);
         }
@@ -309,16 +320,12 @@ public class ProxyServer {
     }
 
     public static <T> T getResponseByUrl(String url, String httpMethod, Type responseModelType) {
-        var harEntries = getCapturedEntries();
-        var harEntry = harEntries.stream()
-                .filter(r -> r.getRequest().getUrl().contains(url) && r.getRequest().getMethod().equals(httpMethod))
-                .findFirst()
-                .orElse(null);
-        if (harEntry == null) {
+        var exchange = TRAFFIC_STORE.get().findFirst(url, httpMethod);
+        if (exchange == null) {
             System.out.println("There is no match!");
             return null;
         }
-        String json = harEntry.getResponse().getContent().getText();
+        String json = exchange.getResponseBody();
         try {
             return gson.fromJson(getDataObject(json), responseModelType);
         }
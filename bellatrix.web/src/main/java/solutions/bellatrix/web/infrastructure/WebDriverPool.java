@@ -0,0 +1,358 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.web.infrastructure;
+
+import lombok.experimental.UtilityClass;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import solutions.bellatrix.core.configuration.ConfigurationService;
+import solutions.bellatrix.core.utilities.DebugInformation;
+import solutions.bellatrix.web.configuration.DriverPoolSettings;
+import solutions.bellatrix.web.configuration.WebSettings;
+
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Bounded pool of pre-started local browser sessions, keyed by {@link BrowserConfiguration} equality.<br>
+ * Sessions are started and sanitized on background threads, so {@link DriverService#start(BrowserConfiguration)}
+ * can check out a warm browser instead of cold-booting a new one.
+ * Only regular (local) execution without HTTP traffic capture is pooled, and only for Chromium based browsers,
+ * because they are the only ones whose cookies and storage for all origins can be wiped between tests (via CDP).<br>
+ * A pooled session keeps its slot while it is checked out, so the configured limits cap idle and leased sessions together.
+ */
+@UtilityClass
+public class WebDriverPool {
+    private static final EnumSet<Browser> POOLED_BROWSERS = EnumSet.of(
+            Browser.CHROME, Browser.CHROME_HEADLESS, Browser.CHROME_MOBILE,
+            Browser.EDGE, Browser.EDGE_HEADLESS);
+
+    private static final Map<BrowserConfiguration, Deque<WebDriver>> IDLE_SESSIONS = new ConcurrentHashMap<>();
+    private static final Map<BrowserConfiguration, Deque<ReturningSession>> RETURNING_SESSIONS = new ConcurrentHashMap<>();
+    private static final Set<WebDriver> LEASED_SESSIONS = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    private static final Map<BrowserConfiguration, AtomicInteger> RESERVED_SLOTS = new ConcurrentHashMap<>();
+    private static final AtomicInteger TOTAL_RESERVED_SLOTS = new AtomicInteger();
+    private static final Object EXECUTOR_LOCK = new Object();
+    private static volatile ExecutorService backgroundExecutor;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(WebDriverPool::shutdown));
+    }
+
+    public static boolean isEnabled() {
+        var poolSettings = getSettings();
+        return poolSettings != null && Boolean.TRUE.equals(poolSettings.getEnabled());
+    }
+
+    public static boolean supports(BrowserConfiguration configuration) {
+        if (configuration == null || !isEnabled() || !POOLED_BROWSERS.contains(configuration.getBrowser())) {
+            return false;
+        }
+
+        var webSettings = ConfigurationService.get(WebSettings.class);
+        return "regular".equals(webSettings.getExecutionType()) && !Boolean.TRUE.equals(webSettings.getShouldCaptureHttpTraffic());
+    }
+
+    /**
+     * Returns a warm session matching the configuration or null if none is available.
+     * When no session is idle, a session that is still being sanitized after its check-in is awaited,
+     * since that is much cheaper than cold-booting a new browser.
+     */
+    public static WebDriver checkOut(BrowserConfiguration configuration) {
+        var idleSessions = IDLE_SESSIONS.get(configuration);
+        if (idleSessions != null) {
+            WebDriver driver;
+            while ((driver = idleSessions.pollFirst()) != null) {
+                if (lease(configuration, driver)) {
+                    return driver;
+                }
+            }
+        }
+
+        var returningSessions = RETURNING_SESSIONS.get(configuration);
+        if (returningSessions != null) {
+            ReturningSession returningSession;
+            while ((returningSession = returningSessions.pollFirst()) != null) {
+                var driver = returningSession.sanitized().join();
+                if (driver != null && lease(configuration, driver)) {
+                    return driver;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Counts a session that had to be cold-booted against the limits of its configuration, as if it was checked out from the pool.
+     * It is taken back on check-in instead of being quit in favour of a spare session started by {@link #warmUp}.
+     */
+    public static void adopt(BrowserConfiguration configuration, WebDriver driver) {
+        if (driver != null && supports(configuration) && tryReserveSlot(copyOf(configuration))) {
+            LEASED_SESSIONS.add(unwrap(driver));
+        }
+    }
+
+    /**
+     * Starts spare sessions in the background until the configured number of sessions for the configuration is reached.
+     * Sessions that are currently checked out from the pool count towards that number.
+     */
+    public static void warmUp(BrowserConfiguration configuration, Function<BrowserConfiguration, WebDriver> driverFactory) {
+        if (!supports(configuration)) {
+            return;
+        }
+
+        var key = copyOf(configuration);
+        while (tryReserveSlot(key)) {
+            getExecutor().submit(() -> {
+                WebDriver driver = null;
+                try {
+                    driver = driverFactory.apply(key);
+                } catch (Exception ex) {
+                    DebugInformation.printStackTrace(ex);
+                }
+
+                if (driver == null) {
+                    releaseSlot(key);
+                } else {
+                    IDLE_SESSIONS.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>()).offerLast(driver);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the session to the pool. It is sanitized in the background and quit if the pool is full or the session is broken.
+     * @return false if the pool doesn't accept sessions for this configuration and the caller should quit it
+     */
+    public static boolean checkIn(BrowserConfiguration configuration, WebDriver driver) {
+        if (driver == null) {
+            return false;
+        }
+
+        // a session checked out from the pool still holds its slot, so it can always be taken back
+        var isLeased = LEASED_SESSIONS.remove(unwrap(driver));
+        if (!supports(configuration)) {
+            if (isLeased) {
+                releaseSlot(configuration);
+            }
+
+            return false;
+        }
+
+        var key = copyOf(configuration);
+        if (!isLeased && !tryReserveSlot(key)) {
+            getExecutor().submit(() -> quitQuietly(driver));
+            return true;
+        }
+
+        var returningSessions = RETURNING_SESSIONS.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+        var returningSession = new ReturningSession(driver, CompletableFuture.supplyAsync(() -> {
+            if (sanitize(driver)) {
+                return driver;
+            }
+
+            releaseSlot(key);
+            quitQuietly(driver);
+            return null;
+        }, getExecutor()));
+        returningSessions.offerLast(returningSession);
+        returningSession.sanitized().thenAccept(sanitizedDriver -> {
+            // if checkOut already claimed the session, it is handed out directly instead of going idle
+            if (sanitizedDriver != null && returningSessions.remove(returningSession)) {
+                IDLE_SESSIONS.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>()).offerLast(sanitizedDriver);
+            }
+        });
+
+        return true;
+    }
+
+    public static void shutdown() {
+        // a session still being sanitized is quit here, its completion no longer finds it in the queue and won't make it idle
+        for (var returningSessions : RETURNING_SESSIONS.values()) {
+            ReturningSession returningSession;
+            while ((returningSession = returningSessions.pollFirst()) != null) {
+                returningSession.sanitized().cancel(false);
+                quitQuietly(returningSession.driver());
+            }
+        }
+
+        for (var idleSessions : IDLE_SESSIONS.values()) {
+            WebDriver driver;
+            while ((driver = idleSessions.pollFirst()) != null) {
+                quitQuietly(driver);
+            }
+        }
+
+        IDLE_SESSIONS.clear();
+        RETURNING_SESSIONS.clear();
+        LEASED_SESSIONS.clear();
+        RESERVED_SLOTS.clear();
+        TOTAL_RESERVED_SLOTS.set(0);
+
+        synchronized (EXECUTOR_LOCK) {
+            if (backgroundExecutor != null) {
+                backgroundExecutor.shutdownNow();
+                backgroundExecutor = null;
+            }
+        }
+    }
+
+    private static boolean sanitize(WebDriver driver) {
+        try {
+            var windowHandles = driver.getWindowHandles();
+            var mainWindow = windowHandles.iterator().next();
+            for (var windowHandle : windowHandles) {
+                if (!windowHandle.equals(mainWindow)) {
+                    driver.switchTo().window(windowHandle);
+                    driver.close();
+                }
+            }
+
+            driver.switchTo().window(mainWindow);
+
+            driver.navigate().to("about:blank");
+
+            // WebDriver can only reach the cookies and storage of the current origin, so everything else is wiped through CDP
+            var nativeDriver = unwrap(driver);
+            if (!(nativeDriver instanceof ChromiumDriver chromiumDriver)) {
+                DebugInformation.debugInfo("Discarding pooled browser session that can't be fully isolated: %s", nativeDriver.getClass().getSimpleName());
+                return false;
+            }
+
+            chromiumDriver.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            chromiumDriver.executeCdpCommand("Network.clearBrowserCache", Map.of());
+            chromiumDriver.executeCdpCommand("Storage.clearDataForOrigin", Map.<String, Object>of("origin", "*", "storageTypes", "all"));
+            return true;
+        } catch (Exception ex) {
+            DebugInformation.debugInfo("Discarding pooled browser session that couldn't be sanitized: %s", ex.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean lease(BrowserConfiguration configuration, WebDriver driver) {
+        if (isAlive(driver)) {
+            LEASED_SESSIONS.add(unwrap(driver));
+            DebugInformation.debugInfo("Checked out pooled browser session for %s", configuration.getBrowser());
+            return true;
+        }
+
+        releaseSlot(configuration);
+        quitQuietly(driver);
+        return false;
+    }
+
+    /**
+     * Sessions are tracked by their native driver, since the one checked in may be decorated for tracing while the pooled one was not yet.
+     */
+    private static WebDriver unwrap(WebDriver driver) {
+        return driver instanceof WrapsDriver wrapsDriver ? wrapsDriver.getWrappedDriver() : driver;
+    }
+
+    private static boolean isAlive(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception ex) {
+            DebugInformation.printStackTrace(ex);
+        }
+    }
+
+    private static boolean tryReserveSlot(BrowserConfiguration key) {
+        var poolSettings = getSettings();
+        var slots = RESERVED_SLOTS.computeIfAbsent(key, k -> new AtomicInteger());
+        synchronized (slots) {
+            if (slots.get() >= poolSettings.getMaxIdleSessionsPerBrowser()) {
+                return false;
+            }
+
+            if (TOTAL_RESERVED_SLOTS.incrementAndGet() > poolSettings.getMaxIdleSessions()) {
+                TOTAL_RESERVED_SLOTS.decrementAndGet();
+                return false;
+            }
+
+            slots.incrementAndGet();
+            return true;
+        }
+    }
+
+    private static void releaseSlot(BrowserConfiguration key) {
+        var slots = RESERVED_SLOTS.get(key);
+        if (slots != null) {
+            synchronized (slots) {
+                if (slots.get() > 0) {
+                    slots.decrementAndGet();
+                    TOTAL_RESERVED_SLOTS.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static ExecutorService getExecutor() {
+        var executor = backgroundExecutor;
+        if (executor != null) {
+            return executor;
+        }
+
+        synchronized (EXECUTOR_LOCK) {
+            if (backgroundExecutor == null) {
+                var threadNumber = new AtomicInteger();
+                backgroundExecutor = Executors.newFixedThreadPool(Math.max(1, getSettings().getWarmUpThreads()), runnable -> {
+                    var thread = new Thread(runnable, "bellatrix-driver-pool-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+
+            return backgroundExecutor;
+        }
+    }
+
+    private static DriverPoolSettings getSettings() {
+        return ConfigurationService.get(WebSettings.class).getDriverPoolSettings();
+    }
+
+    private static BrowserConfiguration copyOf(BrowserConfiguration configuration) {
+        var copy = new BrowserConfiguration(configuration.getBrowser(), configuration.getLifecycle(), configuration.getWidth(), configuration.getHeight());
+        copy.setDeviceName(configuration.getDeviceName());
+        copy.setVersion(configuration.getVersion());
+        copy.setPlatform(configuration.getPlatform());
+        copy.setTestName(configuration.getTestName());
+        copy.getDriverOptions().putAll(configuration.getDriverOptions());
+        return copy;
+    }
+
+    private record ReturningSession(WebDriver driver, CompletableFuture<WebDriver> sanitized) {
+    }
+}
@@ -18,6 +18,7 @@ import plugins.screenshots.ScreenshotPluginEventArgs;
 import ru.yandex.qatools.ashot.AShot;
 import ru.yandex.qatools.ashot.shooting.ShootingStrategies;
 import solutions.bellatrix.core.configuration.ConfigurationService;
+import solutions.bellatrix.core.diagnostics.CaptureEvent;
 import solutions.bellatrix.core.utilities.Log;
 import solutions.bellatrix.core.utilities.PathNormalizer;
 import solutions.bellatrix.web.configuration.WebSettings;
@@ -41,6 +42,8 @@ public class WebScreenshotPlugin extends ScreenshotPlugin {
         var screenshotSaveDir = getOutputFolder();
         var filename = getUniqueFileName(name);
 
+        var event = new CaptureEvent();
+        event.begin();
         var screenshot = new AShot()
                 .shootingStrategy(ShootingStrategies.viewportPasting(100))
                 .takeScreenshot(DriverService.getWrappedDriver());
@@ -48,13 +51,16 @@ public class WebScreenshotPlugin extends ScreenshotPlugin {
         var path = Paths.get(screenshotSaveDir, filename).toString();
         var destFile = new File(path);
         Log.info("Saving screenshot with path: " + destFile);
+        var isSaved = false;
         try {
             ImageIO.write(screenshot.getImage(), "png", destFile);
+            isSaved = true;
         } catch (IOException e) {
             Log.error(e.toString());
         }
 
         var base64image = bufferedImageToBase64(screenshot.getImage());
+        event.complete(CaptureEvent.SCREENSHOT, path, isSaved);
 
         SCREENSHOT_GENERATED.broadcast(new ScreenshotPluginEventArgs(path.toString(), filename, base64image));
         return base64image;
@@ -62,6 +68,8 @@ public class WebScreenshotPlugin extends ScreenshotPlugin {
 
     @Override
     public String takeScreenshot(String screenshotSaveDir, String filename) {
+        var event = new CaptureEvent();
+        event.begin();
         var screenshot = new AShot()
                 .shootingStrategy(ShootingStrategies.viewportPasting(100))
                 .takeScreenshot(DriverService.getWrappedDriver());
@@ -69,13 +77,16 @@ public class WebScreenshotPlugin extends ScreenshotPlugin {
         var path = Paths.get(screenshotSaveDir, filename).toString();
         var destFile = new File(path);
         Log.info("Saving screenshot with path: " + destFile);
+        var isSaved = false;
         try {
             ImageIO.write(screenshot.getImage(), "png", destFile);
+            isSaved = true;
         } catch (IOException e) {
             Log.error(e.toString());
         }
 
         var base64image = bufferedImageToBase64(screenshot.getImage());
+        event.complete(CaptureEvent.SCREENSHOT, path, isSaved);
 
         SCREENSHOT_GENERATED.broadcast(new ScreenshotPluginEventArgs(path.toString(), filename, base64image));
         return base64image;
@@ -13,26 +13,28 @@
 
 package solutions.bellatrix.web.pages;
 
+import solutions.bellatrix.core.tracing.Tracer;
 import solutions.bellatrix.web.infrastructure.Browser;
 import solutions.bellatrix.web.services.App;
 import solutions.bellatrix.web.services.BrowserService;
 import solutions.bellatrix.web.services.ComponentCreateService;
 import solutions.bellatrix.web.services.JavaScriptService;
 import solutions.bellatrix.web.services.NavigationService;
+import solutions.bellatrix.web.services.SessionServices;
 
 import java.lang.reflect.ParameterizedType;
 
 public abstract class WebPage<MapT extends PageMap, AssertsT extends PageAsserts<MapT>> {
     public BrowserService browser() {
-        return new BrowserService();
+        return SessionServices.get(BrowserService.class);
     }
 
     public JavaScriptService javaScript() {
-        return new JavaScriptService();
+        return SessionServices.get(JavaScriptService.class);
     }
 
     public ComponentCreateService create() {
-        return new ComponentCreateService();
+        return SessionServices.get(ComponentCreateService.class);
     }
 
     public App app() {
@@ -58,7 +60,7 @@ public abstract class WebPage<MapT extends PageMap, AssertsT extends PageAsserts
     }
 
     public NavigationService navigate() {
-        return new NavigationService();
+        return SessionServices.get(NavigationService.class);
     }
 
     protected String getUrl() {
@@ -66,8 +68,11 @@ public abstract class WebPage<MapT extends PageMap, AssertsT extends PageAsserts
     }
 
     public void open() {
-        navigate().to(getUrl());
-        waitForPageLoad();
+        try (var span = Tracer.startSpan(getClass().getSimpleName() + ".open", "page")) {
+            span.arg("url", getUrl());
+            navigate().to(getUrl());
+            waitForPageLoad();
+        }
     }
 
     protected void waitForPageLoad() {
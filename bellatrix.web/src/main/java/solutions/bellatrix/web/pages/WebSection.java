@@ -15,16 +15,17 @@ package solutions.bellatrix.web.pages;
 
 import solutions.bellatrix.web.services.BrowserService;
 import solutions.bellatrix.web.services.ComponentCreateService;
+import solutions.bellatrix.web.services.SessionServices;
 
 import java.lang.reflect.ParameterizedType;
 
 public abstract class WebSection<MapT extends PageMap, AssertionsT extends PageAsserts<MapT>> {
     public BrowserService browser() {
-        return new BrowserService();
+        return SessionServices.get(BrowserService.class);
     }
 
     public ComponentCreateService create() {
-        return new ComponentCreateService();
+        return SessionServices.get(ComponentCreateService.class);
     }
 
     public MapT map() {
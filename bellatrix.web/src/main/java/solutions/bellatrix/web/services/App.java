@@ -22,31 +22,31 @@ public class App implements AutoCloseable {
     private boolean disposed = false;
 
     public NavigationService navigate() {
-        return new NavigationService();
+        return SessionServices.get(NavigationService.class);
     }
 
     public BrowserService browser() {
-        return new BrowserService();
+        return SessionServices.get(BrowserService.class);
     }
 
     public CookiesService cookies() {
-        return new CookiesService();
+        return SessionServices.get(CookiesService.class);
     }
 
     public DialogService dialogs() {
-        return new DialogService();
+        return SessionServices.get(DialogService.class);
     }
 
     public JavaScriptService script() {
-        return new JavaScriptService();
+        return SessionServices.get(JavaScriptService.class);
     }
 
     public ComponentCreateService create() {
-        return new ComponentCreateService();
+        return SessionServices.get(ComponentCreateService.class);
     }
 
     public ComponentWaitService waitFor() {
-        return new ComponentWaitService();
+        return SessionServices.get(ComponentWaitService.class);
     }
 
     public void addDriverOptions(String key, String value) {
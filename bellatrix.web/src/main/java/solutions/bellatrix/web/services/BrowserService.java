@@ -28,6 +28,7 @@ import solutions.bellatrix.core.utilities.Log;
 import solutions.bellatrix.core.utilities.Wait;
 import solutions.bellatrix.web.components.Frame;
 import solutions.bellatrix.web.configuration.WebSettings;
+import solutions.bellatrix.web.infrastructure.PageGeneration;
 import solutions.bellatrix.web.infrastructure.ProxyServer;
 
 import java.net.URI;
@@ -64,6 +65,7 @@ public class BrowserService extends WebService {
 
     public void back() {
         getWrappedDriver().navigate().back();
+        PageGeneration.advance();
     }
 
     public void maximize() {
@@ -76,14 +78,17 @@ public class BrowserService extends WebService {
 
     public void forward() {
         getWrappedDriver().navigate().forward();
+        PageGeneration.advance();
     }
 
     public void refresh() {
         getWrappedDriver().navigate().refresh();
+        PageGeneration.advance();
     }
 
     public void switchToDefault() {
         getWrappedDriver().switchTo().defaultContent();
+        PageGeneration.advance();
     }
 
     public void switchToActive() {
@@ -92,15 +97,18 @@ public class BrowserService extends WebService {
 
     public void switchToFirstBrowserTab() {
         getWrappedDriver().switchTo().window(getWrappedDriver().getWindowHandles().stream().findFirst().orElse(""));
+        PageGeneration.advance();
     }
 
     public void switchToLastTab() {
         var handles = getWrappedDriver().getWindowHandles();
         getWrappedDriver().switchTo().window(handles.stream().reduce((first, second) -> second).orElse(""));
+        PageGeneration.advance();
     }
 
     public void switchToNewTab() {
         getWrappedDriver().switchTo().newWindow(WindowType.TAB);
+        PageGeneration.advance();
     }
 
     public void switchToTab(Runnable condition) {
@@ -109,6 +117,7 @@ public class BrowserService extends WebService {
                     boolean shouldThrowException = true;
                     for (var currentHandle : handles) {
                         getWrappedDriver().switchTo().window(currentHandle);
+                        PageGeneration.advance();
                         try {
                             condition.run();
                             shouldThrowException = false;
@@ -129,10 +138,12 @@ public class BrowserService extends WebService {
 
     public void switchToTab(String tabName) {
         getWrappedDriver().switchTo().window(tabName);
+        PageGeneration.advance();
     }
 
     public void switchToFrame(Frame frame) {
         getWrappedDriver().switchTo().frame(frame.findElement());
+        PageGeneration.advance();
     }
 
     public void clearSessionStorage() {
@@ -544,7 +555,7 @@ public class BrowserService extends WebService {
     }
 
     public String getLastClipboardEntry() {
-        JavaScriptService jsService = new JavaScriptService();
+        JavaScriptService jsService = SessionServices.get(JavaScriptService.class);
         Object lastCopyObject = jsService.execute("return await window.navigator.clipboard.readText();");
         if (lastCopyObject != null) {
             return lastCopyObject.toString();
@@ -13,16 +13,26 @@
 
 package solutions.bellatrix.web.services;
 
+import solutions.bellatrix.core.diagnostics.WaitStrategyEvent;
 import solutions.bellatrix.web.components.WebComponent;
 import solutions.bellatrix.web.infrastructure.DriverService;
 import solutions.bellatrix.web.waitstrategies.WaitStrategy;
 
 public class ComponentWaitService extends WebService {
     public void wait(WebComponent component, WaitStrategy waitStrategy) {
-        if (component.getParentWrappedElement() == null) {
-            waitStrategy.waitUntil(DriverService.getWrappedDriver(), component.getFindStrategy().convert());
-        } else {
-            waitStrategy.waitUntil(component.getParentWrappedElement(), component.getFindStrategy().convert());
+        var event = new WaitStrategyEvent();
+        event.begin();
+        var isSatisfied = false;
+        try {
+            if (component.getParentWrappedElement() == null) {
+                waitStrategy.waitUntil(DriverService.getWrappedDriver(), component.getFindStrategy().convert());
+            } else {
+                waitStrategy.waitUntil(component.getParentWrappedElement(), component.getFindStrategy().convert());
+            }
+
+            isSatisfied = true;
+        } finally {
+            event.complete(waitStrategy.getClass().getSimpleName(), component.getComponentClass().getSimpleName(), component.getFindStrategy(), isSatisfied);
         }
     }
 }
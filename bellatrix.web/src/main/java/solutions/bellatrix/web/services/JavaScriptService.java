@@ -14,6 +14,7 @@
 package solutions.bellatrix.web.services;
 
 import org.openqa.selenium.*;
+import solutions.bellatrix.core.diagnostics.JavaScriptExecutionEvent;
 import solutions.bellatrix.core.utilities.DebugInformation;
 import solutions.bellatrix.web.components.WebComponent;
 
@@ -27,7 +28,7 @@ public class JavaScriptService extends WebService {
 
     public Object execute(String script) {
         try {
-            var result = javascriptExecutor.executeScript(script);
+            var result = executeScript(script, null);
             return result;
         } catch (Exception ex) {
             DebugInformation.printStackTrace(ex);
@@ -44,7 +45,7 @@ public class JavaScriptService extends WebService {
 
     public String execute(String script, Object... args) {
         try {
-            var result = (String)javascriptExecutor.executeScript(script, args);
+            var result = (String)executeScript(script, null, args);
             return result;
         } catch (Exception ex) {
             DebugInformation.printStackTrace(ex);
@@ -52,6 +53,19 @@ public class JavaScriptService extends WebService {
         }
     }
 
+    private Object executeScript(String script, Object target, Object... args) {
+        var event = new JavaScriptExecutionEvent();
+        event.begin();
+        var isSuccessful = false;
+        try {
+            var result = javascriptExecutor.executeScript(script, args);
+            isSuccessful = true;
+            return result;
+        } finally {
+            event.complete(script, target, isSuccessful);
+        }
+    }
+
     public <TComponent extends WebComponent> String execute(String script, TComponent component) {
         var result = execute(script, component.findElement());
         return result;
@@ -59,7 +73,7 @@ public class JavaScriptService extends WebService {
 
     public String execute(String script, WebElement nativeElement) {
         try {
-            var result = (String)javascriptExecutor.executeScript(script, nativeElement);
+            var result = (String)executeScript(script, nativeElement, nativeElement);
             return result;
         } catch (NoSuchSessionException | NoSuchWindowException ex) {
             throw ex;
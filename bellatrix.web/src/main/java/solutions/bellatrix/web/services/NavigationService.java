@@ -18,6 +18,7 @@ import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import solutions.bellatrix.core.configuration.ConfigurationService;
 import solutions.bellatrix.web.configuration.WebSettings;
+import solutions.bellatrix.web.infrastructure.PageGeneration;
 
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -35,6 +36,7 @@ public class NavigationService extends WebService {
 
     public void to(String url) {
         getWrappedDriver().navigate().to(url);
+        PageGeneration.advance();
     }
 
     public void toLocalPage(String filePath) {
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.web.services;
+
+import lombok.experimental.UtilityClass;
+import org.openqa.selenium.WebDriver;
+import solutions.bellatrix.core.plugins.ContextValue;
+import solutions.bellatrix.core.utilities.ConstructorCache;
+import solutions.bellatrix.web.infrastructure.DriverService;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares one instance of each stateless web service per browser session.<br>
+ * Services are created on first request and dropped together when the current context switches to another driver,
+ * so services holding a driver, such as {@link JavaScriptService}, always talk to the current session.
+ */
+@UtilityClass
+@SuppressWarnings("unchecked")
+public class SessionServices {
+    private static final ContextValue<Session> CURRENT_SESSION = new ContextValue<>();
+
+    public static <T extends WebService> T get(Class<T> serviceClass) {
+        var services = getSession().services();
+        var service = services.get(serviceClass);
+        if (service == null) {
+            // Created outside computeIfAbsent because a service constructor may request other services.
+            var created = create(serviceClass);
+            service = services.putIfAbsent(serviceClass, created);
+            if (service == null) service = created;
+        }
+
+        return (T)service;
+    }
+
+    private static Session getSession() {
+        var driver = DriverService.getWrappedDriver();
+        var session = CURRENT_SESSION.get();
+        if (session == null || session.driver() != driver) {
+            session = new Session(driver, new ConcurrentHashMap<>());
+            CURRENT_SESSION.set(session);
+        }
+
+        return session;
+    }
+
+    private static WebService create(Class<? extends WebService> serviceClass) {
+        try {
+            return ConstructorCache.newInstance(serviceClass);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(String.format("Failed to create %s.", serviceClass.getSimpleName()), e);
+        }
+    }
+
+    private record Session(WebDriver driver, Map<Class<?>, WebService> services) {
+    }
+}
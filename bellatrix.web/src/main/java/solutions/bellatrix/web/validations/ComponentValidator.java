@@ -26,6 +26,7 @@ import solutions.bellatrix.web.configuration.TimeoutSettings;
 import solutions.bellatrix.web.configuration.WebSettings;
 import solutions.bellatrix.web.infrastructure.DriverService;
 import solutions.bellatrix.web.services.BrowserService;
+import solutions.bellatrix.web.services.SessionServices;
 
 import java.time.Duration;
 import java.util.List;
@@ -34,7 +35,6 @@ import java.util.function.Supplier;
 
 public class ComponentValidator {
     private final static TimeoutSettings timeoutSettings = ConfigurationService.get(WebSettings.class).getTimeoutSettings();
-    private final static BrowserService browserService = new BrowserService();
     public final static EventListener<ComponentActionEventArgs> VALIDATING_ATTRIBUTE = new EventListener<>();
     public final static EventListener<ComponentActionEventArgs> VALIDATED_ATTRIBUTE = new EventListener<>();
 
@@ -124,7 +124,7 @@ public class ComponentValidator {
                             "Test failed on URL: %s",
                     attributeName, component.getComponentClass().getSimpleName(), component.getFindStrategy(),
                     prefix, value, "", supplier.get().toString().replaceAll("%n", "%n" + String.format("%" + (prefix.length() + 12) + "s", " ")),
-                    browserService.getUrl());
+                    SessionServices.get(BrowserService.class).getUrl());
 //            var colorFormattedError = String.format("\u001B[0mThe %s of \u001B[1m%s \u001B[2m(%s)\u001B[0m%n" +
 //                            "  Should %s: \"\u001B[1m%s\u001B[0m\"%n" +
 //                            "  %" + prefix.length() + "sBut was: \"\u001B[1m%s\u001B[0m\"%n" +
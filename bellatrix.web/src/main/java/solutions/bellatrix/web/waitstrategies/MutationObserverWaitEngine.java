@@ -0,0 +1,144 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package solutions.bellatrix.web.waitstrategies;
+
+import lombok.experimental.UtilityClass;
+import org.openqa.selenium.*;
+import solutions.bellatrix.core.configuration.ConfigurationService;
+import solutions.bellatrix.web.configuration.WebSettings;
+import solutions.bellatrix.web.infrastructure.DriverService;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Resolves element wait conditions inside the browser. A single asynchronous script installs a MutationObserver,
+ * re-evaluates the condition whenever the DOM changes and calls back as soon as it holds, so no driver round trips
+ * are spent polling. When the script cannot be used (locator strategy it cannot evaluate, shadow root search contexts,
+ * drivers without JavaScript support) the caller falls back to polling.
+ */
+@UtilityClass
+public class MutationObserverWaitEngine {
+    private static final long SCRIPT_TIMEOUT_MARGIN_MILLIS = 500;
+    private static final long RECHECK_INTERVAL_MILLIS = 100;
+    private static final String WAIT_SCRIPT = """
+            var callback = arguments[arguments.length - 1];
+            var using = arguments[0], value = arguments[1], root = arguments[2] || document, condition = arguments[3], timeout = arguments[4], recheckInterval = arguments[5];
+            function find() {
+                try {
+                    if (using === 'xpath') {
+                        return document.evaluate(value, root, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+                    }
+                    return root.querySelector(value);
+                } catch (e) {
+                    return undefined;
+                }
+            }
+            function isVisible(e) {
+                if (!(e.offsetWidth || e.offsetHeight || e.getClientRects().length)) return false;
+                var style = window.getComputedStyle(e);
+                return style.visibility !== 'hidden' && style.visibility !== 'collapse' && style.opacity !== '0';
+            }
+            function check() {
+                var e = find();
+                if (e === undefined) return 'error';
+                switch (condition) {
+                    case 'exist': return e !== null;
+                    case 'notExist': return e === null;
+                    case 'visible': return e !== null && isVisible(e);
+                    case 'haveContent': return e !== null && (e.innerText || '').length > 0;
+                    case 'clickable': return e !== null && !(e.matches && e.matches(':disabled'));
+                }
+                return 'error';
+            }
+            var initial = check();
+            if (initial) { callback(initial === 'error' ? 'error' : true); return; }
+            var done = false, observer, timer, interval;
+            function finish(result) {
+                if (done) return;
+                done = true;
+                observer.disconnect();
+                clearTimeout(timer);
+                clearInterval(interval);
+                callback(result);
+            }
+            function recheck() {
+                if (done) return;
+                var result = check();
+                if (result) finish(result === 'error' ? 'error' : true);
+            }
+            observer = new MutationObserver(recheck);
+            observer.observe(document, { childList: true, subtree: true, attributes: true, characterData: true });
+            interval = setInterval(recheck, recheckInterval);
+            timer = setTimeout(function () { finish(false); }, timeout);
+            """;
+
+    public enum Condition {
+        EXIST("exist"),
+        NOT_EXIST("notExist"),
+        VISIBLE("visible"),
+        HAVE_CONTENT("haveContent"),
+        CLICKABLE("clickable");
+
+        private final String value;
+
+        Condition(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    /**
+     * Waits in the browser until the condition holds for the first element matching the locator.
+     *
+     * @return true if the condition was met, false if it timed out, or empty if the wait could not run in the browser,
+     * in which case the caller polls for the rest of the timeout
+     */
+    public static Optional<Boolean> waitUntil(SearchContext searchContext, By by, Condition condition, Duration timeout) {
+        var driver = DriverService.getWrappedDriver();
+        if (!(driver instanceof JavascriptExecutor javascriptExecutor)) return Optional.empty();
+        if (!(searchContext instanceof WebDriver) && !(searchContext instanceof WebElement)) return Optional.empty();
+        if (!(by instanceof By.Remotable remotable)) return Optional.empty();
+
+        var parameters = remotable.getRemoteParameters();
+        var using = parameters.using();
+        if (!using.equals("css selector") && !using.equals("xpath")) return Optional.empty();
+
+        var root = searchContext instanceof WebElement ? searchContext : null;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        // the script timeout DriverService applied to the session, read from the settings to spare a round trip
+        long maxScriptMillis = Duration.ofSeconds(ConfigurationService.get(WebSettings.class).getTimeoutSettings().getScriptTimeout()).toMillis() - SCRIPT_TIMEOUT_MARGIN_MILLIS;
+        if (maxScriptMillis <= 0) return Optional.empty();
+
+        do {
+            long remaining = Math.max(0, Duration.ofNanos(deadline - System.nanoTime()).toMillis());
+            long scriptMillis = Math.min(remaining, maxScriptMillis);
+            Object result;
+            try {
+                result = javascriptExecutor.executeAsyncScript(WAIT_SCRIPT, using, String.valueOf(parameters.value()), root, condition.toString(), scriptMillis, RECHECK_INTERVAL_MILLIS);
+            } catch (WebDriverException e) {
+                return Optional.empty();
+            }
+
+            if (Boolean.TRUE.equals(result)) return Optional.of(true);
+            if (!Boolean.FALSE.equals(result)) return Optional.empty();
+        } while (deadline - System.nanoTime() > 0);
+
+        return Optional.of(false);
+    }
+}
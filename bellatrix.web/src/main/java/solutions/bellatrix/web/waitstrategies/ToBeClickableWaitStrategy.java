@@ -36,7 +36,7 @@ public class ToBeClickableWaitStrategy extends WaitStrategy {
 
     @Override
     public void waitUntil(SearchContext searchContext, By by) {
-        waitUntil((x) -> elementIsClickable(searchContext, by));
+        waitUntil(searchContext, by, MutationObserverWaitEngine.Condition.CLICKABLE, (x) -> elementIsClickable(searchContext, by));
     }
 
     private boolean elementIsClickable(SearchContext searchContext, By by) {
@@ -36,7 +36,7 @@ public class ToBeVisibleWaitStrategy extends WaitStrategy {
 
     @Override
     public void waitUntil(SearchContext searchContext, By by) {
-        waitUntil((x) -> elementIsVisible(searchContext, by));
+        waitUntil(searchContext, by, MutationObserverWaitEngine.Condition.VISIBLE, (x) -> elementIsVisible(searchContext, by));
     }
 
     private boolean elementIsVisible(SearchContext searchContext, By by) {
@@ -35,7 +35,7 @@ public class ToExistWaitStrategy extends WaitStrategy {
 
     @Override
     public void waitUntil(SearchContext searchContext, By by) {
-        waitUntil((x) -> elementExists(searchContext, by));
+        waitUntil(searchContext, by, MutationObserverWaitEngine.Condition.EXIST, (x) -> elementExists(searchContext, by));
     }
 
     private boolean elementExists(SearchContext searchContext, By by) {
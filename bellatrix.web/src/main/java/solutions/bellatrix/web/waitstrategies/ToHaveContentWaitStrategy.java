@@ -36,7 +36,7 @@ public class ToHaveContentWaitStrategy extends WaitStrategy {
 
     @Override
     public void waitUntil(SearchContext searchContext, By by) {
-        waitUntil((x) -> elementHasContent(searchContext, by));
+        waitUntil(searchContext, by, MutationObserverWaitEngine.Condition.HAVE_CONTENT, (x) -> elementHasContent(searchContext, by));
     }
 
     private boolean elementHasContent(SearchContext searchContext, By by) {
@@ -33,7 +33,7 @@ public class ToNotExistWaitStrategy extends WaitStrategy {
 
     @Override
     public void waitUntil(SearchContext searchContext, By by) {
-        waitUntil((x) -> elementNotExists(searchContext, by));
+        waitUntil(searchContext, by, MutationObserverWaitEngine.Condition.NOT_EXIST, (x) -> elementNotExists(searchContext, by));
     }
 
     private boolean elementNotExists(SearchContext searchContext, By by) {
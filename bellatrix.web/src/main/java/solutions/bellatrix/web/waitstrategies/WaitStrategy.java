@@ -16,8 +16,11 @@ package solutions.bellatrix.web.waitstrategies;
 import lombok.Getter;
 import org.openqa.selenium.By;
 import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import solutions.bellatrix.core.configuration.ConfigurationService;
+import solutions.bellatrix.web.configuration.WebSettings;
 import solutions.bellatrix.web.infrastructure.DriverService;
 
 import java.time.Duration;
@@ -39,11 +42,39 @@ public abstract class WaitStrategy {
     public abstract void waitUntil(SearchContext searchContext, By by);
 
     protected void waitUntil(Function<SearchContext, Boolean> waitCondition) {
-        webDriverWait = new WebDriverWait(DriverService.getWrappedDriver(), Duration.ofSeconds(timeoutInterval), Duration.ofSeconds(sleepInterval));
-        webDriverWait.withMessage(Thread.currentThread().getStackTrace()[2].getMethodName());
+        waitUntil(waitCondition, Duration.ofSeconds(timeoutInterval));
+    }
+
+    private void waitUntil(Function<SearchContext, Boolean> waitCondition, Duration timeout) {
+        webDriverWait = new WebDriverWait(DriverService.getWrappedDriver(), timeout, Duration.ofSeconds(sleepInterval));
+        webDriverWait.withMessage(() -> getClass().getSimpleName());
         webDriverWait.until(waitCondition);
     }
 
+    /**
+     * Resolves the condition in the browser when MutationObserver waits are enabled, and polls with the given
+     * fallback condition otherwise. When the wait cannot run in the browser, polling only gets the time that is left.
+     */
+    protected void waitUntil(SearchContext searchContext, By by, MutationObserverWaitEngine.Condition condition, Function<SearchContext, Boolean> waitCondition) {
+        var timeout = Duration.ofSeconds(timeoutInterval);
+        if (Boolean.TRUE.equals(ConfigurationService.get(WebSettings.class).getUseMutationObserverWaits())) {
+            var start = System.nanoTime();
+            var result = MutationObserverWaitEngine.waitUntil(searchContext, by, condition, timeout);
+            if (result.isPresent()) {
+                if (!result.get()) {
+                    throw new TimeoutException(String.format("%s: condition '%s' was not met for %s within %d second(s)", getClass().getSimpleName(), condition, by, timeoutInterval));
+                }
+
+                return;
+            }
+
+            var remaining = timeout.minusNanos(System.nanoTime() - start);
+            timeout = remaining.isNegative() ? Duration.ZERO : remaining;
+        }
+
+        waitUntil(waitCondition, timeout);
+    }
+
     protected WebElement findElement(SearchContext searchContext, By by) {
         var element = searchContext.findElement(by);
         return element;
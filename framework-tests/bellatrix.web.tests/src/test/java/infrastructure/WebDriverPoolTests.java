@@ -0,0 +1,55 @@
+/*
+ * Copyright 2022 Automate The Planet Ltd.
+ * Author: Anton Angelov
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package infrastructure;
+
+import org.junit.jupiter.api.*;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import solutions.bellatrix.web.infrastructure.Browser;
+import solutions.bellatrix.web.infrastructure.DriverService;
+import solutions.bellatrix.web.infrastructure.ExecutionBrowser;
+import solutions.bellatrix.web.infrastructure.Lifecycle;
+import solutions.bellatrix.web.infrastructure.WebDriverPool;
+import solutions.bellatrix.web.infrastructure.junit.WebTest;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@ExecutionBrowser(browser = Browser.CHROME_HEADLESS, lifecycle = Lifecycle.RESTART_EVERY_TIME)
+public class WebDriverPoolTests extends WebTest {
+    private static String firstSessionId;
+
+    @Test
+    @Order(1)
+    public void pooledSessionCheckedIn_when_testFinishes() {
+        Assumptions.assumeTrue(WebDriverPool.isEnabled(), "the driver pool is disabled in testFrameworkSettings");
+
+        app().navigate().to("https://demos.bellatrix.solutions/");
+        firstSessionId = currentSessionId();
+    }
+
+    @Test
+    @Order(2)
+    public void checkedInSessionHandedOutAgain_when_nextTestStarts() {
+        Assumptions.assumeTrue(WebDriverPool.isEnabled(), "the driver pool is disabled in testFrameworkSettings");
+        Assumptions.assumeTrue(firstSessionId != null, "the first test didn't run");
+
+        Assertions.assertEquals(firstSessionId, currentSessionId());
+        Assertions.assertEquals("about:blank", app().browser().getUrl());
+    }
+
+    private static String currentSessionId() {
+        var driver = DriverService.getWrappedDriver();
+        var nativeDriver = driver instanceof WrapsDriver wrapsDriver ? wrapsDriver.getWrappedDriver() : driver;
+        return ((RemoteWebDriver)nativeDriver).getSessionId().toString();
+    }
+}